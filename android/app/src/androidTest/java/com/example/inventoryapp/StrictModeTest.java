@@ -0,0 +1,112 @@
+package com.example.inventoryapp;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import android.os.Build;
+import android.os.StrictMode;
+import android.os.strictmode.Violation;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.inventoryapp.activities.ProductListActivity;
+import com.example.inventoryapp.activities.UpdateProductActivity;
+import com.example.inventoryapp.database.ProductRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StrictModeTest Class
+ * Checks the screens and the repository do no disk I/O on the main thread
+ *
+ * Runs on a device because StrictMode only sees file access through the
+ * platform's BlockGuard hooks. Violations are collected with a listener and
+ * only those raised from app code fail the test.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StrictModeTest {
+    private static final String APP_PACKAGE = "com.example.inventoryapp.";
+
+    private final List<Violation> violations = new CopyOnWriteArrayList<>();
+    private StrictMode.ThreadPolicy previousPolicy;
+
+    @Before
+    public void detectDiskAccess() {
+        assumeTrue("penaltyListener needs API 28", Build.VERSION.SDK_INT >= Build.VERSION_CODES.P);
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            previousPolicy = StrictMode.getThreadPolicy();
+            StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .penaltyListener(Runnable::run, violations::add)
+                    .build());
+        });
+    }
+
+    @After
+    public void restorePolicy() {
+        if (previousPolicy != null) {
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(
+                    () -> StrictMode.setThreadPolicy(previousPolicy));
+        }
+    }
+
+    @Test
+    public void productListLaunchesWithoutDiskAccess() {
+        try (ActivityScenario<ProductListActivity> scenario = ActivityScenario.launch(ProductListActivity.class)) {
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        }
+        assertNoAppViolations();
+    }
+
+    @Test
+    public void updateScreenLaunchesWithoutDiskAccess() {
+        try (ActivityScenario<UpdateProductActivity> scenario = ActivityScenario.launch(UpdateProductActivity.class)) {
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        }
+        assertNoAppViolations();
+    }
+
+    @Test
+    public void repositoryCallsDoNoDiskAccessOnMainThread() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(4);
+        try (ActivityScenario<ProductListActivity> scenario = ActivityScenario.launch(ProductListActivity.class)) {
+            scenario.onActivity(activity -> {
+                ProductRepository repository = ProductRepository.getInstance(activity);
+                repository.getCatalogSnapshotStore().current();
+                repository.getLowStockMonitor().getLowStockCount();
+                repository.getProductCount(activity, count -> done.countDown());
+                repository.getInventorySummary(activity, summary -> done.countDown());
+                repository.getLowStockProducts(activity, products -> done.countDown());
+                repository.getProductsPage(activity, 0, 50, products -> done.countDown());
+            });
+            assertTrue("Repository callbacks did not arrive", done.await(10, TimeUnit.SECONDS));
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        }
+        assertNoAppViolations();
+    }
+
+    /**
+     * Fail on the first violation with an app frame in its stack
+     */
+    private void assertNoAppViolations() {
+        for (Violation violation : violations) {
+            for (StackTraceElement frame : violation.getStackTrace()) {
+                if (frame.getClassName().startsWith(APP_PACKAGE)) {
+                    fail("Disk access on the main thread from " + frame + ": " + violation);
+                }
+            }
+        }
+    }
+}
@@ -8,7 +8,8 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.inventoryapp.R;
-import com.example.inventoryapp.database.DatabaseHelper;
+import com.example.inventoryapp.database.ProductRepository;
+import com.example.inventoryapp.model.Money;
 import com.example.inventoryapp.model.Product;
 
 /**
@@ -17,21 +18,22 @@ import com.example.inventoryapp.model.Product;
  * Validates user input before inserting into database
  */
 public class AddProductActivity extends AppCompatActivity {
-    private EditText productNameInput, categoryInput, priceInput, quantityInput;
+    private EditText productNameInput, categoryInput, skuInput, priceInput, quantityInput;
     private Button saveButton, cancelButton;
-    private DatabaseHelper dbHelper;
+    private ProductRepository repository;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_add_product);
 
-        // Initialize database helper
-        dbHelper = new DatabaseHelper(this);
+        // Initialize repository
+        repository = ProductRepository.getInstance(this);
 
         // Initialize input fields
         productNameInput = findViewById(R.id.productNameInput);
         categoryInput = findViewById(R.id.categoryInput);
+        skuInput = findViewById(R.id.skuInput);
         priceInput = findViewById(R.id.priceInput);
         quantityInput = findViewById(R.id.quantityInput);
 
@@ -51,6 +53,7 @@ public class AddProductActivity extends AppCompatActivity {
     private void saveProduct() {
         String name = productNameInput.getText().toString().trim();
         String category = categoryInput.getText().toString().trim();
+        String sku = skuInput.getText().toString().trim();
         String priceStr = priceInput.getText().toString().trim();
         String quantityStr = quantityInput.getText().toString().trim();
 
@@ -80,11 +83,11 @@ public class AddProductActivity extends AppCompatActivity {
         }
 
         try {
-            double price = Double.parseDouble(priceStr);
+            long priceCents = Money.parseCents(priceStr);
             int quantity = Integer.parseInt(quantityStr);
 
             // Validation: Check for negative values
-            if (price < 0) {
+            if (priceCents < 0) {
                 Toast.makeText(this, "Price cannot be negative", Toast.LENGTH_SHORT).show();
                 priceInput.requestFocus();
                 return;
@@ -96,16 +99,25 @@ public class AddProductActivity extends AppCompatActivity {
                 return;
             }
 
-            // Create new product and insert into database
-            Product product = new Product(name, category, price, quantity);
-            long result = dbHelper.addProduct(product);
-
-            if (result != -1) {
-                Toast.makeText(this, "Product added successfully!", Toast.LENGTH_SHORT).show();
-                finish(); // Return to previous activity
-            } else {
+            // Create new product and insert into database in the background
+            Product product = new Product(name, category, priceCents, quantity);
+            product.setSku(sku.isEmpty() ? null : sku);
+            saveButton.setEnabled(false);
+            repository.addProduct(this, product, result -> {
+                if (result != -1) {
+                    Toast.makeText(this, "Product added successfully!", Toast.LENGTH_SHORT).show();
+                    finish(); // Return to previous activity
+                } else if (!sku.isEmpty()) {
+                    Toast.makeText(this, "Failed to add product. Is the SKU already in use?", Toast.LENGTH_SHORT).show();
+                    saveButton.setEnabled(true);
+                } else {
+                    Toast.makeText(this, "Failed to add product", Toast.LENGTH_SHORT).show();
+                    saveButton.setEnabled(true);
+                }
+            }, error -> {
                 Toast.makeText(this, "Failed to add product", Toast.LENGTH_SHORT).show();
-            }
+                saveButton.setEnabled(true);
+            });
 
         } catch (NumberFormatException e) {
             Toast.makeText(this, "Please enter valid price and quantity", Toast.LENGTH_SHORT).show();
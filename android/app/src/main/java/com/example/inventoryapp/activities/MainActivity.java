@@ -1,14 +1,30 @@
 package com.example.inventoryapp.activities;
 
+import android.Manifest;
 import android.content.Intent;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.os.Build;
 import android.os.Bundle;
+import android.os.StrictMode;
 import android.widget.Button;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.app.ActivityCompat;
+import androidx.core.content.ContextCompat;
 
 import com.example.inventoryapp.R;
-import com.example.inventoryapp.database.DatabaseHelper;
+import com.example.inventoryapp.database.ProductRepository;
+import com.example.inventoryapp.model.CategorySummary;
+import com.example.inventoryapp.model.Money;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * MainActivity Class
@@ -16,41 +32,123 @@ import com.example.inventoryapp.database.DatabaseHelper;
  * Navigation to add and view products
  */
 public class MainActivity extends AppCompatActivity {
-    private DatabaseHelper dbHelper;
-    private TextView totalProductsText, lowStockText;
-    private Button addProductBtn, viewProductsBtn;
+    private static final int REQUEST_NOTIFICATIONS = 1;
+
+    private ProductRepository repository;
+    // Low stock monitor version the statistics were last loaded at
+    private long statisticsVersion = -1;
+    private TextView totalProductsText, lowStockText, totalUnitsText, stockValueText;
+    private TextView categoryBreakdownText;
+    private Button addProductBtn, viewProductsBtn, scanBtn, reportBtn;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        enableStrictModeInDebug();
         setContentView(R.layout.activity_main);
 
-        // Initialize database helper
-        dbHelper = new DatabaseHelper(this);
+        // Initialize repository
+        repository = ProductRepository.getInstance(this);
 
         // Initialize views
         totalProductsText = findViewById(R.id.totalProductsText);
         lowStockText = findViewById(R.id.lowStockText);
+        totalUnitsText = findViewById(R.id.totalUnitsText);
+        stockValueText = findViewById(R.id.stockValueText);
+        categoryBreakdownText = findViewById(R.id.categoryBreakdownText);
         addProductBtn = findViewById(R.id.addProductBtn);
         viewProductsBtn = findViewById(R.id.viewProductsBtn);
+        scanBtn = findViewById(R.id.scanBtn);
+        reportBtn = findViewById(R.id.reportBtn);
 
         // Set button click listeners
         addProductBtn.setOnClickListener(v -> openAddProductActivity());
         viewProductsBtn.setOnClickListener(v -> openProductListActivity());
+        scanBtn.setOnClickListener(v -> startActivity(new Intent(MainActivity.this, ScanActivity.class)));
+        reportBtn.setOnClickListener(v -> writeReport());
+
+        // Metrics screen for debugging, opened by long-pressing the title
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            findViewById(R.id.titleText).setOnLongClickListener(v -> {
+                startActivity(new Intent(MainActivity.this, MetricsActivity.class));
+                return true;
+            });
+        }
+
+        requestNotificationPermission();
+    }
 
-        // Update statistics
-        updateStatistics();
+    /**
+     * Low stock alerts are notifications, which need runtime permission from Android 13
+     */
+    private void requestNotificationPermission() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && ContextCompat.checkSelfPermission(this, Manifest.permission.POST_NOTIFICATIONS)
+                != PackageManager.PERMISSION_GRANTED) {
+            ActivityCompat.requestPermissions(this, new String[]{Manifest.permission.POST_NOTIFICATIONS},
+                    REQUEST_NOTIFICATIONS);
+        }
+    }
+
+    /**
+     * Flag disk access on the main thread in debuggable builds
+     * All database work is expected to go through ProductRepository
+     */
+    private void enableStrictModeInDebug() {
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) == 0) {
+            return;
+        }
+        StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                .detectDiskReads()
+                .detectDiskWrites()
+                .penaltyLog()
+                .build());
+        StrictMode.setVmPolicy(new StrictMode.VmPolicy.Builder()
+                .detectLeakedSqlLiteObjects()
+                .detectLeakedClosableObjects()
+                .penaltyLog()
+                .build());
     }
 
     /**
      * Update the statistics displayed on the dashboard
+     * All totals come from one read of the trigger-maintained summary row;
+     * the category breakdown is grouped from the category index
      */
     private void updateStatistics() {
-        int totalProducts = dbHelper.getProductCount();
-        int lowStockCount = dbHelper.getLowStockProducts().size();
+        statisticsVersion = repository.getLowStockMonitor().getVersion();
+        repository.getInventorySummary(this, summary -> {
+            totalProductsText.setText(String.valueOf(summary.getProductCount()));
+            lowStockText.setText(String.valueOf(summary.getLowStockCount()));
+            totalUnitsText.setText(String.valueOf(summary.getTotalUnits()));
+            stockValueText.setText("₹" + Money.format(summary.getTotalValueCents()));
+        });
+        repository.getCategoryBreakdown(this, this::showCategoryBreakdown);
+    }
+
+    /**
+     * One line per category: products, units, value and low stock count
+     */
+    private void showCategoryBreakdown(List<CategorySummary> breakdown) {
+        if (breakdown.isEmpty()) {
+            categoryBreakdownText.setText("No products yet");
+            return;
+        }
 
-        totalProductsText.setText(String.valueOf(totalProducts));
-        lowStockText.setText(String.valueOf(lowStockCount));
+        StringBuilder text = new StringBuilder();
+        for (CategorySummary category : breakdown) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(category.getName())
+                    .append(": ").append(category.getProductCount()).append(" products, ")
+                    .append(category.getTotalUnits()).append(" units, ₹")
+                    .append(Money.format(category.getTotalValueCents()));
+            if (category.getLowStockCount() > 0) {
+                text.append(" (").append(category.getLowStockCount()).append(" low)");
+            }
+        }
+        categoryBreakdownText.setText(text.toString());
     }
 
     /**
@@ -69,12 +167,32 @@ public class MainActivity extends AppCompatActivity {
         startActivity(intent);
     }
 
+    /**
+     * Write the end-of-day report as CSV to app storage
+     */
+    private void writeReport() {
+        reportBtn.setEnabled(false);
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        File file = new File(new File(getFilesDir(), "reports"), "inventory-" + timestamp + ".csv");
+        repository.writeInventoryReport(this, file, false, written -> {
+            reportBtn.setEnabled(true);
+            String message = written != null ? "Saved " + written.getAbsolutePath() : "Report failed";
+            Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+        }, error -> {
+            reportBtn.setEnabled(true);
+            Toast.makeText(this, "Report failed", Toast.LENGTH_LONG).show();
+        });
+    }
+
     /**
      * Refresh statistics when returning to this activity
+     * Skipped when no product write has happened since they were loaded
      */
     @Override
     protected void onResume() {
         super.onResume();
-        updateStatistics();
+        if (repository.getLowStockMonitor().getVersion() != statisticsVersion) {
+            updateStatistics();
+        }
     }
 }
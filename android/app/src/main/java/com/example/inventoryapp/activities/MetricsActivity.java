@@ -0,0 +1,80 @@
+package com.example.inventoryapp.activities;
+
+import android.os.Bundle;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.inventoryapp.R;
+import com.example.inventoryapp.metrics.MetricsExporter;
+import com.example.inventoryapp.metrics.MetricsRegistry;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * MetricsActivity Class
+ * Debug screen showing data layer latencies, row counts and cache statistics
+ * Reachable from the dashboard in debuggable builds
+ */
+public class MetricsActivity extends AppCompatActivity {
+    private final MetricsRegistry registry = MetricsRegistry.getInstance();
+    private TextView metricsText;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_metrics);
+
+        metricsText = findViewById(R.id.metricsText);
+        Button refreshButton = findViewById(R.id.refreshMetricsBtn);
+        Button resetButton = findViewById(R.id.resetMetricsBtn);
+        Button exportButton = findViewById(R.id.exportMetricsBtn);
+
+        refreshButton.setOnClickListener(v -> showMetrics());
+        resetButton.setOnClickListener(v -> {
+            registry.reset();
+            showMetrics();
+        });
+        exportButton.setOnClickListener(v -> exportMetrics());
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showMetrics();
+    }
+
+    /**
+     * Render the current report; only reads in-memory counters
+     */
+    private void showMetrics() {
+        StringWriter report = new StringWriter();
+        try {
+            registry.writeTo(report);
+        } catch (IOException e) {
+            // StringWriter does not throw
+        }
+        metricsText.setText(report.toString());
+    }
+
+    /**
+     * Write the report to app storage off the main thread
+     */
+    private void exportMetrics() {
+        MetricsExporter exporter = new MetricsExporter(registry, new File(getFilesDir(), "metrics"));
+        new Thread(() -> {
+            String message;
+            try {
+                message = "Saved " + exporter.export().getAbsolutePath();
+            } catch (IOException e) {
+                message = "Export failed: " + e.getMessage();
+            }
+            String result = message;
+            runOnUiThread(() -> Toast.makeText(this, result, Toast.LENGTH_LONG).show());
+        }, "metrics-export").start();
+    }
+}
@@ -2,7 +2,12 @@ package com.example.inventoryapp.activities;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.widget.Button;
+import android.widget.EditText;
 
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
@@ -11,34 +16,40 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.inventoryapp.R;
 import com.example.inventoryapp.adapter.ProductAdapter;
-import com.example.inventoryapp.database.DatabaseHelper;
+import com.example.inventoryapp.database.ProductPagingSource;
+import com.example.inventoryapp.database.ProductRepository;
 import com.example.inventoryapp.model.Product;
 
-import java.util.List;
-
 /**
  * ProductListActivity Class
  * Displays all products in a RecyclerView
  * Handles edit and delete operations for products
  */
 public class ProductListActivity extends AppCompatActivity implements ProductAdapter.OnProductActionListener {
+    // Wait for typing to pause before querying
+    private static final long SEARCH_DEBOUNCE_MS = 250;
+
     private RecyclerView productsRecyclerView;
     private ProductAdapter adapter;
-    private DatabaseHelper dbHelper;
-    private List<Product> productList;
+    private ProductRepository repository;
+    private ProductPagingSource pagingSource;
     private Button addProductBtn;
+    private EditText searchInput;
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::applySearch;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_product_list);
 
-        // Initialize database helper
-        dbHelper = new DatabaseHelper(this);
+        // Initialize repository
+        repository = ProductRepository.getInstance(this);
 
         // Initialize views
         productsRecyclerView = findViewById(R.id.productsRecyclerView);
         addProductBtn = findViewById(R.id.addProductBtn);
+        searchInput = findViewById(R.id.searchInput);
 
         // Setup RecyclerView
         setupRecyclerView();
@@ -46,28 +57,57 @@ public class ProductListActivity extends AppCompatActivity implements ProductAda
         // Set add button listener
         addProductBtn.setOnClickListener(v -> openAddProductActivity());
 
-        // Load products
-        loadProducts();
+        // Search as you type
+        setupSearch();
+
+        // Products are loaded in onResume
     }
 
     /**
-     * Setup RecyclerView with layout manager and adapter
+     * Setup RecyclerView with layout manager and a paged adapter
      */
     private void setupRecyclerView() {
         productsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
-        productList = dbHelper.getAllProducts();
-        adapter = new ProductAdapter(productList, this, this);
+        pagingSource = new ProductPagingSource(repository, this);
+        // Mapped in the background at startup; onResume's refresh checks the rows against SQLite
+        pagingSource.showSnapshot(repository.getCatalogSnapshotStore().current());
+        adapter = new ProductAdapter(pagingSource, this, this);
         productsRecyclerView.setAdapter(adapter);
     }
 
     /**
-     * Load all products from database and refresh adapter
+     * Debounce search input so only the last keystroke in a burst runs a query
+     */
+    private void setupSearch() {
+        searchInput.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                searchHandler.removeCallbacks(searchRunnable);
+                searchHandler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
+            }
+        });
+    }
+
+    /**
+     * Run the search; the paging source cancels any query still in flight
+     */
+    private void applySearch() {
+        pagingSource.setQuery(searchInput.getText().toString());
+    }
+
+    /**
+     * Reload product IDs in the background; rows are paged in as they are shown
      */
     private void loadProducts() {
-        productList = dbHelper.getAllProducts();
-        if (adapter != null) {
-            adapter.updateList(productList);
-        }
+        pagingSource.refresh();
     }
 
     /**
@@ -83,11 +123,8 @@ public class ProductListActivity extends AppCompatActivity implements ProductAda
      */
     private void openUpdateProductActivity(Product product) {
         Intent intent = new Intent(ProductListActivity.this, UpdateProductActivity.class);
+        // The screen reads the current row itself; the list's copy may be stale
         intent.putExtra("productId", product.getId());
-        intent.putExtra("productName", product.getName());
-        intent.putExtra("productCategory", product.getCategory());
-        intent.putExtra("productPrice", product.getPrice());
-        intent.putExtra("productQuantity", product.getQuantity());
         startActivityForResult(intent, 2);
     }
 
@@ -115,10 +152,8 @@ public class ProductListActivity extends AppCompatActivity implements ProductAda
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
         builder.setTitle("Delete Product")
                 .setMessage("Are you sure you want to delete this product?")
-                .setPositiveButton("Delete", (dialog, which) -> {
-                    dbHelper.deleteProduct(productId);
-                    loadProducts(); // Refresh list
-                })
+                .setPositiveButton("Delete", (dialog, which) ->
+                        repository.deleteProduct(this, productId, result -> loadProducts())) // Refresh list
                 .setNegativeButton("Cancel", (dialog, which) -> dialog.dismiss())
                 .show();
     }
@@ -131,4 +166,14 @@ public class ProductListActivity extends AppCompatActivity implements ProductAda
         super.onResume();
         loadProducts();
     }
+
+    /**
+     * Stop background page loads when the screen goes away
+     */
+    @Override
+    protected void onDestroy() {
+        searchHandler.removeCallbacks(searchRunnable);
+        pagingSource.close();
+        super.onDestroy();
+    }
 }
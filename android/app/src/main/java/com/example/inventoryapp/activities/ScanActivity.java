@@ -0,0 +1,97 @@
+package com.example.inventoryapp.activities;
+
+import android.os.Bundle;
+import android.view.KeyEvent;
+import android.view.inputmethod.EditorInfo;
+import android.widget.Button;
+import android.widget.EditText;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.inventoryapp.R;
+import com.example.inventoryapp.database.DatabaseHelper;
+import com.example.inventoryapp.database.ProductRepository;
+
+/**
+ * ScanActivity Class
+ * Screen for taking stock out by scanning barcodes
+ *
+ * Handheld scanners type the barcode into the focused field and press
+ * Enter; each scan removes the set number of units from the product with
+ * that SKU in one write. The field is cleared straight away so the next
+ * scan can start before the write finishes; writes run in scan order.
+ */
+public class ScanActivity extends AppCompatActivity {
+    private EditText unitsInput, skuInput;
+    private TextView lastScanText;
+    private ProductRepository repository;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_scan);
+
+        // Initialize repository
+        repository = ProductRepository.getInstance(this);
+
+        unitsInput = findViewById(R.id.unitsInput);
+        skuInput = findViewById(R.id.skuInput);
+        lastScanText = findViewById(R.id.lastScanText);
+        Button doneButton = findViewById(R.id.doneButton);
+
+        skuInput.setOnEditorActionListener((v, actionId, event) -> {
+            // Hardware Enter arrives as IME_NULL with its key events; act on the press only
+            if (actionId == EditorInfo.IME_ACTION_DONE
+                    || (event != null && event.getKeyCode() == KeyEvent.KEYCODE_ENTER
+                    && event.getAction() == KeyEvent.ACTION_DOWN)) {
+                submitScan();
+            }
+            return true;
+        });
+        doneButton.setOnClickListener(v -> finish());
+        skuInput.requestFocus();
+    }
+
+    /**
+     * Remove stock for the scanned SKU and show the result
+     */
+    private void submitScan() {
+        String sku = skuInput.getText().toString().trim();
+        skuInput.setText("");
+        skuInput.requestFocus();
+        if (sku.isEmpty()) {
+            return;
+        }
+
+        int units;
+        try {
+            units = Integer.parseInt(unitsInput.getText().toString().trim());
+        } catch (NumberFormatException e) {
+            units = 0;
+        }
+        if (units <= 0) {
+            Toast.makeText(this, "Please enter the units per scan", Toast.LENGTH_SHORT).show();
+            unitsInput.requestFocus();
+            return;
+        }
+
+        repository.adjustQuantityBySku(this, sku, -units, true, result -> showResult(sku, result),
+                error -> lastScanText.setText("Scan of " + sku + " failed"));
+    }
+
+    private void showResult(String sku, int result) {
+        if (result == DatabaseHelper.SKU_NOT_FOUND) {
+            lastScanText.setText("Unknown SKU " + sku);
+        } else if (result == 0) {
+            lastScanText.setText("Not enough stock for " + sku);
+        } else {
+            repository.getProductById(this, result, product -> {
+                if (product != null) {
+                    lastScanText.setText(product.getName() + ": " + product.getQuantity() + " left");
+                }
+            });
+        }
+    }
+}
@@ -8,7 +8,8 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.inventoryapp.R;
-import com.example.inventoryapp.database.DatabaseHelper;
+import com.example.inventoryapp.database.ProductRepository;
+import com.example.inventoryapp.model.Money;
 import com.example.inventoryapp.model.Product;
 
 /**
@@ -17,22 +18,27 @@ import com.example.inventoryapp.model.Product;
  * Validates user input before updating in database
  */
 public class UpdateProductActivity extends AppCompatActivity {
-    private EditText productNameInput, categoryInput, priceInput, quantityInput;
+    private static final String STATE_LOADED_QUANTITY = "loadedQuantity";
+
+    private EditText productNameInput, categoryInput, skuInput, priceInput, quantityInput;
     private Button updateButton, cancelButton;
-    private DatabaseHelper dbHelper;
+    private ProductRepository repository;
     private int productId;
+    // Stored quantity when the screen loaded; saving applies only the user's change to it
+    private int loadedQuantity;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_update_product);
 
-        // Initialize database helper
-        dbHelper = new DatabaseHelper(this);
+        // Initialize repository
+        repository = ProductRepository.getInstance(this);
 
         // Initialize input fields
         productNameInput = findViewById(R.id.productNameInput);
         categoryInput = findViewById(R.id.categoryInput);
+        skuInput = findViewById(R.id.skuInput);
         priceInput = findViewById(R.id.priceInput);
         quantityInput = findViewById(R.id.quantityInput);
 
@@ -44,24 +50,44 @@ public class UpdateProductActivity extends AppCompatActivity {
         updateButton.setOnClickListener(v -> updateProduct());
         cancelButton.setOnClickListener(v -> finish());
 
-        // Load product details from intent
-        loadProductDetails();
+        productId = getIntent().getIntExtra("productId", -1);
+        if (savedInstanceState != null && savedInstanceState.containsKey(STATE_LOADED_QUANTITY)) {
+            // The fields restore the user's edits; keep the quantity they were made against
+            loadedQuantity = savedInstanceState.getInt(STATE_LOADED_QUANTITY);
+        } else {
+            loadProductDetails();
+        }
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        if (updateButton.isEnabled()) {
+            outState.putInt(STATE_LOADED_QUANTITY, loadedQuantity);
+        }
     }
 
     /**
-     * Load product details from intent and populate input fields
+     * Load the stored product and populate input fields
+     * Save stays disabled until it arrives, so nothing is saved against
+     * values the screen has not shown
      */
     private void loadProductDetails() {
-        productId = getIntent().getIntExtra("productId", -1);
-        String name = getIntent().getStringExtra("productName");
-        String category = getIntent().getStringExtra("productCategory");
-        double price = getIntent().getDoubleExtra("productPrice", 0);
-        int quantity = getIntent().getIntExtra("productQuantity", 0);
-
-        productNameInput.setText(name);
-        categoryInput.setText(category);
-        priceInput.setText(String.valueOf(price));
-        quantityInput.setText(String.valueOf(quantity));
+        updateButton.setEnabled(false);
+        repository.getProductById(this, productId, product -> {
+            if (product == null) {
+                Toast.makeText(this, "Product no longer exists", Toast.LENGTH_SHORT).show();
+                finish();
+                return;
+            }
+            loadedQuantity = product.getQuantity();
+            productNameInput.setText(product.getName());
+            categoryInput.setText(product.getCategory());
+            skuInput.setText(product.getSku() != null ? product.getSku() : "");
+            priceInput.setText(Money.format(product.getPriceCents()));
+            quantityInput.setText(String.valueOf(product.getQuantity()));
+            updateButton.setEnabled(true);
+        });
     }
 
     /**
@@ -71,6 +97,7 @@ public class UpdateProductActivity extends AppCompatActivity {
     private void updateProduct() {
         String name = productNameInput.getText().toString().trim();
         String category = categoryInput.getText().toString().trim();
+        String sku = skuInput.getText().toString().trim();
         String priceStr = priceInput.getText().toString().trim();
         String quantityStr = quantityInput.getText().toString().trim();
 
@@ -100,11 +127,11 @@ public class UpdateProductActivity extends AppCompatActivity {
         }
 
         try {
-            double price = Double.parseDouble(priceStr);
+            long priceCents = Money.parseCents(priceStr);
             int quantity = Integer.parseInt(quantityStr);
 
             // Validation: Check for negative values
-            if (price < 0) {
+            if (priceCents < 0) {
                 Toast.makeText(this, "Price cannot be negative", Toast.LENGTH_SHORT).show();
                 priceInput.requestFocus();
                 return;
@@ -116,16 +143,26 @@ public class UpdateProductActivity extends AppCompatActivity {
                 return;
             }
 
-            // Create updated product and update database
-            Product product = new Product(productId, name, category, price, quantity);
-            int result = dbHelper.updateProduct(product);
-
-            if (result > 0) {
-                Toast.makeText(this, "Product updated successfully!", Toast.LENGTH_SHORT).show();
-                finish(); // Return to previous activity
-            } else {
+            // Save the details and apply the stock change as a delta, so stock
+            // movements recorded since the screen opened are not overwritten
+            Product product = new Product(productId, name, category, priceCents, quantity);
+            product.setSku(sku.isEmpty() ? null : sku);
+            updateButton.setEnabled(false);
+            repository.updateProductDetails(this, product, quantity - loadedQuantity, result -> {
+                if (result > 0) {
+                    Toast.makeText(this, "Product updated successfully!", Toast.LENGTH_SHORT).show();
+                    finish(); // Return to previous activity
+                } else if (!sku.isEmpty()) {
+                    Toast.makeText(this, "Failed to update product. Is the SKU already in use?", Toast.LENGTH_SHORT).show();
+                    updateButton.setEnabled(true);
+                } else {
+                    Toast.makeText(this, "Failed to update product", Toast.LENGTH_SHORT).show();
+                    updateButton.setEnabled(true);
+                }
+            }, error -> {
                 Toast.makeText(this, "Failed to update product", Toast.LENGTH_SHORT).show();
-            }
+                updateButton.setEnabled(true);
+            });
 
         } catch (NumberFormatException e) {
             Toast.makeText(this, "Please enter valid price and quantity", Toast.LENGTH_SHORT).show();
@@ -0,0 +1,109 @@
+package com.example.inventoryapp.adapter;
+
+/**
+ * LabelBuilder Class
+ * Reusable character buffer for building row labels without allocating
+ *
+ * Each ViewHolder owns its own builders. The result is handed to
+ * TextView.setText(char[], int, int), which does not copy the text into a
+ * new String. The buffer only grows when a label is longer than any
+ * label built before it.
+ */
+public final class LabelBuilder {
+    private static final int MAX_LONG_DIGITS = 20;
+
+    private char[] chars;
+    private int length;
+
+    /**
+     * Constructor
+     * @param initialCapacity Expected label length
+     */
+    public LabelBuilder(int initialCapacity) {
+        chars = new char[Math.max(initialCapacity, MAX_LONG_DIGITS)];
+    }
+
+    /**
+     * Start a new label, keeping the buffer
+     */
+    public LabelBuilder clear() {
+        length = 0;
+        return this;
+    }
+
+    public LabelBuilder append(String text) {
+        int count = text.length();
+        ensureCapacity(length + count);
+        text.getChars(0, count, chars, length);
+        length += count;
+        return this;
+    }
+
+    public LabelBuilder append(long value) {
+        ensureCapacity(length + MAX_LONG_DIGITS);
+        if (value < 0) {
+            chars[length++] = '-';
+            // Long.MIN_VALUE has no positive counterpart, so emit digits from the negative side
+            appendNegativeDigits(value);
+        } else {
+            appendNegativeDigits(-value);
+        }
+        return this;
+    }
+
+    /**
+     * Append an amount in hundredths as units with two decimals, e.g. 12345 as "123.45"
+     */
+    public LabelBuilder appendCents(long cents) {
+        ensureCapacity(length + MAX_LONG_DIGITS + 2);
+        if (cents < 0) {
+            chars[length++] = '-';
+        }
+        long units = Math.abs(cents / 100);
+        int fraction = (int) Math.abs(cents % 100);
+        appendNegativeDigits(-units);
+        chars[length++] = '.';
+        chars[length++] = (char) ('0' + fraction / 10);
+        chars[length++] = (char) ('0' + fraction % 10);
+        return this;
+    }
+
+    public char[] chars() {
+        return chars;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Write the digits of a non-positive value
+     */
+    private void appendNegativeDigits(long negative) {
+        int start = length;
+        do {
+            chars[length++] = (char) ('0' - (negative % 10));
+            negative /= 10;
+        } while (negative != 0);
+
+        // Digits were written least significant first
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            char tmp = chars[i];
+            chars[i] = chars[j];
+            chars[j] = tmp;
+        }
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > chars.length) {
+            char[] grown = new char[Math.max(needed, chars.length * 2)];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+    }
+}
@@ -9,9 +9,12 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.inventoryapp.R;
+import com.example.inventoryapp.database.ProductDiffCallback;
+import com.example.inventoryapp.database.ProductPagingSource;
 import com.example.inventoryapp.model.Product;
 
 import java.util.List;
@@ -20,11 +23,24 @@ import java.util.List;
  * ProductAdapter Class
  * Adapter for RecyclerView to display list of products
  * Handles item layout inflation and data binding
+ * Reads rows from a ProductPagingSource so only the visible pages are in memory
+ * Refreshes are applied as minimal insert/remove/change events computed by DiffUtil
+ * The bind path allocates nothing: labels are built into per-row buffers,
+ * colours are resolved once and click listeners are attached once per ViewHolder
  */
-public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductViewHolder> {
-    private List<Product> productList;
-    private Context context;
+public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductViewHolder>
+        implements ProductPagingSource.Listener {
+    // Label prefixes, resolved once
+    private static final String CATEGORY_PREFIX = "Category: ";
+    private static final String PRICE_PREFIX = "Price: ₹";
+    private static final String QUANTITY_PREFIX = "Qty: ";
+    private static final String LOADING_TEXT = "Loading...";
+    private static final String EMPTY_TEXT = "";
+
+    private ProductPagingSource pagingSource;
     private OnProductActionListener listener;
+    private final int lowStockColor;
+    private final int normalColor;
 
     /**
      * Interface for handling product actions (edit, delete)
@@ -37,10 +53,13 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
     /**
      * Constructor
      */
-    public ProductAdapter(List<Product> productList, Context context, OnProductActionListener listener) {
-        this.productList = productList;
-        this.context = context;
+    public ProductAdapter(ProductPagingSource pagingSource, Context context, OnProductActionListener listener) {
+        this.pagingSource = pagingSource;
         this.listener = listener;
+        this.lowStockColor = context.getResources().getColor(R.color.lowStockColor);
+        this.normalColor = context.getResources().getColor(R.color.normalColor);
+        pagingSource.setListener(this);
+        setHasStableIds(true);
     }
 
     /**
@@ -51,7 +70,40 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
     public ProductViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.row_product, parent, false);
-        return new ProductViewHolder(view);
+        ProductViewHolder holder = new ProductViewHolder(view);
+
+        // Listeners are attached once and read the product bound at click time
+        holder.editButton.setOnClickListener(v -> {
+            if (listener != null && holder.boundProduct != null) {
+                listener.onEditProduct(holder.boundProduct);
+            }
+        });
+        holder.deleteButton.setOnClickListener(v -> {
+            if (listener != null && holder.boundProduct != null) {
+                listener.onDeleteProduct(holder.boundProduct.getId());
+            }
+        });
+        return holder;
+    }
+
+    /**
+     * Bind with payloads
+     * A quantity-only change rebinds just the quantity and low stock state
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ProductViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty() || !payloads.contains(ProductDiffCallback.PAYLOAD_QUANTITY)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+
+        Product product = pagingSource.get(position);
+        if (product == null) {
+            bindPlaceholder(holder);
+            return;
+        }
+        holder.boundProduct = product;
+        bindQuantity(holder, product);
     }
 
     /**
@@ -60,51 +112,96 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
      */
     @Override
     public void onBindViewHolder(@NonNull ProductViewHolder holder, int position) {
-        Product product = productList.get(position);
+        Product product = pagingSource.get(position);
+        if (product == null) {
+            bindPlaceholder(holder);
+            return;
+        }
 
+        holder.boundProduct = product;
         holder.productName.setText(product.getName());
-        holder.productCategory.setText("Category: " + product.getCategory());
-        holder.productPrice.setText(String.format("Price: ₹%.2f", product.getPrice()));
-        holder.productQuantity.setText("Qty: " + product.getQuantity());
+        setLabel(holder.productCategory, holder.categoryLabel.clear()
+                .append(CATEGORY_PREFIX)
+                .append(product.getCategory()));
+        setLabel(holder.productPrice, holder.priceLabel.clear()
+                .append(PRICE_PREFIX)
+                .appendCents(product.getPriceCents()));
+        bindQuantity(holder, product);
+    }
+
+    /**
+     * Bind the quantity and highlight low stock items
+     */
+    private void bindQuantity(@NonNull ProductViewHolder holder, Product product) {
+        setLabel(holder.productQuantity, holder.quantityLabel.clear()
+                .append(QUANTITY_PREFIX)
+                .append(product.getQuantity()));
 
         // Highlight low stock items
         if (product.isLowStock()) {
-            holder.productContainer.setBackgroundColor(context.getResources().getColor(R.color.lowStockColor));
+            holder.productContainer.setBackgroundColor(lowStockColor);
             holder.lowStockWarning.setVisibility(View.VISIBLE);
         } else {
-            holder.productContainer.setBackgroundColor(context.getResources().getColor(R.color.normalColor));
+            holder.productContainer.setBackgroundColor(normalColor);
             holder.lowStockWarning.setVisibility(View.GONE);
         }
+    }
 
-        // Edit button click listener
-        holder.editButton.setOnClickListener(v -> {
-            if (listener != null) {
-                listener.onEditProduct(product);
-            }
-        });
+    /**
+     * Hand a label buffer to a TextView without creating a String
+     */
+    private static void setLabel(TextView view, LabelBuilder label) {
+        view.setText(label.chars(), 0, label.length());
+    }
 
-        // Delete button click listener
-        holder.deleteButton.setOnClickListener(v -> {
-            if (listener != null) {
-                listener.onDeleteProduct(product.getId());
-            }
-        });
+    /**
+     * Bind an empty row while its page is still loading
+     */
+    private void bindPlaceholder(@NonNull ProductViewHolder holder) {
+        holder.boundProduct = null;
+        holder.productName.setText(LOADING_TEXT);
+        holder.productCategory.setText(EMPTY_TEXT);
+        holder.productPrice.setText(EMPTY_TEXT);
+        holder.productQuantity.setText(EMPTY_TEXT);
+        holder.productContainer.setBackgroundColor(normalColor);
+        holder.lowStockWarning.setVisibility(View.GONE);
     }
 
     /**
-     * Return total number of items
+     * Return total number of items, including rows whose page is not loaded
      */
     @Override
     public int getItemCount() {
-        return productList != null ? productList.size() : 0;
+        return pagingSource != null ? pagingSource.size() : 0;
     }
 
     /**
-     * Update the product list (for filtering or refreshing)
+     * Stable IDs let RecyclerView animate rows across refreshes
      */
-    public void updateList(List<Product> newList) {
-        this.productList = newList;
-        notifyDataSetChanged();
+    @Override
+    public long getItemId(int position) {
+        return pagingSource.getId(position);
+    }
+
+    /**
+     * Rebind rows once their page has been loaded
+     */
+    @Override
+    public void onPageLoaded(int startPosition, int itemCount) {
+        notifyItemRangeChanged(startPosition, itemCount);
+    }
+
+    /**
+     * Apply the changes found when the source reloaded its ID list
+     * Falls back to a full rebind when no diff was computed
+     */
+    @Override
+    public void onRefreshed(DiffUtil.DiffResult diff) {
+        if (diff != null) {
+            diff.dispatchUpdatesTo(this);
+        } else {
+            notifyDataSetChanged();
+        }
     }
 
     /**
@@ -116,6 +213,12 @@ public class ProductAdapter extends RecyclerView.Adapter<ProductAdapter.ProductV
         ImageButton editButton, deleteButton;
         LinearLayout productContainer;
 
+        // Per-row label buffers and the product currently shown
+        final LabelBuilder categoryLabel = new LabelBuilder(32);
+        final LabelBuilder priceLabel = new LabelBuilder(24);
+        final LabelBuilder quantityLabel = new LabelBuilder(16);
+        Product boundProduct;
+
         public ProductViewHolder(@NonNull View itemView) {
             super(itemView);
 
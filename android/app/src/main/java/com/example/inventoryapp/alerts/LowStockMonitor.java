@@ -0,0 +1,251 @@
+package com.example.inventoryapp.alerts;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.inventoryapp.database.DatabaseHelper;
+import com.example.inventoryapp.model.Product;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LowStockMonitor Class
+ * Keeps a live set of low stock product IDs, driven by DatabaseHelper change events
+ *
+ * Only the products named in a change event are re-read and checked against
+ * their reorder level; events that may touch any product trigger one full
+ * low stock query. Events that arrive while an evaluation is pending are
+ * merged into it, so a bulk import costs a handful of queries.
+ *
+ * Products that drop below their reorder level are collected and handed to
+ * the alert listeners once no new ones have arrived for ALERT_QUIET_MS, so a
+ * burst of changes produces a single alert. Products restocked before the
+ * alert goes out are dropped from it.
+ */
+public class LowStockMonitor implements DatabaseHelper.ChangeListener {
+    private static final String TAG = "LowStockMonitor";
+
+    // Quiet period before pending alerts are delivered, and the longest they are held back
+    public static final long ALERT_QUIET_MS = 2000;
+    public static final long ALERT_MAX_DELAY_MS = 30000;
+
+    private final DatabaseHelper dbHelper;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "low-stock-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<AlertListener> alertListeners = new CopyOnWriteArrayList<>();
+
+    private final Set<Integer> lowStockIds = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+    private final AtomicLong version = new AtomicLong();
+
+    // Changes waiting for evaluation, guarded by this
+    private final Set<Integer> dirtyIds = new HashSet<>();
+    private boolean dirtyAll;
+    private boolean evaluationScheduled;
+
+    // Only touched on the executor thread
+    private boolean loaded;
+    private final Map<Integer, Product> pendingAlerts = new LinkedHashMap<>();
+    private long firstPendingAt;
+    private long lastPendingAt;
+    private boolean flushScheduled;
+
+    /**
+     * Interface for receiving coalesced low stock alerts on the main thread
+     */
+    public interface AlertListener {
+        /**
+         * @param newlyLow Products that went below their reorder level since the last alert
+         * @param lowStockCount Number of low stock products in total
+         */
+        void onLowStock(List<Product> newlyLow, int lowStockCount);
+    }
+
+    /**
+     * Constructor
+     */
+    public LowStockMonitor(DatabaseHelper dbHelper) {
+        this.dbHelper = dbHelper;
+    }
+
+    /**
+     * Subscribe to change events and load the current low stock set
+     * Products already low at start-up do not raise an alert
+     */
+    public void start() {
+        dbHelper.addChangeListener(this);
+        onProductsChanged(null);
+    }
+
+    public void addAlertListener(AlertListener listener) {
+        alertListeners.add(listener);
+    }
+
+    public void removeAlertListener(AlertListener listener) {
+        alertListeners.remove(listener);
+    }
+
+    /**
+     * Whether a product is currently below its reorder level
+     * Reflects all writes evaluated so far; safe to call from any thread
+     */
+    public boolean isLowStock(int productId) {
+        return lowStockIds.contains(productId);
+    }
+
+    /**
+     * Number of products currently below their reorder level
+     */
+    public int getLowStockCount() {
+        return lowStockIds.size();
+    }
+
+    /**
+     * Counter that increases with every product write
+     * Bumped before the writer's callback runs, so screens can compare it with the
+     * value they last rendered to skip unneeded reloads
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Record changed products and schedule an evaluation if none is pending
+     */
+    @Override
+    public void onProductsChanged(int[] ids) {
+        version.incrementAndGet();
+        synchronized (this) {
+            if (ids == null) {
+                dirtyAll = true;
+                dirtyIds.clear();
+            } else if (!dirtyAll) {
+                for (int id : ids) {
+                    dirtyIds.add(id);
+                }
+            }
+            if (evaluationScheduled) {
+                return;
+            }
+            evaluationScheduled = true;
+        }
+        executor.execute(this::evaluate);
+    }
+
+    private void evaluate() {
+        boolean all;
+        int[] ids;
+        synchronized (this) {
+            all = dirtyAll;
+            ids = new int[dirtyIds.size()];
+            int i = 0;
+            for (Integer id : dirtyIds) {
+                ids[i++] = id;
+            }
+            dirtyAll = false;
+            dirtyIds.clear();
+            evaluationScheduled = false;
+        }
+
+        try {
+            if (all) {
+                evaluateAll();
+            } else {
+                evaluateIds(ids);
+            }
+            loaded = true;
+        } catch (Exception e) {
+            Log.e(TAG, "Low stock evaluation failed", e);
+        }
+    }
+
+    private void evaluateAll() {
+        List<Product> lowStock = dbHelper.getLowStockProducts();
+        Set<Integer> current = new HashSet<>(lowStock.size() * 2);
+        for (Product product : lowStock) {
+            current.add(product.getId());
+            if (lowStockIds.add(product.getId()) && loaded) {
+                queueAlert(product);
+            }
+        }
+        for (Integer id : lowStockIds) {
+            if (!current.contains(id)) {
+                lowStockIds.remove(id);
+                pendingAlerts.remove(id);
+            }
+        }
+    }
+
+    private void evaluateIds(int[] ids) {
+        Map<Integer, Product> products = new LinkedHashMap<>(ids.length * 2);
+        for (Product product : dbHelper.getProductsByIds(ids)) {
+            products.put(product.getId(), product);
+        }
+        for (int id : ids) {
+            Product product = products.get(id);
+            if (product != null && product.isLowStock()) {
+                if (lowStockIds.add(id)) {
+                    queueAlert(product);
+                }
+            } else if (lowStockIds.remove(id)) {
+                // Restocked or deleted before the alert went out
+                pendingAlerts.remove(id);
+            }
+        }
+    }
+
+    private void queueAlert(Product product) {
+        long now = SystemClock.elapsedRealtime();
+        if (pendingAlerts.isEmpty()) {
+            firstPendingAt = now;
+        }
+        pendingAlerts.put(product.getId(), product);
+        lastPendingAt = now;
+        if (!flushScheduled) {
+            flushScheduled = true;
+            executor.schedule(this::flushAlerts, ALERT_QUIET_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Deliver pending alerts once the burst is over
+     */
+    private void flushAlerts() {
+        long now = SystemClock.elapsedRealtime();
+        long quietFor = now - lastPendingAt;
+        if (!pendingAlerts.isEmpty() && quietFor < ALERT_QUIET_MS && now - firstPendingAt < ALERT_MAX_DELAY_MS) {
+            executor.schedule(this::flushAlerts, ALERT_QUIET_MS - quietFor, TimeUnit.MILLISECONDS);
+            return;
+        }
+        flushScheduled = false;
+        if (pendingAlerts.isEmpty()) {
+            return;
+        }
+
+        List<Product> newlyLow = new ArrayList<>(pendingAlerts.values());
+        pendingAlerts.clear();
+        int lowStockCount = lowStockIds.size();
+        mainHandler.post(() -> {
+            for (AlertListener listener : alertListeners) {
+                listener.onLowStock(newlyLow, lowStockCount);
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.inventoryapp.alerts;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Build;
+
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+
+import com.example.inventoryapp.model.Product;
+
+import java.util.List;
+
+/**
+ * LowStockNotifier Class
+ * Shows low stock alerts as a single, updatable notification
+ *
+ * One product gets a notification naming it; several get one summary
+ * listing the first few. Every alert reuses the same notification ID, so
+ * the shade never holds more than one low stock entry.
+ */
+public class LowStockNotifier implements LowStockMonitor.AlertListener {
+    private static final String CHANNEL_ID = "low_stock";
+    private static final int NOTIFICATION_ID = 1001;
+    private static final int MAX_LISTED = 5;
+
+    private final Context context;
+
+    /**
+     * Constructor
+     * @param context Any context; the application context is kept
+     */
+    public LowStockNotifier(Context context) {
+        this.context = context.getApplicationContext();
+        createChannel();
+    }
+
+    @Override
+    public void onLowStock(List<Product> newlyLow, int lowStockCount) {
+        NotificationManagerCompat manager = NotificationManagerCompat.from(context);
+        if (newlyLow.isEmpty() || !manager.areNotificationsEnabled()) {
+            return;
+        }
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(android.R.drawable.stat_sys_warning)
+                .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+                .setAutoCancel(true);
+
+        if (newlyLow.size() == 1) {
+            Product product = newlyLow.get(0);
+            builder.setContentTitle(product.getName() + " is low on stock")
+                    .setContentText(product.getQuantity() + " left, reorder level " + product.getReorderLevel());
+        } else {
+            NotificationCompat.InboxStyle style = new NotificationCompat.InboxStyle();
+            for (int i = 0; i < Math.min(MAX_LISTED, newlyLow.size()); i++) {
+                Product product = newlyLow.get(i);
+                style.addLine(product.getName() + ": " + product.getQuantity() + " left");
+            }
+            if (newlyLow.size() > MAX_LISTED) {
+                style.setSummaryText("+" + (newlyLow.size() - MAX_LISTED) + " more");
+            }
+            builder.setContentTitle(newlyLow.size() + " products went low on stock")
+                    .setContentText(lowStockCount + " products are below their reorder level")
+                    .setStyle(style);
+        }
+
+        try {
+            manager.notify(NOTIFICATION_ID, builder.build());
+        } catch (SecurityException e) {
+            // Notification permission revoked between the check and the post
+        }
+    }
+
+    /**
+     * Notification channels are required from Android 8.0
+     */
+    private void createChannel() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            return;
+        }
+        NotificationChannel channel = new NotificationChannel(CHANNEL_ID, "Low stock alerts",
+                NotificationManager.IMPORTANCE_DEFAULT);
+        channel.setDescription("Products that drop below their reorder level");
+        NotificationManager manager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        if (manager != null) {
+            manager.createNotificationChannel(channel);
+        }
+    }
+}
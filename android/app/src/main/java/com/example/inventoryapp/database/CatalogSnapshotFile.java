@@ -0,0 +1,362 @@
+package com.example.inventoryapp.database;
+
+import com.example.inventoryapp.model.Product;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CatalogSnapshotFile Class
+ * Binary copy of the products table that the product list can render from at launch
+ *
+ * Layout, all integers big-endian:
+ *
+ *   header   32 bytes: magic, format version, schema version, count,
+ *            records offset, heap offset, heap length, reserved
+ *   ids      count ints, ascending, padded to a multiple of 8 bytes
+ *   records  count fixed-width records of RECORD_SIZE bytes, in id order:
+ *            name offset, category offset, quantity, reorder level, price in cents (long)
+ *   heap     strings as an int byte length followed by UTF-8 bytes;
+ *            each category is stored once and shared by its records
+ *
+ * The file is read through a MappedByteBuffer, so opening it only validates
+ * the header and record i is decoded straight from its fixed position.
+ * A snapshot is written to a temporary file and renamed over the old one,
+ * so readers only ever see a complete file. Files written by another format
+ * or schema version are rejected rather than migrated.
+ *
+ * Pure Java so the benchmarks can use it. Reads are not synchronised;
+ * use an open snapshot from one thread.
+ */
+public final class CatalogSnapshotFile {
+    static final int MAGIC = 0x494E5653; // "INVS"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 24;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int recordsOffset;
+    private final int heapOffset;
+    // Decoded categories keyed by heap offset
+    private final Map<Integer, String> categories = new HashMap<>();
+
+    private CatalogSnapshotFile(ByteBuffer buffer, int count, int recordsOffset, int heapOffset) {
+        this.buffer = buffer;
+        this.count = count;
+        this.recordsOffset = recordsOffset;
+        this.heapOffset = heapOffset;
+    }
+
+    /**
+     * Map a snapshot file
+     * @param file Snapshot written by a Writer
+     * @param schemaVersion Database schema version the caller expects
+     * @return The open snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot for this schema
+     */
+    public static CatalogSnapshotFile open(File file, int schemaVersion) throws IOException {
+        MappedByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            long length = channel.size();
+            if (length < HEADER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("Bad snapshot length " + length);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format " + buffer.getInt(4));
+        }
+        if (buffer.getInt(8) != schemaVersion) {
+            throw new IOException("Snapshot is for schema " + buffer.getInt(8) + ", expected " + schemaVersion);
+        }
+
+        int count = buffer.getInt(12);
+        int recordsOffset = buffer.getInt(16);
+        int heapOffset = buffer.getInt(20);
+        int heapLength = buffer.getInt(24);
+        if (count < 0 || recordsOffset != HEADER_SIZE + idsLength(count)
+                || heapOffset != recordsOffset + (long) count * RECORD_SIZE
+                || (long) heapOffset + heapLength != buffer.capacity()) {
+            throw new IOException("Corrupt snapshot header");
+        }
+        return new CatalogSnapshotFile(buffer, count, recordsOffset, heapOffset);
+    }
+
+    /**
+     * Number of products in the snapshot
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Product ID at an index, without decoding the record
+     */
+    public int getId(int index) {
+        return buffer.getInt(HEADER_SIZE + checkIndex(index) * 4);
+    }
+
+    /**
+     * Copy of all product IDs in ascending order
+     */
+    public int[] getIds() {
+        int[] ids = new int[count];
+        ByteBuffer view = buffer.duplicate();
+        view.position(HEADER_SIZE);
+        IntBuffer intView = view.asIntBuffer();
+        intView.get(ids);
+        return ids;
+    }
+
+    /**
+     * Decode the product at an index
+     */
+    public Product get(int index) {
+        int record = recordsOffset + checkIndex(index) * RECORD_SIZE;
+        return new Product(
+                getId(index),
+                readString(buffer.getInt(record)),
+                readCategory(buffer.getInt(record + 4)),
+                buffer.getLong(record + 16),
+                buffer.getInt(record + 8),
+                buffer.getInt(record + 12));
+    }
+
+    /**
+     * Decode a run of consecutive products
+     * @param start First index
+     * @param length Number of products, clipped to the end of the snapshot
+     */
+    public List<Product> getRange(int start, int length) {
+        int end = Math.min(count, start + length);
+        List<Product> products = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            products.add(get(i));
+        }
+        return products;
+    }
+
+    private String readCategory(int offset) {
+        String category = categories.get(offset);
+        if (category == null) {
+            category = readString(offset);
+            categories.put(offset, category);
+        }
+        return category;
+    }
+
+    private String readString(int offset) {
+        int position = heapOffset + offset;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + 4);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + count);
+        }
+        return index;
+    }
+
+    private static int idsLength(int count) {
+        return (count * 4 + 7) & ~7;
+    }
+
+    /**
+     * Writer Class
+     * Streams products into a new snapshot with constant memory
+     *
+     * The number of products is fixed up front so every region's offset is
+     * known: records and heap strings are buffered separately and flushed to
+     * their own regions with positional writes. Products must be added in
+     * ascending ID order. Nothing replaces the target until commit().
+     */
+    public static final class Writer {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final File target;
+        private final File temp;
+        private final RandomAccessFile raf;
+        private final FileChannel channel;
+        private final int schemaVersion;
+        private final int count;
+        private final int recordsOffset;
+        private final int heapOffset;
+
+        private final ByteBuffer ids = ByteBuffer.allocate(BUFFER_SIZE);
+        private final ByteBuffer records = ByteBuffer.allocate(BUFFER_SIZE);
+        private final ByteBuffer heap = ByteBuffer.allocate(BUFFER_SIZE);
+        private long idsPosition = HEADER_SIZE;
+        private long recordsPosition;
+        private long heapPosition;
+        private int heapLength;
+        private final Map<String, Integer> categoryOffsets = new HashMap<>();
+        private int added;
+        private int lastId = Integer.MIN_VALUE;
+
+        /**
+         * Constructor
+         * @param target File the snapshot replaces on commit
+         * @param schemaVersion Database schema version the products were read with
+         * @param count Exact number of products that will be added
+         * @throws IOException if the temporary file cannot be created
+         */
+        public Writer(File target, int schemaVersion, int count) throws IOException {
+            this.target = target;
+            this.temp = new File(target.getPath() + ".tmp");
+            this.schemaVersion = schemaVersion;
+            this.count = count;
+            this.recordsOffset = HEADER_SIZE + idsLength(count);
+            long heapStart = recordsOffset + (long) count * RECORD_SIZE;
+            if (heapStart > Integer.MAX_VALUE) {
+                throw new IOException("Too many products for a snapshot: " + count);
+            }
+            this.heapOffset = (int) heapStart;
+            this.recordsPosition = recordsOffset;
+            this.heapPosition = heapOffset;
+            this.raf = new RandomAccessFile(temp, "rw");
+            this.channel = raf.getChannel();
+            channel.truncate(0);
+        }
+
+        /**
+         * Append the next product
+         * @throws IOException if the write fails, or products are out of order or too many
+         */
+        public void add(Product product) throws IOException {
+            if (added == count) {
+                throw new IOException("More than " + count + " products added");
+            }
+            if (product.getId() <= lastId) {
+                throw new IOException("Product " + product.getId() + " added out of order");
+            }
+            lastId = product.getId();
+
+            int nameOffset = appendString(product.getName());
+            String category = product.getCategory() != null ? product.getCategory() : "";
+            Integer categoryOffset = categoryOffsets.get(category);
+            if (categoryOffset == null) {
+                categoryOffset = appendString(category);
+                categoryOffsets.put(category, categoryOffset);
+            }
+
+            if (ids.remaining() < 4) {
+                idsPosition = flush(ids, idsPosition);
+            }
+            ids.putInt(product.getId());
+
+            if (records.remaining() < RECORD_SIZE) {
+                recordsPosition = flush(records, recordsPosition);
+            }
+            records.putInt(nameOffset)
+                    .putInt(categoryOffset)
+                    .putInt(product.getQuantity())
+                    .putInt(product.getReorderLevel())
+                    .putLong(product.getPriceCents());
+            added++;
+        }
+
+        /**
+         * Finish the file, sync it to disk and move it over the target
+         * @throws IOException if fewer products than announced were added or the file cannot be written
+         */
+        public void commit() throws IOException {
+            if (added != count) {
+                throw new IOException("Expected " + count + " products, got " + added);
+            }
+            idsPosition = flush(ids, idsPosition);
+            recordsPosition = flush(records, recordsPosition);
+            heapPosition = flush(heap, heapPosition);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putInt(schemaVersion)
+                    .putInt(count)
+                    .putInt(recordsOffset)
+                    .putInt(heapOffset)
+                    .putInt(heapLength)
+                    .putInt(0);
+            flush(header, 0);
+            channel.force(true);
+            raf.close();
+
+            if (!temp.renameTo(target)) {
+                temp.delete();
+                throw new IOException("Cannot replace " + target);
+            }
+        }
+
+        /**
+         * Discard the temporary file; the current snapshot is left as it is
+         */
+        public void abort() {
+            try {
+                raf.close();
+            } catch (IOException e) {
+                // Nothing to do, the file is deleted anyway
+            }
+            temp.delete();
+        }
+
+        /**
+         * Write a string to the heap
+         * @return Its offset from the start of the heap
+         */
+        private int appendString(String value) throws IOException {
+            byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            int offset = heapLength;
+            if (heapLength + 4L + bytes.length > Integer.MAX_VALUE - heapOffset) {
+                throw new IOException("Snapshot string heap is full");
+            }
+            heapLength += 4 + bytes.length;
+
+            if (heap.remaining() < 4) {
+                heapPosition = flush(heap, heapPosition);
+            }
+            heap.putInt(bytes.length);
+            int written = 0;
+            while (written < bytes.length) {
+                if (!heap.hasRemaining()) {
+                    heapPosition = flush(heap, heapPosition);
+                }
+                int chunk = Math.min(heap.remaining(), bytes.length - written);
+                heap.put(bytes, written, chunk);
+                written += chunk;
+            }
+            return offset;
+        }
+
+        /**
+         * Write a buffer's contents at a file position and clear it
+         * @return The position after the written bytes
+         */
+        private long flush(ByteBuffer source, long position) throws IOException {
+            source.flip();
+            while (source.hasRemaining()) {
+                position += channel.write(source, position);
+            }
+            source.clear();
+            return position;
+        }
+    }
+}
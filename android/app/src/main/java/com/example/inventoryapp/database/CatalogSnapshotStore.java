@@ -0,0 +1,221 @@
+package com.example.inventoryapp.database;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.inventoryapp.model.Product;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CatalogSnapshotStore Class
+ * Keeps the on-disk CatalogSnapshotFile in step with the products table
+ *
+ * The snapshot is rewritten once writes have settled: WRITE_QUIET_MS after
+ * the last change event, or WRITE_MAX_DELAY_MS after the first one during a
+ * steady stream of writes. Rows are read in keyset pages that bypass the
+ * product cache. If the table changes under a pass, the pass is dropped and
+ * the change event that caused it schedules the next one.
+ *
+ * A marker file records that the table has changed since the last snapshot,
+ * so a process killed inside the quiet period rewrites it on the next start.
+ *
+ * All file work, including resolving the no-backup directory, happens on
+ * the store's own thread. The latest snapshot is mapped there too, so the
+ * list can take it at launch without touching the disk.
+ */
+public class CatalogSnapshotStore implements DatabaseHelper.ChangeListener {
+    private static final String TAG = "CatalogSnapshotStore";
+
+    public static final long WRITE_QUIET_MS = 5000;
+    public static final long WRITE_MAX_DELAY_MS = 60000;
+    private static final int PAGE_SIZE = 1000;
+
+    private final DatabaseHelper dbHelper;
+    private final Context context;
+    private final String fileName;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this
+    private long changeCount;
+    private long firstChangeAt;
+    private long lastChangeAt;
+    private boolean writeScheduled;
+
+    // Latest mapped snapshot, replaced after every write
+    private volatile CatalogSnapshotFile current;
+
+    // Only touched on the executor thread; set by the first task
+    private File file;
+    private File dirtyMarker;
+    private boolean markedDirty;
+
+    /**
+     * Constructor
+     * @param fileName Snapshot file name in context.getNoBackupFilesDir()
+     */
+    public CatalogSnapshotStore(DatabaseHelper dbHelper, Context context, String fileName) {
+        this.dbHelper = dbHelper;
+        this.context = context.getApplicationContext();
+        this.fileName = fileName;
+    }
+
+    /**
+     * Map the existing snapshot in the background, subscribe to change events,
+     * and write a snapshot if there is no usable one or the last one missed changes
+     */
+    public void start() {
+        // Queued before subscribing, so it runs ahead of any change event's task
+        executor.execute(() -> {
+            file = new File(context.getNoBackupFilesDir(), fileName);
+            dirtyMarker = new File(file.getPath() + ".dirty");
+            markedDirty = dirtyMarker.exists();
+            current = map();
+            if (markedDirty || current == null) {
+                writeSnapshot();
+            }
+        });
+        dbHelper.addChangeListener(this);
+    }
+
+    /**
+     * Latest snapshot, mapped in the background; does no I/O, so it is safe on
+     * the main thread at launch
+     * @return The snapshot, or null if there is no usable one yet
+     */
+    public CatalogSnapshotFile current() {
+        return current;
+    }
+
+    /**
+     * Map the snapshot file; only its header is read
+     * @return The snapshot, or null if it is missing, unreadable or outdated
+     */
+    private CatalogSnapshotFile map() {
+        try {
+            return CatalogSnapshotFile.open(file, SchemaMigrations.LATEST_VERSION);
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            Log.w(TAG, "Discarding catalog snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Record the change and schedule a rewrite if none is pending
+     */
+    @Override
+    public void onProductsChanged(int[] ids) {
+        long now = SystemClock.elapsedRealtime();
+        synchronized (this) {
+            changeCount++;
+            if (firstChangeAt == 0) {
+                firstChangeAt = now;
+            }
+            lastChangeAt = now;
+            if (writeScheduled) {
+                return;
+            }
+            writeScheduled = true;
+        }
+        executor.execute(this::markDirty);
+        executor.schedule(this::writeWhenSettled, WRITE_QUIET_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void markDirty() {
+        if (markedDirty) {
+            return;
+        }
+        try {
+            markedDirty = dirtyMarker.createNewFile() || dirtyMarker.exists();
+        } catch (IOException e) {
+            Log.w(TAG, "Cannot create " + dirtyMarker, e);
+        }
+    }
+
+    /**
+     * Write once no change has arrived for WRITE_QUIET_MS, or the first one is WRITE_MAX_DELAY_MS old
+     */
+    private void writeWhenSettled() {
+        long now = SystemClock.elapsedRealtime();
+        synchronized (this) {
+            long quietFor = now - lastChangeAt;
+            if (quietFor < WRITE_QUIET_MS && now - firstChangeAt < WRITE_MAX_DELAY_MS) {
+                executor.schedule(this::writeWhenSettled, WRITE_QUIET_MS - quietFor, TimeUnit.MILLISECONDS);
+                return;
+            }
+            firstChangeAt = 0;
+            writeScheduled = false;
+        }
+        writeSnapshot();
+    }
+
+    /**
+     * Write the whole table to a new snapshot and swap it in
+     */
+    private void writeSnapshot() {
+        long changesBefore;
+        synchronized (this) {
+            changesBefore = changeCount;
+        }
+
+        CatalogSnapshotFile.Writer writer = null;
+        try {
+            int[] ids = dbHelper.getAllProductIds();
+            writer = new CatalogSnapshotFile.Writer(file, SchemaMigrations.LATEST_VERSION, ids.length);
+            int index = 0;
+            int afterId = 0;
+            while (true) {
+                List<Product> page = dbHelper.scanProductsPage(afterId, PAGE_SIZE);
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (Product product : page) {
+                    if (index == ids.length || product.getId() != ids[index]) {
+                        Log.d(TAG, "Products changed during the snapshot, waiting for the next pass");
+                        writer.abort();
+                        return;
+                    }
+                    writer.add(product);
+                    index++;
+                }
+                afterId = page.get(page.size() - 1).getId();
+            }
+            if (index != ids.length) {
+                Log.d(TAG, "Products deleted during the snapshot, waiting for the next pass");
+                writer.abort();
+                return;
+            }
+            writer.commit();
+            current = map();
+        } catch (Exception e) {
+            Log.e(TAG, "Catalog snapshot failed", e);
+            if (writer != null) {
+                writer.abort();
+            }
+            return;
+        }
+
+        synchronized (this) {
+            if (changeCount != changesBefore) {
+                // A newer pass is already scheduled; keep the marker for it
+                return;
+            }
+        }
+        if (dirtyMarker.delete() || !dirtyMarker.exists()) {
+            markedDirty = false;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.inventoryapp.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CategoryCache Class
+ * Interned, two-way map between category names and their IDs in the categories table
+ *
+ * Categories are only ever added, so entries never go stale and the cache is
+ * not bounded: there are a handful to a few hundred of them. Names handed out
+ * are canonical instances, so products read from the database share one
+ * String per category instead of one per row.
+ *
+ * Rows read on a connection inside a transaction are returned but not
+ * cached, since the transaction that added them could still roll back.
+ * All methods are thread-safe. Queries run without the lock held, so a
+ * lookup that hits the cache never waits behind another thread's I/O.
+ */
+public class CategoryCache {
+    public static final int NO_CATEGORY = -1;
+
+    private final DatabaseHelper dbHelper;
+    private final Map<String, Integer> idsByName = new HashMap<>();
+    private final Map<Integer, String> namesById = new HashMap<>();
+    private boolean loaded;
+    // Bumped by invalidate, so a load that raced with it is not kept
+    private int generation;
+
+    /**
+     * Constructor
+     */
+    CategoryCache(DatabaseHelper dbHelper) {
+        this.dbHelper = dbHelper;
+    }
+
+    /**
+     * ID of a category
+     * @param name Category name, compared exactly
+     * @return The ID, or NO_CATEGORY if no product has ever used this category
+     */
+    public int getId(String name) {
+        ensureLoaded();
+        synchronized (this) {
+            Integer id = idsByName.get(name);
+            if (id != null) {
+                return id;
+            }
+        }
+
+        // Added since the cache was loaded
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+        try {
+            cursor = db.query("categories", new String[]{"id"}, "name = ?", new String[]{name},
+                    null, null, null);
+            if (cursor != null && cursor.moveToFirst()) {
+                int id = cursor.getInt(0);
+                remember(db, id, name);
+                return id;
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return NO_CATEGORY;
+    }
+
+    /**
+     * Name of a category
+     * @param id Category ID
+     * @return The interned name, or null if the ID is unknown
+     */
+    public String getName(int id) {
+        ensureLoaded();
+        synchronized (this) {
+            String name = namesById.get(id);
+            if (name != null) {
+                return name;
+            }
+        }
+
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+        try {
+            cursor = db.query("categories", new String[]{"name"}, "id = ?", new String[]{String.valueOf(id)},
+                    null, null, null);
+            if (cursor != null && cursor.moveToFirst()) {
+                return remember(db, id, cursor.getString(0));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Canonical instance of a category name
+     * Unknown names are returned unchanged
+     */
+    public String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        ensureLoaded();
+        synchronized (this) {
+            Integer id = idsByName.get(name);
+            return id != null ? namesById.get(id) : name;
+        }
+    }
+
+    /**
+     * Drop all entries; the next lookup reloads the table
+     */
+    public synchronized void invalidate() {
+        idsByName.clear();
+        namesById.clear();
+        loaded = false;
+        generation++;
+    }
+
+    /**
+     * Load every category the first time the cache is used
+     * The table is read without the lock; threads that arrive together may each read it,
+     * which is cheap for a table this small
+     */
+    private void ensureLoaded() {
+        int loadGeneration;
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            loadGeneration = generation;
+        }
+
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        if (db.inTransaction()) {
+            // Nothing read here could be kept; lookups query the row they need instead
+            return;
+        }
+        Map<Integer, String> rows = new HashMap<>();
+        Cursor cursor = null;
+        try {
+            cursor = db.query("categories", new String[]{"id", "name"}, null, null, null, null, null);
+            while (cursor != null && cursor.moveToNext()) {
+                rows.put(cursor.getInt(0), cursor.getString(1));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        synchronized (this) {
+            if (loadGeneration != generation) {
+                return;
+            }
+            for (Map.Entry<Integer, String> row : rows.entrySet()) {
+                remember(db, row.getKey(), row.getValue());
+            }
+            loaded = true;
+        }
+    }
+
+    /**
+     * Cache a committed row
+     * @return The canonical name
+     */
+    private synchronized String remember(SQLiteDatabase db, int id, String name) {
+        String known = namesById.get(id);
+        if (known != null) {
+            return known;
+        }
+        if (!db.inTransaction()) {
+            namesById.put(id, name);
+            idsByName.put(name, id);
+        }
+        return name;
+    }
+}
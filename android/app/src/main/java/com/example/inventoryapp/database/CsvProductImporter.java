@@ -0,0 +1,202 @@
+package com.example.inventoryapp.database;
+
+import com.example.inventoryapp.model.Money;
+import com.example.inventoryapp.model.Product;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * CsvProductImporter Class
+ * Streams a supplier catalogue in CSV form into the database
+ * Reads one line at a time and feeds DatabaseHelper.bulkInsert, so the
+ * whole file is never held in memory
+ *
+ * Expected columns: name, category, price, quantity
+ * A header row starting with "name" is skipped, as are malformed rows
+ */
+public class CsvProductImporter {
+    private static final int FIELD_COUNT = 4;
+
+    private final DatabaseHelper dbHelper;
+    private final int batchSize;
+    private int skippedRows;
+
+    /**
+     * Constructor
+     */
+    public CsvProductImporter(DatabaseHelper dbHelper) {
+        this(dbHelper, DatabaseHelper.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor with a custom transaction batch size
+     */
+    public CsvProductImporter(DatabaseHelper dbHelper, int batchSize) {
+        this.dbHelper = dbHelper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import every valid row from the reader
+     * @param reader CSV source, closed when the import finishes
+     * @param listener Progress callback, may be null
+     * @return Number of products inserted
+     * @throws IOException if reading the source fails
+     */
+    public int importFrom(Reader reader, DatabaseHelper.BulkProgressListener listener) throws IOException {
+        skippedRows = 0;
+        try (BufferedReader in = new BufferedReader(reader)) {
+            return dbHelper.bulkInsert(() -> new RowIterator(in), batchSize, listener);
+        } catch (ReadFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Number of rows skipped by the last import because they could not be parsed
+     */
+    public int getSkippedRowCount() {
+        return skippedRows;
+    }
+
+    /**
+     * Split one CSV line into fields
+     * Supports quoted fields with doubled quotes as escapes
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>(FIELD_COUNT);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Convert parsed fields to a Product
+     * @return Product, or null if the row is invalid
+     */
+    private static Product toProduct(List<String> fields) {
+        if (fields.size() < FIELD_COUNT) {
+            return null;
+        }
+
+        String name = fields.get(0);
+        String category = fields.get(1);
+        if (name.isEmpty() || category.isEmpty()) {
+            return null;
+        }
+
+        try {
+            long priceCents = Money.parseCents(fields.get(2));
+            int quantity = Integer.parseInt(fields.get(3));
+            if (priceCents < 0 || quantity < 0) {
+                return null;
+            }
+            return new Product(name, category, priceCents, quantity);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lazily reads the next valid product from the underlying reader
+     */
+    private class RowIterator implements Iterator<Product> {
+        private final BufferedReader in;
+        private Product next;
+        private boolean firstLine = true;
+
+        RowIterator(BufferedReader in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Product next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Product product = next;
+            next = null;
+            return product;
+        }
+
+        private Product readNext() {
+            try {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+
+                    List<String> fields = parseLine(line);
+                    if (firstLine) {
+                        firstLine = false;
+                        if ("name".equalsIgnoreCase(fields.get(0))) {
+                            continue;
+                        }
+                    }
+
+                    Product product = toProduct(fields);
+                    if (product != null) {
+                        return product;
+                    }
+                    skippedRows++;
+                }
+                return null;
+            } catch (IOException e) {
+                throw new ReadFailure(e);
+            }
+        }
+    }
+
+    /**
+     * Carries an IOException out of the iterator used by bulkInsert
+     */
+    private static class ReadFailure extends RuntimeException {
+        ReadFailure(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
@@ -3,63 +3,411 @@ package com.example.inventoryapp.database;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.sqlite.SQLiteConstraintException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDoneException;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
 
+import com.example.inventoryapp.metrics.MetricsRegistry;
+import com.example.inventoryapp.model.CategorySummary;
+import com.example.inventoryapp.model.InventorySummary;
+import com.example.inventoryapp.model.Money;
 import com.example.inventoryapp.model.Product;
+import com.example.inventoryapp.model.ProductSnapshot;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * DatabaseHelper Class
  * Handles all SQLite database operations for products
  * Implements CRUD operations: Create, Read, Update, Delete
+ *
+ * A single app-scoped instance is shared through {@link #getInstance(Context)}.
+ * The underlying connection is opened once, runs in write-ahead logging mode so
+ * readers do not block the writer, and is never closed by individual operations.
  */
 public class DatabaseHelper extends SQLiteOpenHelper {
     // Database constants
     private static final String DATABASE_NAME = "inventory.db";
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = SchemaMigrations.LATEST_VERSION;
 
     // Table and column constants
     private static final String TABLE_PRODUCTS = "products";
     private static final String COLUMN_ID = "id";
     private static final String COLUMN_NAME = "name";
     private static final String COLUMN_CATEGORY = "category";
+    // Legacy REAL price, still written so older readers see a value
     private static final String COLUMN_PRICE = "price";
+    private static final String COLUMN_PRICE_CENTS = "price_cents";
     private static final String COLUMN_QUANTITY = "quantity";
+    private static final String COLUMN_REORDER_LEVEL = "reorder_level";
+    // Dictionary key into the categories table, kept in step with the category text by triggers
+    private static final String COLUMN_CATEGORY_ID = "category_id";
+    // Barcode, unique when set (see SchemaMigrations)
+    private static final String COLUMN_SKU = "sku";
+
+    private static final String TABLE_CATEGORIES = "categories";
+
+    // Default reorder levels for newly added products, per category
+    private static final String TABLE_CATEGORY_THRESHOLDS = "category_thresholds";
+
+    // Full-text index over name and category, kept in sync by triggers (see SchemaMigrations)
+    private static final String TABLE_PRODUCTS_FTS = "products_fts";
+
+    // Single-row summary table maintained by triggers on products (see SchemaMigrations)
+    private static final String TABLE_SUMMARY = "inventory_summary";
+    private static final String COLUMN_SKU_COUNT = "sku_count";
+    private static final String COLUMN_LOW_STOCK_COUNT = "low_stock_count";
+    private static final String COLUMN_TOTAL_UNITS = "total_units";
+    private static final String COLUMN_TOTAL_VALUE_CENTS = "total_value_cents";
+
+    private static final String[] PRODUCT_COLUMNS =
+            {COLUMN_ID, COLUMN_NAME, COLUMN_CATEGORY, priceCentsExpression(), COLUMN_QUANTITY, COLUMN_REORDER_LEVEL,
+                    COLUMN_SKU};
+
+    // Product columns prefixed with the table name, for joins
+    private static final String PRODUCT_COLUMNS_QUALIFIED = qualify(TABLE_PRODUCTS, PRODUCT_COLUMNS);
+
+    // Connection tuning
+    public static final int DEFAULT_PAGE_CACHE_KB = 2048;
+
+    // Bulk import tuning
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    // SQLite allows at most 999 bound arguments per statement on older devices
+    private static final int MAX_BIND_ARGS = 500;
+
+    // Returned by adjustQuantityBySku when no product has the SKU
+    public static final int SKU_NOT_FOUND = -1;
+
+    // New products take their category's reorder level when one is set, otherwise their own
+    private static final String SQL_REORDER_LEVEL_FOR_INSERT = "COALESCE((SELECT " + COLUMN_REORDER_LEVEL +
+            " FROM " + TABLE_CATEGORY_THRESHOLDS + " WHERE " + COLUMN_CATEGORY + " = ?2), ?5)";
+    // Known categories are resolved here; a trigger adds new ones (see SchemaMigrations)
+    private static final String SQL_CATEGORY_ID_FOR_INSERT = "(SELECT " + COLUMN_ID + " FROM " + TABLE_CATEGORIES +
+            " WHERE " + COLUMN_NAME + " = ?2)";
+    // ?3 is the price in cents; the legacy REAL column is derived from it. ?7 is the SKU
+    private static final String SQL_INSERT_PRODUCT = "INSERT INTO " + TABLE_PRODUCTS + " (" +
+            COLUMN_NAME + ", " + COLUMN_CATEGORY + ", " + COLUMN_PRICE + ", " + COLUMN_PRICE_CENTS + ", " +
+            COLUMN_QUANTITY + ", " + COLUMN_REORDER_LEVEL + ", " + COLUMN_CATEGORY_ID + ", " + COLUMN_SKU +
+            ") VALUES (?1, ?2, ?3 / 100.0, ?3, ?4, " +
+            SQL_REORDER_LEVEL_FOR_INSERT + ", " + SQL_CATEGORY_ID_FOR_INSERT + ", ?7)";
+    private static final String SQL_INSERT_PRODUCT_WITH_ID = "INSERT INTO " + TABLE_PRODUCTS + " (" +
+            COLUMN_NAME + ", " + COLUMN_CATEGORY + ", " + COLUMN_PRICE + ", " + COLUMN_PRICE_CENTS + ", " +
+            COLUMN_QUANTITY + ", " + COLUMN_REORDER_LEVEL + ", " + COLUMN_CATEGORY_ID + ", " + COLUMN_ID + ", " +
+            COLUMN_SKU + ") VALUES (?1, ?2, ?3 / 100.0, ?3, ?4, " +
+            SQL_REORDER_LEVEL_FOR_INSERT + ", " + SQL_CATEGORY_ID_FOR_INSERT + ", ?6, ?7)";
+
+    // Per-category totals grouped from idx_products_category_id without reading the table.
+    // Rows the category backfill has not reached yet are grouped by their text instead.
+    private static final String SQL_CATEGORY_TOTALS = "SELECT " + COLUMN_CATEGORY_ID + ", COUNT(*), " +
+            "SUM(" + COLUMN_QUANTITY + " < " + COLUMN_REORDER_LEVEL + "), SUM(" + COLUMN_QUANTITY + "), " +
+            "SUM(" + priceCentsExpression() + " * " + COLUMN_QUANTITY + ") FROM " + TABLE_PRODUCTS +
+            " WHERE " + COLUMN_CATEGORY_ID + " IS NOT NULL GROUP BY " + COLUMN_CATEGORY_ID;
+    private static final String SQL_CATEGORY_TOTALS_UNRESOLVED = "SELECT " + COLUMN_CATEGORY + ", COUNT(*), " +
+            "SUM(" + COLUMN_QUANTITY + " < " + COLUMN_REORDER_LEVEL + "), SUM(" + COLUMN_QUANTITY + "), " +
+            "SUM(" + priceCentsExpression() + " * " + COLUMN_QUANTITY + ") FROM " + TABLE_PRODUCTS +
+            " WHERE " + COLUMN_CATEGORY_ID + " IS NULL GROUP BY " + COLUMN_CATEGORY;
+    // Imported rows rarely carry a SKU, so a missing one keeps the stored SKU
+    private static final String SQL_UPDATE_PRODUCT = "UPDATE " + TABLE_PRODUCTS + " SET " +
+            COLUMN_NAME + " = ?1, " + COLUMN_CATEGORY + " = ?2, " + COLUMN_PRICE + " = ?3 / 100.0, " +
+            COLUMN_PRICE_CENTS + " = ?3, " + COLUMN_QUANTITY + " = ?4, " +
+            COLUMN_SKU + " = COALESCE(?6, " + COLUMN_SKU + ") WHERE " + COLUMN_ID + " = ?5";
+
+    // Stock changes are applied relative to the stored quantity, so concurrent adjustments never overwrite each other
+    private static final String SQL_ADJUST_QUANTITY = "UPDATE " + TABLE_PRODUCTS + " SET " +
+            COLUMN_QUANTITY + " = " + COLUMN_QUANTITY + " + ?1 WHERE " + COLUMN_ID + " = ?2";
+    private static final String SQL_ADJUST_QUANTITY_GUARDED = SQL_ADJUST_QUANTITY +
+            " AND " + COLUMN_QUANTITY + " + ?1 >= 0";
+    private static final String SQL_UPDATE_DETAILS_ADJUST_QUANTITY = "UPDATE " + TABLE_PRODUCTS + " SET " +
+            COLUMN_NAME + " = ?1, " + COLUMN_CATEGORY + " = ?2, " + COLUMN_PRICE + " = ?3 / 100.0, " +
+            COLUMN_PRICE_CENTS + " = ?3, " + COLUMN_QUANTITY + " = " + COLUMN_QUANTITY + " + ?4, " +
+            COLUMN_SKU + " = ?6 WHERE " + COLUMN_ID + " = ?5";
+    // Only removing stock is guarded, so a row already below zero can still be edited or restocked
+    private static final String SQL_UPDATE_DETAILS_ADJUST_QUANTITY_GUARDED = SQL_UPDATE_DETAILS_ADJUST_QUANTITY +
+            " AND " + COLUMN_QUANTITY + " + ?4 >= 0";
+
+    // Scanner path: one probe of the SKU index, on a statement compiled once
+    private static final String SQL_ID_FOR_SKU = "SELECT " + COLUMN_ID + " FROM " + TABLE_PRODUCTS +
+            " WHERE " + COLUMN_SKU + " = ?";
+    // Matching the SKU as well turns a stale cached ID into a miss rather than a change to another product
+    private static final String SQL_ADJUST_QUANTITY_FOR_SKU = SQL_ADJUST_QUANTITY +
+            " AND " + COLUMN_SKU + " = ?3";
+    private static final String SQL_ADJUST_QUANTITY_FOR_SKU_GUARDED = SQL_ADJUST_QUANTITY_FOR_SKU +
+            " AND " + COLUMN_QUANTITY + " + ?1 >= 0";
+
+    // The WHERE clause must stay identical to idx_products_low_stock's, or the planner cannot use the index
+    static final String SQL_LOW_STOCK_PRODUCTS = "SELECT " + PRODUCT_COLUMNS_QUALIFIED + " FROM " + TABLE_PRODUCTS +
+            " WHERE " + lowStockExpression("");
+
+    private static final Comparator<Product> BY_ID = new Comparator<Product>() {
+        @Override
+        public int compare(Product a, Product b) {
+            return Integer.compare(a.getId(), b.getId());
+        }
+    };
+
+    private static final Comparator<CategorySummary> BY_VALUE_DESCENDING = new Comparator<CategorySummary>() {
+        @Override
+        public int compare(CategorySummary a, CategorySummary b) {
+            return Long.compare(b.getTotalValueCents(), a.getTotalValueCents());
+        }
+    };
+
+    private static DatabaseHelper instance;
+
+    private volatile int pageCacheKb = DEFAULT_PAGE_CACHE_KB;
+
+    // Recently read products, kept coherent by every write method below
+    private final ProductCache productCache = new ProductCache(ProductCache.DEFAULT_MAX_ENTRIES);
+
+    // Stock movement history, written by triggers on products
+    private final StockLedger stockLedger = new StockLedger(this);
+
+    // Dirty-row tracking and watermarks for sync with the backend
+    private final SyncStore syncStore = new SyncStore(this);
+
+    // Category names and IDs; names in returned products are interned through it
+    private final CategoryCache categoryCache = new CategoryCache(this);
+
+    // IDs of recently scanned SKUs; checked against the product on every use
+    private final SkuCache skuCache = new SkuCache(SkuCache.DEFAULT_MAX_ENTRIES);
+
+    // SKU to ID lookup, compiled on first use and kept for the life of the connection
+    private final Object skuLookupLock = new Object();
+    private SQLiteStatement skuLookup;
+
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    // Per-operation latency and row counts, reported through MetricsRegistry
+    private final DatabaseMetrics metrics = new DatabaseMetrics(MetricsRegistry.getInstance(), productCache);
+
+    /**
+     * Interface for reporting bulk import progress
+     * Called once after each committed batch
+     */
+    public interface BulkProgressListener {
+        void onProgress(int rowsProcessed);
+    }
+
+    /**
+     * Interface for observing product writes
+     * Called on the writing thread once the change is committed, so it must return quickly
+     */
+    public interface ChangeListener {
+        /**
+         * @param ids IDs of the products inserted, updated or deleted,
+         *            or null if any product may have changed
+         */
+        void onProductsChanged(int[] ids);
+    }
+
+    /**
+     * Get the shared app-scoped helper
+     * Uses the application context so no activity is leaked
+     * @param context Any context
+     * @return The single DatabaseHelper instance
+     */
+    public static synchronized DatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new DatabaseHelper(context.getApplicationContext(), DATABASE_NAME);
+        }
+        return instance;
+    }
 
     /**
      * Constructor
+     * Not public so every caller shares the same long-lived connection;
+     * tests open their own helper on a separate file
+     * @param name Database file name
+     */
+    DatabaseHelper(Context context, String name) {
+        super(context, name, null, DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    /**
+     * Called each time the connection is opened, before onCreate/onUpgrade
+     * Applies connection-level pragmas
+     */
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        metrics.connectionOpens.incrementAndGet();
+        // WAL only needs a full sync at checkpoints
+        db.execSQL("PRAGMA synchronous = NORMAL");
+        applyPageCacheSize(db, pageCacheKb);
+    }
+
+    /**
+     * Change the page cache size of the primary connection
+     * Takes effect immediately if the database is already open
+     * @param kilobytes Cache size in KiB
+     */
+    public void setPageCacheSize(int kilobytes) {
+        if (kilobytes <= 0) {
+            throw new IllegalArgumentException("Page cache size must be positive");
+        }
+        pageCacheKb = kilobytes;
+        applyPageCacheSize(getWritableDatabase(), kilobytes);
+    }
+
+    /**
+     * Product cache in front of the by-ID reads, for sizing and statistics
+     */
+    public ProductCache getProductCache() {
+        return productCache;
+    }
+
+    /**
+     * Stock movement ledger, for history queries and maintenance
      */
-    public DatabaseHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    public StockLedger getStockLedger() {
+        return stockLedger;
+    }
+
+    /**
+     * Category dictionary, for resolving names and IDs
+     */
+    public CategoryCache getCategoryCache() {
+        return categoryCache;
+    }
+
+    /**
+     * Local sync state, for the sync engine
+     */
+    public SyncStore getSyncStore() {
+        return syncStore;
+    }
+
+    /**
+     * Register a listener for product writes
+     */
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Tell listeners that the given products changed
+     */
+    void publishChange(int... ids) {
+        for (ChangeListener listener : changeListeners) {
+            listener.onProductsChanged(ids);
+        }
+    }
+
+    /**
+     * Tell listeners that any product may have changed
+     */
+    void publishChangeAll() {
+        publishChange((int[]) null);
+    }
+
+    /**
+     * Negative cache_size values are interpreted by SQLite as KiB rather than pages
+     */
+    private static void applyPageCacheSize(SQLiteDatabase db, int kilobytes) {
+        db.execSQL("PRAGMA cache_size = -" + kilobytes);
     }
 
     /**
      * Called when database is created for the first time
-     * Creates the products table with all necessary columns
+     * Builds the original schema and replays every migration step, so a new
+     * install ends with exactly the schema an upgraded install has
      */
     @Override
     public void onCreate(SQLiteDatabase db) {
-        String createTableSQL = "CREATE TABLE " + TABLE_PRODUCTS + " (" +
-                COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                COLUMN_NAME + " TEXT NOT NULL, " +
-                COLUMN_CATEGORY + " TEXT NOT NULL, " +
-                COLUMN_PRICE + " REAL NOT NULL, " +
-                COLUMN_QUANTITY + " INTEGER NOT NULL)";
-
-        db.execSQL(createTableSQL);
+        SchemaMigrations.createVersion1(db);
+        SchemaMigrations.migrate(db, 1, DATABASE_VERSION);
     }
 
     /**
      * Called when database needs to be upgraded
-     * Currently drops old table and recreates it
+     * Applies each schema step after oldVersion in order, keeping existing data.
+     * Slow row rewrites are left to runBackfillChunk
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_PRODUCTS);
-        onCreate(db);
+        SchemaMigrations.migrate(db, oldVersion, newVersion);
+    }
+
+    /**
+     * Run one chunk of the oldest pending backfill in its own transaction
+     * Progress is committed with the chunk, so a backfill that is interrupted
+     * resumes where it stopped. Short transactions let other writes run between chunks.
+     * @param chunkSize Maximum rows per chunk
+     * @return true if backfill work remains
+     */
+    public boolean runBackfillChunk(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransactionNonExclusive();
+
+        try {
+            String name = null;
+            long lastId = 0;
+            Cursor cursor = null;
+            try {
+                cursor = db.query(SchemaMigrations.TABLE_BACKFILLS,
+                        new String[]{SchemaMigrations.COLUMN_BACKFILL_NAME, SchemaMigrations.COLUMN_BACKFILL_LAST_ID},
+                        null, null, null, null, "rowid", "1");
+                if (cursor != null && cursor.moveToFirst()) {
+                    name = cursor.getString(0);
+                    lastId = cursor.getLong(1);
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+
+            if (name == null) {
+                db.setTransactionSuccessful();
+                return false;
+            }
+
+            String[] nameArg = {name};
+            SchemaMigrations.Backfill backfill = SchemaMigrations.findBackfill(name);
+            long processedTo = backfill == null ? -1 : backfill.runChunk(db, lastId, chunkSize);
+            if (processedTo < 0) {
+                // Finished, or unknown to this version
+                db.delete(SchemaMigrations.TABLE_BACKFILLS,
+                        SchemaMigrations.COLUMN_BACKFILL_NAME + " = ?", nameArg);
+            } else {
+                ContentValues progress = new ContentValues();
+                progress.put(SchemaMigrations.COLUMN_BACKFILL_LAST_ID, processedTo);
+                db.update(SchemaMigrations.TABLE_BACKFILLS, progress,
+                        SchemaMigrations.COLUMN_BACKFILL_NAME + " = ?", nameArg);
+            }
+
+            db.setTransactionSuccessful();
+            return true;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * SQL expression that is 1 for a low stock row and 0 otherwise
+     */
+    private static String lowStockExpression(String row) {
+        return row + COLUMN_QUANTITY + " < " + row + COLUMN_REORDER_LEVEL;
     }
 
     /**
@@ -68,150 +416,678 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return row ID of inserted product, or -1 if insertion failed
      */
     public long addProduct(Product product) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getWritableDatabase();
+            SQLiteStatement insert = db.compileStatement(SQL_INSERT_PRODUCT);
 
-        values.put(COLUMN_NAME, product.getName());
-        values.put(COLUMN_CATEGORY, product.getCategory());
-        values.put(COLUMN_PRICE, product.getPrice());
-        values.put(COLUMN_QUANTITY, product.getQuantity());
+            try {
+                bindProduct(insert, product);
+                insert.bindLong(5, product.getReorderLevel());
+                bindSku(insert, 7, product.getSku());
+                long id;
+                try {
+                    id = insert.executeInsert();
+                } catch (SQLiteConstraintException e) {
+                    // Another product already has the SKU
+                    return -1;
+                }
+                if (id > 0) {
+                    publishChange((int) id);
+                }
+                return id;
+            } finally {
+                insert.close();
+            }
+        } finally {
+            metrics.add.recordSince(startNanos);
+        }
+    }
 
-        long result = db.insert(TABLE_PRODUCTS, null, values);
-        db.close();
-        return result;
+    /**
+     * Insert many products using one compiled statement
+     * @param products Products to insert (IDs are ignored)
+     * @return Number of rows inserted
+     */
+    public int bulkInsert(Iterable<Product> products) {
+        return bulkInsert(products, DEFAULT_BATCH_SIZE, null);
+    }
+
+    /**
+     * Insert many products using one compiled statement
+     * Rows are committed in transactions of batchSize rows
+     * @param products Products to insert (IDs are ignored)
+     * @param batchSize Rows per transaction
+     * @param listener Progress callback, may be null
+     * @return Number of rows inserted
+     */
+    public int bulkInsert(Iterable<Product> products, int batchSize, BulkProgressListener listener) {
+        return runBatched(products, batchSize, listener, false);
+    }
+
+    /**
+     * Insert or update many products using compiled statements
+     * Products with an existing ID are updated in place, all others are inserted
+     * @param products Products to insert or update
+     * @return Number of rows inserted or updated
+     */
+    public int bulkUpsert(Iterable<Product> products) {
+        return bulkUpsert(products, DEFAULT_BATCH_SIZE, null);
+    }
+
+    /**
+     * Insert or update many products using compiled statements
+     * Rows are committed in transactions of batchSize rows
+     * @param products Products to insert or update
+     * @param batchSize Rows per transaction
+     * @param listener Progress callback, may be null
+     * @return Number of rows inserted or updated
+     */
+    public int bulkUpsert(Iterable<Product> products, int batchSize, BulkProgressListener listener) {
+        return runBatched(products, batchSize, listener, true);
+    }
+
+    /**
+     * Shared loop for bulkInsert and bulkUpsert
+     * Statements are compiled once and rebound for every row
+     */
+    private int runBatched(Iterable<Product> products, int batchSize,
+                           BulkProgressListener listener, boolean upsert) {
+        long startNanos = System.nanoTime();
+        try {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Batch size must be positive");
+            }
+
+            SQLiteDatabase db = this.getWritableDatabase();
+            SQLiteStatement insert = db.compileStatement(SQL_INSERT_PRODUCT);
+            SQLiteStatement insertWithId = upsert ? db.compileStatement(SQL_INSERT_PRODUCT_WITH_ID) : null;
+            SQLiteStatement update = upsert ? db.compileStatement(SQL_UPDATE_PRODUCT) : null;
+            int processed = 0;
+            int inBatch = 0;
+            // IDs written in the open batch, published once it commits
+            int[] batchIds = new int[Math.min(batchSize, DEFAULT_BATCH_SIZE)];
+
+            try {
+                db.beginTransactionNonExclusive();
+                try {
+                    for (Product product : products) {
+                        long id;
+                        if (upsert && product.getId() > 0) {
+                            id = product.getId();
+                            bindProduct(update, product);
+                            update.bindLong(5, id);
+                            bindSku(update, 6, product.getSku());
+                            if (update.executeUpdateDelete() == 0) {
+                                bindProduct(insertWithId, product);
+                                insertWithId.bindLong(5, product.getReorderLevel());
+                                insertWithId.bindLong(6, id);
+                                bindSku(insertWithId, 7, product.getSku());
+                                insertWithId.executeInsert();
+                            }
+                        } else {
+                            bindProduct(insert, product);
+                            insert.bindLong(5, product.getReorderLevel());
+                            bindSku(insert, 7, product.getSku());
+                            id = insert.executeInsert();
+                        }
+                        processed++;
+
+                        if (inBatch == batchIds.length) {
+                            batchIds = Arrays.copyOf(batchIds, inBatch * 2);
+                        }
+                        batchIds[inBatch] = (int) id;
+
+                        // Commit and start a new transaction once the batch is full
+                        if (++inBatch == batchSize) {
+                            db.setTransactionSuccessful();
+                            db.endTransaction();
+                            productCache.invalidateAll();
+                            publishChange(Arrays.copyOf(batchIds, inBatch));
+                            inBatch = 0;
+                            if (listener != null) {
+                                listener.onProgress(processed);
+                            }
+                            db.beginTransactionNonExclusive();
+                        }
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    // Rolls the open batch back if the loop threw
+                    db.endTransaction();
+                    productCache.invalidateAll();
+                }
+                // Only reached once the last batch has committed
+                if (inBatch > 0) {
+                    publishChange(Arrays.copyOf(batchIds, inBatch));
+                }
+            } finally {
+                insert.close();
+                if (insertWithId != null) {
+                    insertWithId.close();
+                }
+                if (update != null) {
+                    update.close();
+                }
+            }
+
+            if (listener != null && inBatch > 0) {
+                listener.onProgress(processed);
+            }
+            return processed;
+        } finally {
+            metrics.bulkWrite.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Bind the common product columns to positions 1-4 of a statement
+     * Position 3 is the price in cents
+     */
+    private static void bindProduct(SQLiteStatement statement, Product product) {
+        statement.bindString(1, product.getName());
+        statement.bindString(2, product.getCategory());
+        statement.bindLong(3, product.getPriceCents());
+        statement.bindLong(4, product.getQuantity());
+    }
+
+    /**
+     * Bind a SKU, or NULL when the product has none
+     */
+    private static void bindSku(SQLiteStatement statement, int index, String sku) {
+        if (sku == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, sku);
+        }
     }
 
     /**
      * Retrieve a product by ID
+     * Served from the product cache when possible
      * @param id Product ID
      * @return Product object if found, null otherwise
      */
     public Product getProductById(int id) {
+        long startNanos = System.nanoTime();
+        try {
+            return findProductById(id);
+        } finally {
+            metrics.get.recordSince(startNanos);
+        }
+    }
+
+    private Product findProductById(int id) {
+        Product product = productCache.get(id);
+        if (product != null) {
+            metrics.rows(0, 1);
+            return product;
+        }
+
+        long cacheVersion = productCache.version();
         SQLiteDatabase db = this.getReadableDatabase();
         Cursor cursor = null;
-        Product product = null;
 
         try {
             cursor = db.query(TABLE_PRODUCTS,
-                    new String[]{COLUMN_ID, COLUMN_NAME, COLUMN_CATEGORY, COLUMN_PRICE, COLUMN_QUANTITY},
+                    PRODUCT_COLUMNS,
                     COLUMN_ID + " = ?",
                     new String[]{String.valueOf(id)},
                     null, null, null);
 
             if (cursor != null && cursor.moveToFirst()) {
-                product = new Product(
-                        cursor.getInt(0),
-                        cursor.getString(1),
-                        cursor.getString(2),
-                        cursor.getDouble(3),
-                        cursor.getInt(4)
-                );
+                product = cursorToProduct(cursor);
+                productCache.putIfUnchanged(product, cacheVersion);
+                metrics.rows(1, 1);
             }
         } finally {
             if (cursor != null) {
                 cursor.close();
             }
-            db.close();
         }
 
         return product;
     }
 
+    /**
+     * Retrieve a product by its SKU, for barcode scans
+     * A recently scanned SKU maps straight to its ID and, usually, to the
+     * product cache; otherwise one probe of the unique SKU index finds the ID
+     * @param sku SKU as scanned
+     * @return Product with that SKU, or null if there is none
+     */
+    public Product getProductBySku(String sku) {
+        long startNanos = System.nanoTime();
+        try {
+            Integer cachedId = skuCache.get(sku);
+            if (cachedId != null) {
+                Product product = findProductById(cachedId);
+                if (product != null && sku.equals(product.getSku())) {
+                    return product;
+                }
+                // The product was deleted or given another SKU since
+                skuCache.remove(sku);
+            }
+
+            int id = lookupSkuId(sku);
+            if (id == SKU_NOT_FOUND) {
+                return null;
+            }
+            Product product = findProductById(id);
+            if (product == null || !sku.equals(product.getSku())) {
+                return null;
+            }
+            skuCache.put(sku, id);
+            return product;
+        } finally {
+            metrics.getBySku.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Find a product ID through the SKU index, bypassing the SKU cache
+     * @return The ID, or SKU_NOT_FOUND
+     */
+    private int lookupSkuId(String sku) {
+        SQLiteDatabase db = this.getReadableDatabase();
+        synchronized (skuLookupLock) {
+            if (skuLookup == null) {
+                skuLookup = db.compileStatement(SQL_ID_FOR_SKU);
+            }
+            skuLookup.bindString(1, sku);
+            try {
+                return (int) skuLookup.simpleQueryForLong();
+            } catch (SQLiteDoneException e) {
+                return SKU_NOT_FOUND;
+            } finally {
+                skuLookup.clearBindings();
+            }
+        }
+    }
+
     /**
      * Retrieve all products from the database
      * @return List of all products
      */
     public List<Product> getAllProducts() {
-        List<Product> products = new ArrayList<>();
+        long startNanos = System.nanoTime();
+        try {
+            List<Product> products = new ArrayList<>();
+            SQLiteDatabase db = this.getReadableDatabase();
+            Cursor cursor = null;
+
+            try {
+                cursor = db.query(TABLE_PRODUCTS,
+                        PRODUCT_COLUMNS,
+                        null, null, null, null, null);
+
+                if (cursor != null && cursor.moveToFirst()) {
+                    do {
+                        products.add(cursorToProduct(cursor));
+                    } while (cursor.moveToNext());
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+
+            metrics.rows(products.size(), products.size());
+            return products;
+        } finally {
+            metrics.getAll.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Retrieve the IDs of all products in ascending order
+     * Reads only the primary key, so it is far cheaper than getAllProducts
+     * @return Sorted array of product IDs
+     */
+    public int[] getAllProductIds() {
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getReadableDatabase();
+            Cursor cursor = null;
+            int[] ids = new int[0];
+
+            try {
+                cursor = db.rawQuery("SELECT " + COLUMN_ID + " FROM " + TABLE_PRODUCTS +
+                        " ORDER BY " + COLUMN_ID, null);
+                if (cursor != null) {
+                    ids = new int[cursor.getCount()];
+                    int i = 0;
+                    while (cursor.moveToNext() && i < ids.length) {
+                        ids[i++] = cursor.getInt(0);
+                    }
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+
+            metrics.rows(ids.length, ids.length);
+            return ids;
+        } finally {
+            metrics.getAll.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Retrieve one page of products using keyset pagination
+     * @param afterId Only products with an ID greater than this are returned (0 for the first page)
+     * @param limit Maximum number of products in the page
+     * @return Products ordered by ID
+     */
+    public List<Product> getProductsPage(int afterId, int limit) {
+        long startNanos = System.nanoTime();
+        try {
+            return queryProductsPage(afterId, limit, true);
+        } finally {
+            metrics.getPage.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Like getProductsPage, but leaves the product cache alone
+     * For whole-table passes that would otherwise evict every hot entry
+     */
+    List<Product> scanProductsPage(int afterId, int limit) {
+        long startNanos = System.nanoTime();
+        try {
+            return queryProductsPage(afterId, limit, false);
+        } finally {
+            metrics.getPage.recordSince(startNanos);
+        }
+    }
+
+    private List<Product> queryProductsPage(int afterId, int limit, boolean cache) {
+        List<Product> products = new ArrayList<>(limit);
+        long cacheVersion = productCache.version();
         SQLiteDatabase db = this.getReadableDatabase();
         Cursor cursor = null;
 
         try {
             cursor = db.query(TABLE_PRODUCTS,
-                    new String[]{COLUMN_ID, COLUMN_NAME, COLUMN_CATEGORY, COLUMN_PRICE, COLUMN_QUANTITY},
-                    null, null, null, null, null);
+                    PRODUCT_COLUMNS,
+                    COLUMN_ID + " > ?",
+                    new String[]{String.valueOf(afterId)},
+                    null, null, COLUMN_ID, String.valueOf(limit));
 
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    Product product = new Product(
-                            cursor.getInt(0),
-                            cursor.getString(1),
-                            cursor.getString(2),
-                            cursor.getDouble(3),
-                            cursor.getInt(4)
-                    );
-                    products.add(product);
-                } while (cursor.moveToNext());
+            while (cursor != null && cursor.moveToNext()) {
+                Product product = cursorToProduct(cursor);
+                if (cache) {
+                    productCache.putIfUnchanged(product, cacheVersion);
+                }
+                products.add(product);
             }
         } finally {
             if (cursor != null) {
                 cursor.close();
             }
-            db.close();
         }
 
+        metrics.rows(products.size(), products.size());
         return products;
     }
 
     /**
-     * Get all products with low stock (quantity < 5)
+     * Retrieve the products with the given IDs
+     * Cached products are not queried again; missing IDs are skipped and
+     * queries are split to stay under SQLite's bind limit
+     * @param ids Product IDs to look up
+     * @return Products ordered by ID
+     */
+    public List<Product> getProductsByIds(int[] ids) {
+        long startNanos = System.nanoTime();
+        try {
+            List<Product> products = new ArrayList<>(ids.length);
+            int[] missing = new int[ids.length];
+            int missingCount = 0;
+            for (int id : ids) {
+                Product cached = productCache.get(id);
+                if (cached != null) {
+                    products.add(cached);
+                } else {
+                    missing[missingCount++] = id;
+                }
+            }
+
+            long cacheVersion = productCache.version();
+            SQLiteDatabase db = missingCount > 0 ? this.getReadableDatabase() : null;
+
+            for (int start = 0; start < missingCount; start += MAX_BIND_ARGS) {
+                int end = Math.min(missingCount, start + MAX_BIND_ARGS);
+                String[] args = new String[end - start];
+                StringBuilder placeholders = new StringBuilder(args.length * 2);
+                for (int i = start; i < end; i++) {
+                    args[i - start] = String.valueOf(missing[i]);
+                    placeholders.append(i == start ? "?" : ",?");
+                }
+
+                Cursor cursor = null;
+                try {
+                    cursor = db.query(TABLE_PRODUCTS,
+                            PRODUCT_COLUMNS,
+                            COLUMN_ID + " IN (" + placeholders + ")",
+                            args,
+                            null, null, null);
+
+                    while (cursor != null && cursor.moveToNext()) {
+                        Product product = cursorToProduct(cursor);
+                        productCache.putIfUnchanged(product, cacheVersion);
+                        products.add(product);
+                    }
+                } finally {
+                    if (cursor != null) {
+                        cursor.close();
+                    }
+                }
+            }
+
+            Collections.sort(products, BY_ID);
+            metrics.rows(products.size() - (ids.length - missingCount), products.size());
+            return products;
+        } finally {
+            metrics.get.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Get all products with low stock (quantity below their reorder level)
+     * Walks the partial low stock index, which holds only those rows, and
+     * reads each one from the table; the index cannot cover every column
      * @return List of low stock products
      */
     public List<Product> getLowStockProducts() {
-        List<Product> products = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = null;
+        long startNanos = System.nanoTime();
+        try {
+            List<Product> products = new ArrayList<>();
+            SQLiteDatabase db = this.getReadableDatabase();
+            Cursor cursor = null;
+
+            try {
+                cursor = db.rawQuery(SQL_LOW_STOCK_PRODUCTS, null);
+
+                if (cursor != null && cursor.moveToFirst()) {
+                    do {
+                        products.add(cursorToProduct(cursor));
+                    } while (cursor.moveToNext());
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
 
+            metrics.rows(products.size(), products.size());
+            return products;
+        } finally {
+            metrics.lowStock.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Get total number of products
+     * @return Count of all products
+     */
+    public int getProductCount() {
+        long startNanos = System.nanoTime();
         try {
-            cursor = db.query(TABLE_PRODUCTS,
-                    new String[]{COLUMN_ID, COLUMN_NAME, COLUMN_CATEGORY, COLUMN_PRICE, COLUMN_QUANTITY},
-                    COLUMN_QUANTITY + " < 5",
-                    null, null, null, null);
+            SQLiteDatabase db = this.getReadableDatabase();
+            Cursor cursor = null;
+            int count = 0;
 
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    Product product = new Product(
+            try {
+                cursor = db.rawQuery("SELECT COUNT(*) FROM " + TABLE_PRODUCTS, null);
+                if (cursor != null && cursor.moveToFirst()) {
+                    count = cursor.getInt(0);
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+
+            return count;
+        } finally {
+            metrics.count.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Get dashboard totals in a single constant-time read
+     * The summary row is maintained incrementally by triggers
+     * @return Totals for SKUs, low stock products, units and stock value
+     */
+    public InventorySummary getInventorySummary() {
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getReadableDatabase();
+            Cursor cursor = null;
+            InventorySummary summary = new InventorySummary(0, 0, 0, 0);
+
+            try {
+                cursor = db.query(TABLE_SUMMARY,
+                        new String[]{COLUMN_SKU_COUNT, COLUMN_LOW_STOCK_COUNT, COLUMN_TOTAL_UNITS, COLUMN_TOTAL_VALUE_CENTS},
+                        null, null, null, null, null);
+                if (cursor != null && cursor.moveToFirst()) {
+                    summary = new InventorySummary(
                             cursor.getInt(0),
-                            cursor.getString(1),
-                            cursor.getString(2),
-                            cursor.getDouble(3),
-                            cursor.getInt(4)
+                            cursor.getInt(1),
+                            cursor.getLong(2),
+                            cursor.getLong(3)
                     );
-                    products.add(product);
-                } while (cursor.moveToNext());
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
             }
+
+            return summary;
         } finally {
-            if (cursor != null) {
-                cursor.close();
+            metrics.count.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Stock totals per category
+     * Grouped from the category index, so the product rows themselves are not read
+     * @return One entry per category in use, highest stock value first
+     */
+    public List<CategorySummary> getCategoryBreakdown() {
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getReadableDatabase();
+            Map<Integer, CategorySummary> byId = new HashMap<>();
+            Cursor cursor = null;
+
+            try {
+                cursor = db.rawQuery(SQL_CATEGORY_TOTALS, null);
+                while (cursor != null && cursor.moveToNext()) {
+                    int id = cursor.getInt(0);
+                    byId.put(id, new CategorySummary(id, categoryCache.getName(id), cursor.getInt(1),
+                            cursor.getInt(2), cursor.getLong(3), cursor.getLong(4)));
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
             }
-            db.close();
+
+            // Only rows not yet reached by the category backfill
+            cursor = null;
+            try {
+                cursor = db.rawQuery(SQL_CATEGORY_TOTALS_UNRESOLVED, null);
+                while (cursor != null && cursor.moveToNext()) {
+                    String name = cursor.getString(0);
+                    int id = categoryCache.getId(name);
+                    CategorySummary summary = byId.get(id);
+                    if (summary == null) {
+                        summary = new CategorySummary(id, categoryCache.intern(name), 0, 0, 0, 0);
+                        byId.put(id, summary);
+                    }
+                    summary.add(cursor.getInt(1), cursor.getInt(2), cursor.getLong(3), cursor.getLong(4));
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+
+            List<CategorySummary> breakdown = new ArrayList<>(byId.values());
+            Collections.sort(breakdown, BY_VALUE_DESCENDING);
+            metrics.rows(breakdown.size(), breakdown.size());
+            return breakdown;
+        } finally {
+            metrics.count.recordSince(startNanos);
         }
+    }
 
-        return products;
+    /**
+     * Selection matching one category by ID, falling back to the text for rows
+     * the category backfill has not reached yet
+     */
+    private static String categorySelection() {
+        return COLUMN_CATEGORY_ID + " = ?1 OR (" + COLUMN_CATEGORY_ID + " IS NULL AND " + COLUMN_CATEGORY + " = ?2)";
+    }
+
+    private String[] categorySelectionArgs(String category) {
+        return new String[]{String.valueOf(categoryCache.getId(category)), category};
     }
 
     /**
-     * Get total number of products
-     * @return Count of all products
+     * Load a column-oriented snapshot of every product for analytics
+     * Streams the cursor straight into primitive columns without creating Product objects
+     * @return Snapshot ordered by ID
      */
-    public int getProductCount() {
+    public ProductSnapshot getProductSnapshot() {
         SQLiteDatabase db = this.getReadableDatabase();
         Cursor cursor = null;
-        int count = 0;
+        ProductSnapshot.Builder builder;
 
         try {
-            cursor = db.rawQuery("SELECT COUNT(*) FROM " + TABLE_PRODUCTS, null);
-            if (cursor != null && cursor.moveToFirst()) {
-                count = cursor.getInt(0);
+            cursor = db.query(TABLE_PRODUCTS,
+                    new String[]{COLUMN_ID, COLUMN_CATEGORY, priceCentsExpression(), COLUMN_QUANTITY, COLUMN_REORDER_LEVEL},
+                    null, null, null, null, COLUMN_ID);
+
+            builder = new ProductSnapshot.Builder(cursor != null ? cursor.getCount() : 0);
+            while (cursor != null && cursor.moveToNext()) {
+                builder.add(cursor.getInt(0),
+                        cursor.getString(1),
+                        cursor.getLong(2),
+                        cursor.getInt(3),
+                        cursor.getInt(4));
             }
         } finally {
             if (cursor != null) {
                 cursor.close();
             }
-            db.close();
         }
 
-        return count;
+        return builder.build();
     }
 
     /**
@@ -220,18 +1096,276 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return Number of rows updated
      */
     public int updateProduct(Product product) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getWritableDatabase();
+            ContentValues values = new ContentValues();
+
+            values.put(COLUMN_NAME, product.getName());
+            values.put(COLUMN_CATEGORY, product.getCategory());
+            values.put(COLUMN_PRICE, Money.toUnits(product.getPriceCents()));
+            values.put(COLUMN_PRICE_CENTS, product.getPriceCents());
+            values.put(COLUMN_QUANTITY, product.getQuantity());
+
+            int result = db.update(TABLE_PRODUCTS, values, COLUMN_ID + " = ?",
+                    new String[]{String.valueOf(product.getId())});
+            if (result > 0) {
+                // Dropped rather than overwritten: concurrent updates can finish
+                // here in a different order from their commits
+                productCache.invalidate(product.getId());
+                publishChange(product.getId());
+            }
+            return result;
+        } finally {
+            metrics.update.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Update name, category, price and SKU, and change the quantity by a delta
+     * Runs as one statement, so stock changes made meanwhile by other writers are kept
+     * @param product Product with the new name, category, price and SKU; its quantity is ignored
+     * @param quantityDelta Amount to add to the stored quantity, negative to remove stock
+     * @return Number of rows updated; 0 if the product is missing, a negative delta would
+     *         take the quantity below zero or another product has the SKU
+     */
+    public int updateProductDetails(Product product, int quantityDelta) {
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getWritableDatabase();
+            SQLiteStatement update = db.compileStatement(quantityDelta < 0
+                    ? SQL_UPDATE_DETAILS_ADJUST_QUANTITY_GUARDED : SQL_UPDATE_DETAILS_ADJUST_QUANTITY);
+
+            try {
+                bindProduct(update, product);
+                update.bindLong(4, quantityDelta);
+                update.bindLong(5, product.getId());
+                bindSku(update, 6, product.getSku());
+                int result;
+                try {
+                    result = update.executeUpdateDelete();
+                } catch (SQLiteConstraintException e) {
+                    // Another product already has the SKU
+                    return 0;
+                }
+                // Dropped before listeners run, so a listener that reads the product sees the change
+                productCache.invalidate(product.getId());
+                if (result > 0) {
+                    publishChange(product.getId());
+                }
+                return result;
+            } finally {
+                update.close();
+            }
+        } finally {
+            metrics.update.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Add to or remove from a product's stock without reading it first
+     * @param id Product ID
+     * @param delta Amount to add, negative to remove stock
+     * @return Number of rows updated
+     */
+    public int adjustQuantity(int id, int delta) {
+        return adjustQuantity(id, delta, false);
+    }
+
+    /**
+     * Add to or remove from a product's stock without reading it first
+     * @param id Product ID
+     * @param delta Amount to add, negative to remove stock
+     * @param requireNonNegative Leave the row unchanged if the quantity would drop below zero
+     * @return Number of rows updated; 0 if the product is missing or the guard rejected the change
+     */
+    public int adjustQuantity(int id, int delta, boolean requireNonNegative) {
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getWritableDatabase();
+            SQLiteStatement adjust = db.compileStatement(
+                    requireNonNegative ? SQL_ADJUST_QUANTITY_GUARDED : SQL_ADJUST_QUANTITY);
+
+            try {
+                adjust.bindLong(1, delta);
+                adjust.bindLong(2, id);
+                int result = adjust.executeUpdateDelete();
+                productCache.invalidate(id);
+                if (result > 0) {
+                    publishChange(id);
+                }
+                return result;
+            } finally {
+                adjust.close();
+            }
+        } finally {
+            metrics.update.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Add to or remove from the stock of the product with a SKU, for barcode scans
+     * The change is one UPDATE; the product's ID usually comes from the SKU
+     * cache, and the statement matches the SKU as well, so a stale cached ID
+     * misses and is looked up again instead of changing another product
+     * @param sku SKU as scanned
+     * @param delta Amount to add, negative to remove stock
+     * @param requireNonNegative Leave the row unchanged if the quantity would drop below zero
+     * @return ID of the product changed; 0 if the guard rejected the change;
+     *         SKU_NOT_FOUND if no product has the SKU
+     */
+    public int adjustQuantityBySku(String sku, int delta, boolean requireNonNegative) {
+        long startNanos = System.nanoTime();
+        try {
+            Integer cachedId = skuCache.get(sku);
+            int id = cachedId != null ? cachedId : lookupSkuId(sku);
+            if (id == SKU_NOT_FOUND) {
+                return SKU_NOT_FOUND;
+            }
+
+            SQLiteDatabase db = this.getWritableDatabase();
+            SQLiteStatement adjust = db.compileStatement(
+                    requireNonNegative ? SQL_ADJUST_QUANTITY_FOR_SKU_GUARDED : SQL_ADJUST_QUANTITY_FOR_SKU);
 
-        values.put(COLUMN_NAME, product.getName());
-        values.put(COLUMN_CATEGORY, product.getCategory());
-        values.put(COLUMN_PRICE, product.getPrice());
-        values.put(COLUMN_QUANTITY, product.getQuantity());
+            try {
+                int result = adjustBySku(adjust, id, sku, delta);
+                if (result == 0 && cachedId != null) {
+                    skuCache.remove(sku);
+                    id = lookupSkuId(sku);
+                    if (id == SKU_NOT_FOUND) {
+                        return SKU_NOT_FOUND;
+                    }
+                    result = adjustBySku(adjust, id, sku, delta);
+                }
+                if (result == 0) {
+                    return 0;
+                }
+                skuCache.put(sku, id);
+                productCache.invalidate(id);
+                publishChange(id);
+                return id;
+            } finally {
+                adjust.close();
+            }
+        } finally {
+            metrics.update.recordSince(startNanos);
+        }
+    }
 
-        int result = db.update(TABLE_PRODUCTS, values, COLUMN_ID + " = ?",
-                new String[]{String.valueOf(product.getId())});
-        db.close();
-        return result;
+    private static int adjustBySku(SQLiteStatement adjust, int id, String sku, int delta) {
+        adjust.bindLong(1, delta);
+        adjust.bindLong(2, id);
+        adjust.bindString(3, sku);
+        return adjust.executeUpdateDelete();
+    }
+
+    /**
+     * Apply several stock changes in one transaction
+     * Either every change is applied or none is
+     * @param deltas Amount to add per product ID, negative to remove stock
+     * @param requireNonNegative Reject the whole batch if any quantity would drop below zero
+     * @return true if all changes were applied; false if a product is missing or the guard
+     *         rejected a change, in which case nothing was changed
+     */
+    public boolean adjustQuantities(Map<Integer, Integer> deltas, boolean requireNonNegative) {
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getWritableDatabase();
+            SQLiteStatement adjust = db.compileStatement(
+                    requireNonNegative ? SQL_ADJUST_QUANTITY_GUARDED : SQL_ADJUST_QUANTITY);
+            boolean applied = false;
+
+            db.beginTransactionNonExclusive();
+            try {
+                for (Map.Entry<Integer, Integer> entry : deltas.entrySet()) {
+                    adjust.bindLong(1, entry.getValue());
+                    adjust.bindLong(2, entry.getKey());
+                    if (adjust.executeUpdateDelete() == 0) {
+                        // Leaving without setTransactionSuccessful rolls everything back
+                        return false;
+                    }
+                }
+                db.setTransactionSuccessful();
+                applied = true;
+            } finally {
+                db.endTransaction();
+                adjust.close();
+                if (applied) {
+                    int[] ids = new int[deltas.size()];
+                    int i = 0;
+                    for (Integer id : deltas.keySet()) {
+                        productCache.invalidate(id);
+                        ids[i++] = id;
+                    }
+                    publishChange(ids);
+                }
+            }
+            return true;
+        } finally {
+            metrics.update.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Set the reorder level of a single product
+     * @param id Product ID
+     * @param reorderLevel Quantity below which the product counts as low stock
+     * @return Number of rows updated
+     */
+    public int setReorderLevel(int id, int reorderLevel) {
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getWritableDatabase();
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_REORDER_LEVEL, reorderLevel);
+
+            int result = db.update(TABLE_PRODUCTS, values, COLUMN_ID + " = ?",
+                    new String[]{String.valueOf(id)});
+            productCache.invalidate(id);
+            if (result > 0) {
+                publishChange(id);
+            }
+            return result;
+        } finally {
+            metrics.update.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Set the reorder level for a whole category
+     * Applies to the existing products in the category and to products added later
+     * @param category Category name
+     * @param reorderLevel Quantity below which products count as low stock
+     * @return Number of existing products updated
+     */
+    public int setCategoryReorderLevel(String category, int reorderLevel) {
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getWritableDatabase();
+            db.beginTransactionNonExclusive();
+
+            try {
+                ContentValues threshold = new ContentValues();
+                threshold.put(COLUMN_CATEGORY, category);
+                threshold.put(COLUMN_REORDER_LEVEL, reorderLevel);
+                db.insertWithOnConflict(TABLE_CATEGORY_THRESHOLDS, null, threshold,
+                        SQLiteDatabase.CONFLICT_REPLACE);
+
+                ContentValues values = new ContentValues();
+                values.put(COLUMN_REORDER_LEVEL, reorderLevel);
+                int result = db.update(TABLE_PRODUCTS, values, categorySelection(),
+                        categorySelectionArgs(category));
+
+                db.setTransactionSuccessful();
+                return result;
+            } finally {
+                db.endTransaction();
+                productCache.invalidateAll();
+                publishChangeAll();
+            }
+        } finally {
+            metrics.update.recordSince(startNanos);
+        }
     }
 
     /**
@@ -240,11 +1374,19 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return Number of rows deleted
      */
     public int deleteProduct(int id) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        int result = db.delete(TABLE_PRODUCTS, COLUMN_ID + " = ?",
-                new String[]{String.valueOf(id)});
-        db.close();
-        return result;
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getWritableDatabase();
+            int result = db.delete(TABLE_PRODUCTS, COLUMN_ID + " = ?",
+                    new String[]{String.valueOf(id)});
+            productCache.invalidate(id);
+            if (result > 0) {
+                publishChange(id);
+            }
+            return result;
+        } finally {
+            metrics.delete.recordSince(startNanos);
+        }
     }
 
     /**
@@ -252,48 +1394,175 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * @return Number of rows deleted
      */
     public int deleteAllProducts() {
-        SQLiteDatabase db = this.getWritableDatabase();
-        int result = db.delete(TABLE_PRODUCTS, null, null);
-        db.close();
-        return result;
+        long startNanos = System.nanoTime();
+        try {
+            SQLiteDatabase db = this.getWritableDatabase();
+            int result = db.delete(TABLE_PRODUCTS, null, null);
+            productCache.invalidateAll();
+            publishChangeAll();
+            return result;
+        } finally {
+            metrics.delete.recordSince(startNanos);
+        }
     }
 
     /**
-     * Search products by name (case-insensitive)
-     * @param searchTerm Search keyword
-     * @return List of products matching the search term
+     * Search products by name and category using the full-text index
+     * Each word is matched as a prefix; results are ordered by relevance
+     * @param searchTerm Search keywords
+     * @return List of products matching the search term, or all products if it has no words
      */
     public List<Product> searchProducts(String searchTerm) {
-        List<Product> products = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = null;
+        long startNanos = System.nanoTime();
+        try {
+            String match = FtsQuery.toMatchExpression(searchTerm);
+            if (match == null) {
+                return getAllProducts();
+            }
+
+            List<Ranked<Product>> ranked = new ArrayList<>();
+            SQLiteDatabase db = this.getReadableDatabase();
+            Cursor cursor = null;
+
+            try {
+                cursor = db.rawQuery("SELECT " + PRODUCT_COLUMNS_QUALIFIED + ", " + matchInfoColumn() +
+                        searchFromClause(), new String[]{match});
 
+                int matchInfoIndex = PRODUCT_COLUMNS.length;
+                while (cursor != null && cursor.moveToNext()) {
+                    ranked.add(new Ranked<>(cursorToProduct(cursor), FtsQuery.score(cursor.getBlob(matchInfoIndex))));
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+
+            Collections.sort(ranked);
+            List<Product> products = new ArrayList<>(ranked.size());
+            for (Ranked<Product> entry : ranked) {
+                products.add(entry.value);
+            }
+            metrics.rows(products.size(), products.size());
+            return products;
+        } finally {
+            metrics.search.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Search product IDs using the full-text index, ordered by relevance
+     * Lets a paged list show search results without loading every row
+     * @param searchTerm Search keywords
+     * @param signal Cancels the query when a newer search starts, may be null
+     * @return Matching product IDs, or all IDs if the term has no words
+     */
+    public int[] searchProductIds(String searchTerm, CancellationSignal signal) {
+        long startNanos = System.nanoTime();
         try {
-            cursor = db.query(TABLE_PRODUCTS,
-                    new String[]{COLUMN_ID, COLUMN_NAME, COLUMN_CATEGORY, COLUMN_PRICE, COLUMN_QUANTITY},
-                    COLUMN_NAME + " LIKE ?",
-                    new String[]{"%" + searchTerm + "%"},
-                    null, null, null);
+            String match = FtsQuery.toMatchExpression(searchTerm);
+            if (match == null) {
+                return getAllProductIds();
+            }
 
-            if (cursor != null && cursor.moveToFirst()) {
-                do {
-                    Product product = new Product(
-                            cursor.getInt(0),
-                            cursor.getString(1),
-                            cursor.getString(2),
-                            cursor.getDouble(3),
-                            cursor.getInt(4)
-                    );
-                    products.add(product);
-                } while (cursor.moveToNext());
+            List<Ranked<Integer>> ranked = new ArrayList<>();
+            SQLiteDatabase db = this.getReadableDatabase();
+            Cursor cursor = null;
+
+            try {
+                cursor = db.rawQuery("SELECT " + TABLE_PRODUCTS_FTS + ".docid, " + matchInfoColumn() +
+                        " FROM " + TABLE_PRODUCTS_FTS + " WHERE " + TABLE_PRODUCTS_FTS + " MATCH ?",
+                        new String[]{match}, signal);
+
+                while (cursor != null && cursor.moveToNext()) {
+                    ranked.add(new Ranked<>(cursor.getInt(0), FtsQuery.score(cursor.getBlob(1))));
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+
+            Collections.sort(ranked);
+            int[] ids = new int[ranked.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = ranked.get(i).value;
             }
+            metrics.rows(ids.length, ids.length);
+            return ids;
         } finally {
-            if (cursor != null) {
-                cursor.close();
+            metrics.search.recordSince(startNanos);
+        }
+    }
+
+    private static String matchInfoColumn() {
+        return "matchinfo(" + TABLE_PRODUCTS_FTS + ", 'pcx')";
+    }
+
+    private static String searchFromClause() {
+        return " FROM " + TABLE_PRODUCTS_FTS + " JOIN " + TABLE_PRODUCTS + " ON " +
+                TABLE_PRODUCTS + "." + COLUMN_ID + " = " + TABLE_PRODUCTS_FTS + ".docid" +
+                " WHERE " + TABLE_PRODUCTS_FTS + " MATCH ?";
+    }
+
+    /**
+     * Prefix plain column names with a table name; expressions are left as they are
+     */
+    private static String qualify(String table, String[] columns) {
+        StringBuilder result = new StringBuilder();
+        for (String column : columns) {
+            if (result.length() > 0) {
+                result.append(", ");
+            }
+            if (column.indexOf('(') < 0) {
+                result.append(table).append('.');
             }
-            db.close();
+            result.append(column);
         }
+        return result.toString();
+    }
 
-        return products;
+    /**
+     * Price in cents, falling back to the REAL column for rows the
+     * price_cents backfill has not reached yet
+     */
+    static String priceCentsExpression() {
+        return "COALESCE(" + COLUMN_PRICE_CENTS + ", CAST(ROUND(" + COLUMN_PRICE + " * 100) AS INTEGER))";
+    }
+
+    /**
+     * Search result with its relevance score
+     * Sorts by descending score; the sort is stable, so ties keep query order
+     */
+    private static class Ranked<T> implements Comparable<Ranked<T>> {
+        final T value;
+        final double score;
+
+        Ranked(T value, double score) {
+            this.value = value;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Ranked<T> other) {
+            return Double.compare(other.score, score);
+        }
+    }
+
+    /**
+     * Map the current cursor row to a Product
+     * Expects the columns in PRODUCT_COLUMNS order
+     */
+    private Product cursorToProduct(Cursor cursor) {
+        Product product = new Product(
+                cursor.getInt(0),
+                cursor.getString(1),
+                categoryCache.intern(cursor.getString(2)),
+                cursor.getLong(3),
+                cursor.getInt(4),
+                cursor.getInt(5)
+        );
+        product.setSku(cursor.getString(6));
+        return product;
     }
 }
@@ -0,0 +1,64 @@
+package com.example.inventoryapp.database;
+
+import com.example.inventoryapp.metrics.LatencyHistogram;
+import com.example.inventoryapp.metrics.MetricsRegistry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DatabaseMetrics Class
+ * The DatabaseHelper metrics, looked up once so the hot paths only touch fields
+ *
+ * rowsRead counts rows stepped through in SQLite cursors; rowsReturned
+ * counts products handed back to callers, including ones served from the
+ * product cache. SQLite's own per-statement scan counters are not exposed
+ * by the Android API.
+ */
+final class DatabaseMetrics {
+    final LatencyHistogram add;
+    final LatencyHistogram bulkWrite;
+    final LatencyHistogram get;
+    final LatencyHistogram getBySku;
+    final LatencyHistogram getAll;
+    final LatencyHistogram getPage;
+    final LatencyHistogram lowStock;
+    final LatencyHistogram search;
+    final LatencyHistogram update;
+    final LatencyHistogram delete;
+    final LatencyHistogram count;
+
+    final AtomicLong rowsRead;
+    final AtomicLong rowsReturned;
+    final AtomicLong connectionOpens;
+
+    DatabaseMetrics(MetricsRegistry registry, final ProductCache cache) {
+        add = registry.histogram("db.add");
+        bulkWrite = registry.histogram("db.bulkWrite");
+        get = registry.histogram("db.get");
+        getBySku = registry.histogram("db.getBySku");
+        getAll = registry.histogram("db.getAll");
+        getPage = registry.histogram("db.getPage");
+        lowStock = registry.histogram("db.lowStock");
+        search = registry.histogram("db.search");
+        update = registry.histogram("db.update");
+        delete = registry.histogram("db.delete");
+        count = registry.histogram("db.count");
+
+        rowsRead = registry.counter("db.rows.read");
+        rowsReturned = registry.counter("db.rows.returned");
+        connectionOpens = registry.counter("db.connection.opens");
+
+        registry.gauge("cache.hits", cache::getHitCount);
+        registry.gauge("cache.misses", cache::getMissCount);
+        registry.gauge("cache.evictions", cache::getEvictionCount);
+        registry.gauge("cache.size", cache::size);
+    }
+
+    /**
+     * Count rows read from SQLite and returned to the caller
+     */
+    void rows(long read, long returned) {
+        rowsRead.addAndGet(read);
+        rowsReturned.addAndGet(returned);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.inventoryapp.database;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * FtsQuery Class
+ * Helpers for querying the products_fts full-text index
+ *
+ * Builds prefix MATCH expressions from free text typed by the user and
+ * scores rows from the FTS4 matchinfo(..., 'pcx') blob. Matches in the
+ * name column weigh more than matches in the category column, and terms
+ * that occur in fewer products weigh more than common ones.
+ * Pure Java so the benchmarks can use it.
+ */
+public final class FtsQuery {
+    // Column weights in products_fts column order: name, category
+    private static final double[] COLUMN_WEIGHTS = {2.0, 1.0};
+
+    private FtsQuery() {
+    }
+
+    /**
+     * Turn user input into an FTS MATCH expression
+     * Every word becomes a prefix term and all words must match,
+     * e.g. "red  tea" becomes "red* tea*"
+     * @param input Raw search text
+     * @return MATCH expression, or null if the input has no searchable words
+     */
+    public static String toMatchExpression(String input) {
+        if (input == null) {
+            return null;
+        }
+
+        StringBuilder match = new StringBuilder(input.length() + 8);
+        int wordStart = -1;
+        for (int i = 0; i <= input.length(); i++) {
+            boolean wordChar = i < input.length() && Character.isLetterOrDigit(input.charAt(i));
+            if (wordChar && wordStart < 0) {
+                wordStart = i;
+            } else if (!wordChar && wordStart >= 0) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append(input, wordStart, i).append('*');
+                wordStart = -1;
+            }
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    /**
+     * Score one row from its matchinfo 'pcx' blob
+     * Layout: phrase count, column count, then for every phrase and column
+     * three integers: hits in this row, hits in all rows, rows with a hit
+     * @param matchinfo Blob returned by matchinfo(products_fts, 'pcx')
+     * @return Relevance score, higher is better
+     */
+    public static double score(byte[] matchinfo) {
+        ByteBuffer buffer = ByteBuffer.wrap(matchinfo).order(ByteOrder.nativeOrder());
+        int phrases = buffer.getInt(0);
+        int columns = buffer.getInt(4);
+        double score = 0;
+
+        for (int phrase = 0; phrase < phrases; phrase++) {
+            for (int column = 0; column < columns; column++) {
+                int offset = 8 + 12 * (phrase * columns + column);
+                int hitsInRow = buffer.getInt(offset);
+                int rowsWithHits = buffer.getInt(offset + 8);
+                if (hitsInRow > 0) {
+                    double weight = column < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[column] : 1.0;
+                    score += weight * hitsInRow / (1.0 + rowsWithHits);
+                }
+            }
+        }
+        return score;
+    }
+}
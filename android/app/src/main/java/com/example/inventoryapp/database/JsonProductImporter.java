@@ -0,0 +1,213 @@
+package com.example.inventoryapp.database;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import com.example.inventoryapp.model.Money;
+import com.example.inventoryapp.model.Product;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * JsonProductImporter Class
+ * Streams the product array returned by GET /api/products into the database
+ *
+ * The array is read one element at a time with a pull parser and fed to
+ * DatabaseHelper.bulkInsert, so memory use does not grow with the payload:
+ * the next product is only parsed when the database asks for it, which
+ * also throttles the network read to the speed of the inserts.
+ *
+ * Each element needs name, category, price (or priceCents) and quantity;
+ * other fields are ignored. Elements that cannot be mapped are skipped.
+ */
+public class JsonProductImporter {
+    private final DatabaseHelper dbHelper;
+    private final int batchSize;
+    private int skippedRows;
+
+    /**
+     * Constructor
+     */
+    public JsonProductImporter(DatabaseHelper dbHelper) {
+        this(dbHelper, DatabaseHelper.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor with a custom transaction batch size
+     */
+    public JsonProductImporter(DatabaseHelper dbHelper, int batchSize) {
+        this.dbHelper = dbHelper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import every valid product from the reader
+     * Server IDs are not kept; products get new local IDs
+     * @param reader JSON source, closed when the import finishes
+     * @param listener Progress callback, may be null
+     * @return Number of products inserted
+     * @throws IOException if reading fails or the payload is not a JSON array
+     */
+    public int importFrom(Reader reader, DatabaseHelper.BulkProgressListener listener) throws IOException {
+        try (ProductStream stream = decode(reader)) {
+            return dbHelper.bulkInsert(() -> stream, batchSize, listener);
+        } catch (ReadFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Number of elements skipped by the last import or decode because they could not be mapped
+     */
+    public int getSkippedRowCount() {
+        return skippedRows;
+    }
+
+    /**
+     * Decode a product array lazily, without touching the database
+     * @param reader JSON source, closed with the returned stream
+     * @return Products in payload order; iterate once
+     */
+    public ProductStream decode(Reader reader) {
+        skippedRows = 0;
+        return new ProductStream(new JsonReader(reader));
+    }
+
+    /**
+     * Map the current object to a Product
+     * @return Product, or null if a field is missing or invalid
+     */
+    private static Product readProduct(JsonReader reader) throws IOException {
+        String name = null;
+        String category = null;
+        long priceCents = -1;
+        int quantity = -1;
+        boolean valid = true;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            try {
+                if ("name".equals(field)) {
+                    name = reader.nextString().trim();
+                } else if ("category".equals(field)) {
+                    category = reader.nextString().trim();
+                } else if ("priceCents".equals(field)) {
+                    priceCents = reader.nextLong();
+                } else if ("price".equals(field) && priceCents < 0) {
+                    // Numbers come back as their literal text, so no rounding through double
+                    priceCents = Money.parseCents(reader.nextString());
+                } else if ("quantity".equals(field)) {
+                    quantity = reader.nextInt();
+                } else {
+                    reader.skipValue();
+                }
+            } catch (NumberFormatException | IllegalStateException e) {
+                // Wrong type or unparseable number; keep reading so the stream stays aligned
+                valid = false;
+                if (reader.peek() != JsonToken.NAME && reader.peek() != JsonToken.END_OBJECT) {
+                    reader.skipValue();
+                }
+            }
+        }
+        reader.endObject();
+
+        if (!valid || name == null || name.isEmpty() || category == null || category.isEmpty()
+                || priceCents < 0 || quantity < 0) {
+            return null;
+        }
+        return new Product(name, category, priceCents, quantity);
+    }
+
+    /**
+     * Pull-based iterator over the products in a JSON array
+     * Only one element is held in memory at a time
+     */
+    public class ProductStream implements Iterator<Product>, Closeable {
+        private final JsonReader reader;
+        private Product next;
+        private boolean started;
+        private boolean finished;
+
+        ProductStream(JsonReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Product next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Product product = next;
+            next = null;
+            return product;
+        }
+
+        private Product readNext() {
+            try {
+                if (!started) {
+                    started = true;
+                    if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                        throw new IOException("Expected a JSON array of products but found " + reader.peek());
+                    }
+                    reader.beginArray();
+                }
+                while (reader.hasNext()) {
+                    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                        reader.skipValue();
+                        skippedRows++;
+                        continue;
+                    }
+                    Product product = readProduct(reader);
+                    if (product != null) {
+                        return product;
+                    }
+                    skippedRows++;
+                }
+                reader.endArray();
+                finished = true;
+                return null;
+            } catch (IOException e) {
+                finished = true;
+                throw new ReadFailure(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finished = true;
+            reader.close();
+        }
+    }
+
+    /**
+     * Thrown by ProductStream when reading fails
+     * The cause is the underlying IOException; importFrom rethrows it
+     */
+    public static class ReadFailure extends RuntimeException {
+        ReadFailure(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
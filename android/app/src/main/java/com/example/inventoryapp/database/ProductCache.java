@@ -0,0 +1,156 @@
+package com.example.inventoryapp.database;
+
+import com.example.inventoryapp.model.Product;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ProductCache Class
+ * Bounded LRU cache of products keyed by ID, sitting in front of DatabaseHelper
+ *
+ * Product is mutable, so the cache keeps its own copies and hands out copies.
+ * Every write bumps a version number; a reader records the version before it
+ * queries SQLite and its result is only cached if no write happened in
+ * between, so a slow reader can never put back a row that was just changed.
+ * All methods are thread-safe.
+ */
+public class ProductCache {
+    public static final int DEFAULT_MAX_ENTRIES = 512;
+
+    private final LinkedHashMap<Integer, Product> entries;
+    private int maxEntries;
+    private long version;
+
+    // Statistics
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructor
+     * @param maxEntries Maximum number of cached products
+     */
+    public ProductCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+        // Access order makes iteration start at the least recently used entry
+        this.entries = new LinkedHashMap<Integer, Product>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Product> eldest) {
+                if (size() > ProductCache.this.maxEntries) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Look up a product
+     * @param id Product ID
+     * @return A copy of the cached product, or null on a miss
+     */
+    public synchronized Product get(int id) {
+        Product product = entries.get(id);
+        if (product == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return copy(product);
+    }
+
+    /**
+     * Version to pass to putIfUnchanged, read before querying the database
+     */
+    synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Cache a row read from the database unless a write happened since readVersion
+     */
+    synchronized void putIfUnchanged(Product product, long readVersion) {
+        if (readVersion == version) {
+            entries.put(product.getId(), copy(product));
+        }
+    }
+
+    /**
+     * Drop one product after it was changed or deleted
+     */
+    synchronized void invalidate(int id) {
+        version++;
+        entries.remove(id);
+    }
+
+    /**
+     * Drop every product after a write that touched many rows
+     */
+    synchronized void invalidateAll() {
+        version++;
+        entries.clear();
+    }
+
+    /**
+     * Change the maximum size, evicting the least recently used entries if needed
+     */
+    public synchronized void setMaxEntries(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+        Iterator<Integer> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Reset the hit, miss and eviction counters
+     */
+    public synchronized void resetStats() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ProductCache{size=" + entries.size() + "/" + maxEntries +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                '}';
+    }
+
+    private static Product copy(Product product) {
+        Product copy = new Product(product.getId(), product.getName(), product.getCategory(),
+                product.getPriceCents(), product.getQuantity(), product.getReorderLevel());
+        copy.setSku(product.getSku());
+        return copy;
+    }
+}
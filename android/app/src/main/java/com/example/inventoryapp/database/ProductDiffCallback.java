@@ -0,0 +1,87 @@
+package com.example.inventoryapp.database;
+
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.inventoryapp.model.Product;
+
+import java.util.Map;
+
+/**
+ * ProductDiffCallback Class
+ * Compares two versions of the paged product list by product ID
+ *
+ * Only rows that were loaded in memory can be compared by content. Rows
+ * whose old or new contents are unknown are reported as changed so they
+ * are rebound. A change that touches nothing but the quantity or reorder
+ * level is reported with PAYLOAD_QUANTITY so the adapter can rebind just
+ * the quantity and low stock state.
+ */
+public class ProductDiffCallback extends DiffUtil.Callback {
+    public static final Object PAYLOAD_QUANTITY = new Object();
+
+    private final int[] oldIds;
+    private final int[] newIds;
+    private final Map<Integer, Product> oldProducts;
+    private final Map<Integer, Product> newProducts;
+
+    /**
+     * Constructor
+     * @param oldIds Product IDs before the refresh, in adapter order
+     * @param newIds Product IDs after the refresh, in adapter order
+     * @param oldProducts Rows that were loaded before the refresh, keyed by ID
+     * @param newProducts Fresh copies of those rows, keyed by ID
+     */
+    public ProductDiffCallback(int[] oldIds, int[] newIds,
+                               Map<Integer, Product> oldProducts, Map<Integer, Product> newProducts) {
+        this.oldIds = oldIds;
+        this.newIds = newIds;
+        this.oldProducts = oldProducts;
+        this.newProducts = newProducts;
+    }
+
+    @Override
+    public int getOldListSize() {
+        return oldIds.length;
+    }
+
+    @Override
+    public int getNewListSize() {
+        return newIds.length;
+    }
+
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+        return oldIds[oldItemPosition] == newIds[newItemPosition];
+    }
+
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+        Product oldProduct = oldProducts.get(oldIds[oldItemPosition]);
+        Product newProduct = newProducts.get(newIds[newItemPosition]);
+        if (oldProduct == null || newProduct == null) {
+            return false;
+        }
+        return sameDetails(oldProduct, newProduct)
+                && oldProduct.getQuantity() == newProduct.getQuantity()
+                && oldProduct.getReorderLevel() == newProduct.getReorderLevel();
+    }
+
+    @Override
+    public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+        Product oldProduct = oldProducts.get(oldIds[oldItemPosition]);
+        Product newProduct = newProducts.get(newIds[newItemPosition]);
+        if (oldProduct != null && newProduct != null && sameDetails(oldProduct, newProduct)) {
+            return PAYLOAD_QUANTITY;
+        }
+        return null;
+    }
+
+    /**
+     * Compare every field except the quantity and reorder level
+     */
+    private static boolean sameDetails(Product a, Product b) {
+        return a.getName().equals(b.getName())
+                && a.getCategory().equals(b.getCategory())
+                && a.getPriceCents() == b.getPriceCents();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.inventoryapp.database;
+
+import com.example.inventoryapp.model.Money;
+import com.example.inventoryapp.model.Product;
+
+/**
+ * ProductExportFormat Class
+ * Formats one product as a CSV row or a JSON Lines object for ProductExporter
+ *
+ * CSV rows start with the importer's columns (name, category, price,
+ * quantity), so an export can be fed back to CsvProductImporter; the
+ * reorder level and ID follow. JSON objects use the field names
+ * JsonProductImporter reads. Rows are appended to a caller's StringBuilder
+ * so a whole export reuses one buffer.
+ *
+ * Pure Java so the benchmarks can use it.
+ */
+public final class ProductExportFormat {
+    public static final String CSV_HEADER = "name,category,price,quantity,reorder_level,id\n";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ProductExportFormat() {
+    }
+
+    /**
+     * CSV row in the importer's column order, with the extra columns after them
+     */
+    public static void appendCsv(StringBuilder line, Product product) {
+        appendCsvField(line, product.getName());
+        line.append(',');
+        appendCsvField(line, product.getCategory());
+        line.append(',').append(Money.format(product.getPriceCents()))
+                .append(',').append(product.getQuantity())
+                .append(',').append(product.getReorderLevel())
+                .append(',').append(product.getId())
+                .append('\n');
+    }
+
+    /**
+     * One JSON object per line, with the field names JsonProductImporter reads
+     */
+    public static void appendJson(StringBuilder line, Product product) {
+        line.append("{\"id\":").append(product.getId());
+        line.append(",\"name\":");
+        appendJsonString(line, product.getName());
+        line.append(",\"category\":");
+        appendJsonString(line, product.getCategory());
+        line.append(",\"priceCents\":").append(product.getPriceCents())
+                .append(",\"quantity\":").append(product.getQuantity())
+                .append(",\"reorderLevel\":").append(product.getReorderLevel())
+                .append("}\n");
+    }
+
+    private static void appendCsvField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private static void appendJsonString(StringBuilder line, String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.inventoryapp.database;
+
+import android.os.CancellationSignal;
+
+import com.example.inventoryapp.model.Product;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ProductExporter Class
+ * Streams the products table to a CSV or JSON Lines file, optionally gzipped
+ *
+ * Rows are read in keyset windows of WINDOW_SIZE by ID that bypass the
+ * product cache, and written through one buffered writer on the file's
+ * channel, so memory use does not depend on the size of the table.
+ *
+ * Every CHECKPOINT_ROWS rows the output is flushed and synced, and the last
+ * exported ID (the watermark) and the file length are saved next to the
+ * file. An export that is cancelled or killed picks up from there: the file
+ * is cut back to the saved length and rows after the watermark are
+ * appended. Gzipped output starts a new gzip member at every checkpoint;
+ * concatenated members read back as one stream.
+ *
+ * The export is not a point-in-time copy: a row edited after the export
+ * has passed it keeps its old values, and rows added with a higher ID are
+ * included. Rows are formatted by ProductExportFormat.
+ */
+public class ProductExporter {
+    public static final int FORMAT_CSV = 0;
+    public static final int FORMAT_JSON_LINES = 1;
+
+    static final int WINDOW_SIZE = 1000;
+    static final int CHECKPOINT_ROWS = 20000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DatabaseHelper dbHelper;
+
+    /**
+     * Constructor
+     */
+    public ProductExporter(DatabaseHelper dbHelper) {
+        this.dbHelper = dbHelper;
+    }
+
+    /**
+     * Export every product, resuming an earlier export to the same file if it did not finish
+     * @param file Output file
+     * @param format FORMAT_CSV or FORMAT_JSON_LINES
+     * @param gzip Whether to gzip the output
+     * @param signal Stops the export at the next window, may be null; the export can be resumed
+     * @param listener Progress callback with the rows in the file so far, may be null
+     * @return Number of products in the finished file
+     * @throws IOException if the file cannot be written
+     */
+    public int export(File file, int format, boolean gzip, CancellationSignal signal,
+                      DatabaseHelper.BulkProgressListener listener) throws IOException {
+        if (format != FORMAT_CSV && format != FORMAT_JSON_LINES) {
+            throw new IllegalArgumentException("Unknown export format " + format);
+        }
+
+        File checkpointFile = new File(file.getPath() + ".checkpoint");
+        Checkpoint checkpoint = Checkpoint.read(checkpointFile, format, gzip);
+        if (checkpoint != null && (!file.exists() || file.length() < checkpoint.length)) {
+            checkpoint = null;
+        }
+
+        int rows = checkpoint != null ? checkpoint.rows : 0;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            channel.truncate(checkpoint != null ? checkpoint.length : 0);
+            channel.position(channel.size());
+
+            Output output = new Output(channel, gzip);
+            int watermark = checkpoint != null ? checkpoint.watermark : 0;
+            int sinceCheckpoint = 0;
+            StringBuilder line = new StringBuilder(256);
+
+            if (checkpoint == null && format == FORMAT_CSV) {
+                output.writer.write(ProductExportFormat.CSV_HEADER);
+            }
+
+            while (true) {
+                if (signal != null) {
+                    signal.throwIfCanceled();
+                }
+                List<Product> window = dbHelper.scanProductsPage(watermark, WINDOW_SIZE);
+                if (window.isEmpty()) {
+                    break;
+                }
+                for (Product product : window) {
+                    line.setLength(0);
+                    if (format == FORMAT_CSV) {
+                        ProductExportFormat.appendCsv(line, product);
+                    } else {
+                        ProductExportFormat.appendJson(line, product);
+                    }
+                    output.writer.append(line);
+                }
+                watermark = window.get(window.size() - 1).getId();
+                rows += window.size();
+                sinceCheckpoint += window.size();
+
+                if (sinceCheckpoint >= CHECKPOINT_ROWS) {
+                    long length = output.checkpoint();
+                    new Checkpoint(format, gzip, watermark, rows, length).write(checkpointFile);
+                    sinceCheckpoint = 0;
+                }
+                if (listener != null) {
+                    listener.onProgress(rows);
+                }
+            }
+
+            output.finish();
+        }
+
+        checkpointFile.delete();
+        return rows;
+    }
+
+    /**
+     * Buffered writer over the file channel, with one gzip member per checkpoint when compressing
+     */
+    private static class Output {
+        private final FileChannel channel;
+        private final OutputStream channelOut;
+        private final boolean gzip;
+        private OutputStream member;
+        Writer writer;
+
+        Output(FileChannel channel, boolean gzip) throws IOException {
+            this.channel = channel;
+            // Gzip members are closed at every checkpoint; the channel stays open
+            this.channelOut = new FilterOutputStream(Channels.newOutputStream(channel)) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+            this.gzip = gzip;
+            open();
+        }
+
+        private void open() throws IOException {
+            member = gzip ? new GZIPOutputStream(channelOut, BUFFER_SIZE) : channelOut;
+            writer = new BufferedWriter(new OutputStreamWriter(member, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        /**
+         * Make everything written so far durable and complete on its own
+         * @return Length of the file up to here, before the header of the next gzip member
+         */
+        long checkpoint() throws IOException {
+            if (gzip) {
+                writer.close();
+                channel.force(false);
+                long length = channel.position();
+                // Writes the next member's header straight away
+                open();
+                return length;
+            }
+            writer.flush();
+            channel.force(false);
+            return channel.position();
+        }
+
+        void finish() throws IOException {
+            writer.close();
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Progress saved next to the output file
+     */
+    private static class Checkpoint {
+        final int format;
+        final boolean gzip;
+        final int watermark;
+        final int rows;
+        final long length;
+
+        Checkpoint(int format, boolean gzip, int watermark, int rows, long length) {
+            this.format = format;
+            this.gzip = gzip;
+            this.watermark = watermark;
+            this.rows = rows;
+            this.length = length;
+        }
+
+        /**
+         * @return The saved checkpoint, or null if there is none for this format
+         */
+        static Checkpoint read(File file, int format, boolean gzip) {
+            if (!file.isFile()) {
+                return null;
+            }
+            Properties properties = new Properties();
+            try (InputStream in = new FileInputStream(file)) {
+                properties.load(in);
+                Checkpoint checkpoint = new Checkpoint(
+                        Integer.parseInt(properties.getProperty("format")),
+                        Boolean.parseBoolean(properties.getProperty("gzip")),
+                        Integer.parseInt(properties.getProperty("watermark")),
+                        Integer.parseInt(properties.getProperty("rows")),
+                        Long.parseLong(properties.getProperty("length")));
+                return checkpoint.format == format && checkpoint.gzip == gzip ? checkpoint : null;
+            } catch (IOException | RuntimeException e) {
+                // Unreadable: start the export over
+                return null;
+            }
+        }
+
+        /**
+         * Replace the saved checkpoint
+         */
+        void write(File file) throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty("format", String.valueOf(format));
+            properties.setProperty("gzip", String.valueOf(gzip));
+            properties.setProperty("watermark", String.valueOf(watermark));
+            properties.setProperty("rows", String.valueOf(rows));
+            properties.setProperty("length", String.valueOf(length));
+
+            File temp = new File(file.getPath() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(temp)) {
+                properties.store(out, null);
+                out.getFD().sync();
+            }
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                throw new IOException("Cannot replace " + file);
+            }
+        }
+    }
+}
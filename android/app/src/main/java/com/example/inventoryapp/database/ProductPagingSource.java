@@ -0,0 +1,384 @@
+package com.example.inventoryapp.database;
+
+import androidx.lifecycle.LifecycleOwner;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.inventoryapp.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ProductPagingSource Class
+ * Keyset-paginated view of the products table for RecyclerView
+ *
+ * Only the sorted product IDs are kept for the whole table. Product rows are
+ * loaded in pages of pageSize with "id > ? ORDER BY id LIMIT ?" on the
+ * ProductRepository reader pool, and at most MAX_CACHED_PAGES pages are held in memory at once.
+ * Neighbouring pages are prefetched as soon as a page is accessed.
+ *
+ * A refresh reloads the ID list and the rows currently in memory, then
+ * diffs old against new by product ID on the reader pool so the adapter
+ * only receives the minimal set of change events.
+ *
+ * At launch the list can be shown from a CatalogSnapshotFile: its pages are
+ * decoded synchronously until the first refresh has read the table, and
+ * that refresh re-reads the rows shown so only real differences reach the
+ * adapter.
+ *
+ * With a search query set, the ID list holds the ranked full-text matches
+ * instead, and pages are loaded by ID. Starting a new search cancels the
+ * query still running for the previous one.
+ *
+ * All public methods must be called on the main thread.
+ */
+public class ProductPagingSource {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_CACHED_PAGES = 6;
+    // DiffUtil is O(N * D); beyond this many ID changes a full rebind is cheaper
+    private static final int MAX_DIFF_CHANGES = 1000;
+    // Unsorted (search) lists cannot be pre-checked cheaply, so bound their size instead
+    private static final int MAX_UNSORTED_DIFF_SIZE = 2000;
+
+    /**
+     * Interface for receiving data changes
+     */
+    public interface Listener {
+        void onPageLoaded(int startPosition, int itemCount);
+
+        /**
+         * @param diff Changes to dispatch, or null if everything should be rebound
+         */
+        void onRefreshed(DiffUtil.DiffResult diff);
+    }
+
+    private final ProductRepository repository;
+    private final LifecycleOwner owner;
+    private final int pageSize;
+
+    // Loaded pages keyed by page index, evicted in least-recently-used order
+    private final Map<Integer, List<Product>> pages =
+            new LinkedHashMap<Integer, List<Product>>(MAX_CACHED_PAGES + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<Product>> eldest) {
+                    return size() > MAX_CACHED_PAGES;
+                }
+            };
+    private final Set<Integer> loadingPages = new HashSet<>();
+
+    private int[] ids = new int[0];
+    private boolean idsSorted = true;
+    private String query;
+    private ProductRepository.DbTask<RefreshResult> refreshTask;
+    private int generation;
+    private int refreshRequests;
+    private Listener listener;
+    private boolean closed;
+    // Serves pages until the first refresh completes
+    private CatalogSnapshotFile snapshot;
+
+    /**
+     * Constructor
+     * @param owner Lifecycle that pending loads are cancelled with
+     */
+    public ProductPagingSource(ProductRepository repository, LifecycleOwner owner) {
+        this(repository, owner, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Constructor with a custom page size
+     */
+    public ProductPagingSource(ProductRepository repository, LifecycleOwner owner, int pageSize) {
+        this.repository = repository;
+        this.owner = owner;
+        this.pageSize = pageSize;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Show the products in a snapshot until the first refresh completes
+     * Ignored once IDs have been loaded or while a search is active
+     * @param snapshot Open snapshot, or null to do nothing
+     */
+    public void showSnapshot(CatalogSnapshotFile snapshot) {
+        if (closed || snapshot == null || ids.length > 0 || query != null) {
+            return;
+        }
+        this.snapshot = snapshot;
+        ids = snapshot.getIds();
+        idsSorted = true;
+        // Decode the first screen now, so the first refresh re-reads and diffs those rows
+        // instead of dropping them and paging them in again
+        prefetch(0);
+        prefetch(1);
+    }
+
+    /**
+     * Total number of products, loaded or not
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Product ID at a position, available without loading the row
+     */
+    public int getId(int position) {
+        return ids[position];
+    }
+
+    /**
+     * Get the product at a position
+     * Starts loading its page and prefetches the neighbouring pages
+     * @param position Adapter position
+     * @return Product, or null if its page is not loaded yet
+     */
+    public Product get(int position) {
+        int page = position / pageSize;
+        prefetch(page - 1);
+        prefetch(page + 1);
+
+        List<Product> items = pages.get(page);
+        if (items == null) {
+            loadPage(page);
+            // Pages decoded from a snapshot are available straight away
+            items = pages.get(page);
+            if (items == null) {
+                return null;
+            }
+        }
+
+        int offset = position - page * pageSize;
+        return offset < items.size() ? items.get(offset) : null;
+    }
+
+    /**
+     * Show only products matching a full-text search
+     * @param query Search text, or null/empty to show all products
+     */
+    public void setQuery(String query) {
+        String normalized = query == null || query.trim().isEmpty() ? null : query.trim();
+        if (normalized == null ? this.query == null : normalized.equals(this.query)) {
+            return;
+        }
+        this.query = normalized;
+        refresh();
+    }
+
+    /**
+     * Reload the ID list and the rows currently in memory
+     * Listener.onRefreshed is called on the main thread with the computed diff
+     */
+    public void refresh() {
+        if (closed) {
+            return;
+        }
+        if (refreshTask != null) {
+            refreshTask.cancel();
+        }
+        final int request = ++refreshRequests;
+        final String searchQuery = query;
+        final int[] oldIds = ids;
+        final boolean oldSorted = idsSorted;
+        final Map<Integer, Product> oldProducts = new HashMap<>();
+        for (List<Product> items : pages.values()) {
+            for (Product product : items) {
+                oldProducts.put(product.getId(), product);
+            }
+        }
+
+        refreshTask = repository.readCancellable(owner, signal -> {
+            DatabaseHelper dbHelper = repository.getDatabaseHelper();
+            boolean newSorted = searchQuery == null;
+            int[] newIds = newSorted
+                    ? dbHelper.getAllProductIds()
+                    : dbHelper.searchProductIds(searchQuery, signal);
+            Map<Integer, Product> newProducts = new HashMap<>();
+            for (Product product : dbHelper.getProductsByIds(toIdArray(oldProducts))) {
+                newProducts.put(product.getId(), product);
+            }
+
+            DiffUtil.DiffResult diff = null;
+            boolean worthDiffing = oldSorted && newSorted
+                    ? countIdChanges(oldIds, newIds) <= MAX_DIFF_CHANGES
+                    : oldIds.length + newIds.length <= MAX_UNSORTED_DIFF_SIZE;
+            if (oldIds.length > 0 && worthDiffing) {
+                // Ascending ID lists never reorder, so move detection is only needed for search results
+                diff = DiffUtil.calculateDiff(
+                        new ProductDiffCallback(oldIds, newIds, oldProducts, newProducts), !newSorted);
+            }
+            return new RefreshResult(newIds, newSorted, newProducts, diff);
+        }, result -> {
+            // Readers run in parallel, so ignore a refresh overtaken by a newer one
+            if (closed || request != refreshRequests) {
+                return;
+            }
+            // Pages loaded against the old ID list are discarded when they arrive
+            generation++;
+            refreshTask = null;
+            snapshot = null;
+            ids = result.ids;
+            idsSorted = result.sorted;
+            pages.clear();
+            loadingPages.clear();
+            restorePages(result.products);
+            if (listener != null) {
+                listener.onRefreshed(result.diff);
+            }
+        });
+    }
+
+    /**
+     * Stop background work and release cached pages
+     */
+    public void close() {
+        closed = true;
+        listener = null;
+        snapshot = null;
+        if (refreshTask != null) {
+            refreshTask.cancel();
+        }
+        pages.clear();
+    }
+
+    private void prefetch(int page) {
+        if (page >= 0 && page * pageSize < ids.length && !pages.containsKey(page)) {
+            loadPage(page);
+        }
+    }
+
+    /**
+     * Load one page in the background using the last ID of the previous page as the key
+     */
+    private void loadPage(final int page) {
+        if (snapshot != null) {
+            pages.put(page, snapshot.getRange(page * pageSize, pageSize));
+            return;
+        }
+        if (closed || !loadingPages.add(page)) {
+            return;
+        }
+
+        final int start = page * pageSize;
+        final int count = Math.min(pageSize, ids.length - start);
+        final int expectedGeneration = generation;
+        ProductRepository.Callback<List<Product>> onLoaded = items -> {
+            if (closed || expectedGeneration != generation) {
+                return;
+            }
+            loadingPages.remove(page);
+            pages.put(page, items);
+            if (listener != null) {
+                listener.onPageLoaded(start, count);
+            }
+        };
+
+        if (idsSorted) {
+            // Keyset pagination: the page starts right after the last ID of the previous page
+            int afterId = start == 0 ? 0 : ids[start - 1];
+            repository.getProductsPage(owner, afterId, count, onLoaded);
+        } else {
+            final int[] pageIds = Arrays.copyOfRange(ids, start, start + count);
+            repository.read(owner, () -> inIdOrder(
+                    repository.getDatabaseHelper().getProductsByIds(pageIds), pageIds), onLoaded);
+        }
+    }
+
+    /**
+     * Arrange products in the order of the given IDs, dropping IDs that no longer exist
+     */
+    private static List<Product> inIdOrder(List<Product> products, int[] order) {
+        Map<Integer, Product> byId = new HashMap<>();
+        for (Product product : products) {
+            byId.put(product.getId(), product);
+        }
+        List<Product> ordered = new ArrayList<>(order.length);
+        for (int id : order) {
+            Product product = byId.get(id);
+            if (product != null) {
+                ordered.add(product);
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Rebuild the pages whose rows were all reloaded during a refresh
+     */
+    private void restorePages(Map<Integer, Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        for (int start = 0; start < ids.length; start += pageSize) {
+            int end = Math.min(ids.length, start + pageSize);
+            List<Product> items = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                Product product = products.get(ids[i]);
+                if (product == null) {
+                    break;
+                }
+                items.add(product);
+            }
+            if (items.size() == end - start) {
+                pages.put(start / pageSize, items);
+            }
+        }
+    }
+
+    private static int[] toIdArray(Map<Integer, Product> products) {
+        int[] result = new int[products.size()];
+        int i = 0;
+        for (Integer id : products.keySet()) {
+            result[i++] = id;
+        }
+        return result;
+    }
+
+    /**
+     * Count inserted plus removed IDs between two ascending ID arrays in one pass
+     */
+    private static int countIdChanges(int[] oldIds, int[] newIds) {
+        int changes = 0;
+        int i = 0;
+        int j = 0;
+        while (i < oldIds.length && j < newIds.length) {
+            if (oldIds[i] == newIds[j]) {
+                i++;
+                j++;
+            } else if (oldIds[i] < newIds[j]) {
+                changes++;
+                i++;
+            } else {
+                changes++;
+                j++;
+            }
+        }
+        return changes + (oldIds.length - i) + (newIds.length - j);
+    }
+
+    /**
+     * Output of a background refresh
+     */
+    private static class RefreshResult {
+        final int[] ids;
+        final boolean sorted;
+        final Map<Integer, Product> products;
+        final DiffUtil.DiffResult diff;
+
+        RefreshResult(int[] ids, boolean sorted, Map<Integer, Product> products, DiffUtil.DiffResult diff) {
+            this.ids = ids;
+            this.sorted = sorted;
+            this.products = products;
+            this.diff = diff;
+        }
+    }
+}
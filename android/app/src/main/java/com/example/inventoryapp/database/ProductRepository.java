@@ -0,0 +1,484 @@
+package com.example.inventoryapp.database;
+
+import android.content.Context;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.OperationCanceledException;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.inventoryapp.alerts.LowStockMonitor;
+import com.example.inventoryapp.alerts.LowStockNotifier;
+import com.example.inventoryapp.model.CategorySummary;
+import com.example.inventoryapp.model.InventorySummary;
+import com.example.inventoryapp.model.Product;
+import com.example.inventoryapp.model.ProductSnapshot;
+import com.example.inventoryapp.model.StockMovement;
+import com.example.inventoryapp.reports.ReportEngine;
+import com.example.inventoryapp.reports.ReportWriter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ProductRepository Class
+ * Asynchronous access to DatabaseHelper so no disk I/O runs on the main thread
+ *
+ * Writes are serialised on a single writer thread. Reads run on a small pool,
+ * which the WAL connection allows to proceed alongside the writer.
+ * Results are delivered on the main thread, and so are failures when an
+ * ErrorCallback is given; otherwise a failure is only logged. When a
+ * LifecycleOwner is passed, the task is cancelled as soon as the owner is
+ * destroyed: pending reads are skipped, and writes still complete but their
+ * callbacks are dropped.
+ */
+public class ProductRepository {
+    private static final String TAG = "ProductRepository";
+    private static final int READER_THREADS = 3;
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    // Stock ledger maintenance
+    private static final long SNAPSHOT_INTERVAL_MS = TimeUnit.DAYS.toMillis(1);
+    private static final long MOVEMENTS_PER_SNAPSHOT = 10000;
+    private static final long LEDGER_RETENTION_MS = TimeUnit.DAYS.toMillis(90);
+    private static final int COMPACTION_CHUNK_SIZE = 2000;
+
+    // End-of-day report: products with no units out in this window count as slow movers
+    private static final long SLOW_MOVER_WINDOW_MS = TimeUnit.DAYS.toMillis(30);
+    private static final int SLOW_MOVER_MAX_UNITS = 0;
+
+    private static ProductRepository instance;
+
+    private final DatabaseHelper dbHelper;
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor(threadFactory("db-writer"));
+    private final ExecutorService readExecutor =
+            Executors.newFixedThreadPool(READER_THREADS, threadFactory("db-reader"));
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LowStockMonitor lowStockMonitor;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+
+    /**
+     * Interface for receiving a result on the main thread
+     */
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+
+    /**
+     * Interface for receiving on the main thread the exception an operation failed with
+     */
+    public interface ErrorCallback {
+        void onError(Exception e);
+    }
+
+    /**
+     * Interface for reads that can abort a running query
+     */
+    public interface CancellableWork<T> {
+        T run(CancellationSignal signal) throws Exception;
+    }
+
+    /**
+     * Handle to a submitted database operation
+     */
+    public static class DbTask<T> {
+        private volatile boolean cancelled;
+        private Future<?> future;
+        private final boolean interruptible;
+        private final CancellationSignal signal;
+
+        private DbTask(boolean interruptible, CancellationSignal signal) {
+            this.interruptible = interruptible;
+            this.signal = signal;
+        }
+
+        /**
+         * Stop delivering the result; reads that have not started are skipped
+         * and cancellable reads abort their running query
+         */
+        public void cancel() {
+            cancelled = true;
+            if (interruptible && future != null) {
+                future.cancel(false);
+            }
+            if (signal != null) {
+                signal.cancel();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Get the shared repository
+     * @param context Any context
+     * @return The single ProductRepository instance
+     */
+    public static synchronized ProductRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new ProductRepository(DatabaseHelper.getInstance(context), context);
+            instance.scheduleBackfillChunk();
+            instance.scheduleLedgerMaintenance();
+            instance.lowStockMonitor.addAlertListener(new LowStockNotifier(context));
+            instance.lowStockMonitor.start();
+            instance.catalogSnapshotStore.start();
+        }
+        return instance;
+    }
+
+    /**
+     * Constructor
+     * Package-private so tests can run a repository on their own database
+     */
+    ProductRepository(DatabaseHelper dbHelper, Context context) {
+        this.dbHelper = dbHelper;
+        this.lowStockMonitor = new LowStockMonitor(dbHelper);
+        this.catalogSnapshotStore = new CatalogSnapshotStore(dbHelper, context, "catalog.snapshot");
+    }
+
+    /**
+     * Underlying helper, for callers that already run off the main thread
+     */
+    public DatabaseHelper getDatabaseHelper() {
+        return dbHelper;
+    }
+
+    /**
+     * Live low stock set, updated from write events; its lookups do no I/O
+     */
+    public LowStockMonitor getLowStockMonitor() {
+        return lowStockMonitor;
+    }
+
+    /**
+     * On-disk catalogue snapshot the product list renders from at launch
+     */
+    public CatalogSnapshotStore getCatalogSnapshotStore() {
+        return catalogSnapshotStore;
+    }
+
+    // Reads
+
+    public DbTask<Product> getProductById(LifecycleOwner owner, int id, Callback<Product> callback) {
+        return read(owner, () -> dbHelper.getProductById(id), callback);
+    }
+
+    public DbTask<Product> getProductBySku(LifecycleOwner owner, String sku, Callback<Product> callback) {
+        return read(owner, () -> dbHelper.getProductBySku(sku), callback);
+    }
+
+    public DbTask<Integer> getProductCount(LifecycleOwner owner, Callback<Integer> callback) {
+        return read(owner, dbHelper::getProductCount, callback);
+    }
+
+    public DbTask<InventorySummary> getInventorySummary(LifecycleOwner owner, Callback<InventorySummary> callback) {
+        return read(owner, dbHelper::getInventorySummary, callback);
+    }
+
+    public DbTask<List<CategorySummary>> getCategoryBreakdown(LifecycleOwner owner,
+                                                               Callback<List<CategorySummary>> callback) {
+        return read(owner, dbHelper::getCategoryBreakdown, callback);
+    }
+
+    /**
+     * Generate the end-of-day report and stream it to a file
+     * The scan runs on the report engine's own threads and connections; this task waits for it
+     * and writes the rows as they arrive
+     * A partly written file is deleted however the report fails
+     * @param json Write JSON if true, CSV otherwise
+     * @param callback Receives the file, or null if it could not be written
+     * @param errorCallback Receives any other failure, such as a database error
+     */
+    public DbTask<File> writeInventoryReport(LifecycleOwner owner, File file, boolean json, Callback<File> callback,
+                                             ErrorCallback errorCallback) {
+        return read(owner, () -> {
+            File directory = file.getParentFile();
+            if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+                Log.e(TAG, "Cannot create " + directory);
+                return null;
+            }
+            boolean written = false;
+            try {
+                try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                    new ReportEngine(dbHelper).generate(System.currentTimeMillis() - SLOW_MOVER_WINDOW_MS,
+                            SLOW_MOVER_MAX_UNITS, json ? ReportWriter.json(out) : ReportWriter.csv(out));
+                }
+                written = true;
+                return file;
+            } catch (IOException e) {
+                Log.e(TAG, "Writing report failed", e);
+                return null;
+            } finally {
+                if (!written) {
+                    file.delete();
+                }
+            }
+        }, callback, errorCallback);
+    }
+
+    /**
+     * Export every product to a file, resuming an unfinished export to the same file
+     * Cancelling the task stops the export at the next window; calling again resumes it
+     * @param format ProductExporter.FORMAT_CSV or ProductExporter.FORMAT_JSON_LINES
+     * @param callback Receives the number of products exported
+     */
+    public DbTask<Integer> exportProducts(LifecycleOwner owner, File file, int format, boolean gzip,
+                                          Callback<Integer> callback) {
+        return readCancellable(owner,
+                signal -> new ProductExporter(dbHelper).export(file, format, gzip, signal, null), callback);
+    }
+
+    public DbTask<List<Product>> getLowStockProducts(LifecycleOwner owner, Callback<List<Product>> callback) {
+        return read(owner, dbHelper::getLowStockProducts, callback);
+    }
+
+    public DbTask<ProductSnapshot> getProductSnapshot(LifecycleOwner owner, Callback<ProductSnapshot> callback) {
+        return read(owner, dbHelper::getProductSnapshot, callback);
+    }
+
+    public DbTask<int[]> getAllProductIds(LifecycleOwner owner, Callback<int[]> callback) {
+        return read(owner, dbHelper::getAllProductIds, callback);
+    }
+
+    public DbTask<int[]> searchProductIds(LifecycleOwner owner, String searchTerm, Callback<int[]> callback) {
+        return readCancellable(owner, signal -> dbHelper.searchProductIds(searchTerm, signal), callback);
+    }
+
+    public DbTask<List<Product>> getProductsPage(LifecycleOwner owner, int afterId, int limit,
+                                                 Callback<List<Product>> callback) {
+        return read(owner, () -> dbHelper.getProductsPage(afterId, limit), callback);
+    }
+
+    // Writes
+
+    public DbTask<Long> addProduct(LifecycleOwner owner, Product product, Callback<Long> callback,
+                                   ErrorCallback errorCallback) {
+        return write(owner, () -> dbHelper.addProduct(product), callback, errorCallback);
+    }
+
+    public DbTask<Integer> updateProduct(LifecycleOwner owner, Product product, Callback<Integer> callback) {
+        return write(owner, () -> dbHelper.updateProduct(product), callback);
+    }
+
+    public DbTask<Integer> updateProductDetails(LifecycleOwner owner, Product product, int quantityDelta,
+                                                Callback<Integer> callback, ErrorCallback errorCallback) {
+        return write(owner, () -> dbHelper.updateProductDetails(product, quantityDelta), callback, errorCallback);
+    }
+
+    public DbTask<Integer> adjustQuantity(LifecycleOwner owner, int id, int delta, boolean requireNonNegative,
+                                          Callback<Integer> callback) {
+        return write(owner, () -> dbHelper.adjustQuantity(id, delta, requireNonNegative), callback);
+    }
+
+    /**
+     * Change the stock of the product with a SKU in one statement
+     * @param callback Receives the product ID, 0 if the guard rejected the change,
+     *                 or DatabaseHelper.SKU_NOT_FOUND
+     */
+    public DbTask<Integer> adjustQuantityBySku(LifecycleOwner owner, String sku, int delta,
+                                               boolean requireNonNegative, Callback<Integer> callback,
+                                               ErrorCallback errorCallback) {
+        return write(owner, () -> dbHelper.adjustQuantityBySku(sku, delta, requireNonNegative), callback,
+                errorCallback);
+    }
+
+    public DbTask<Boolean> adjustQuantities(LifecycleOwner owner, Map<Integer, Integer> deltas,
+                                            boolean requireNonNegative, Callback<Boolean> callback) {
+        return write(owner, () -> dbHelper.adjustQuantities(deltas, requireNonNegative), callback);
+    }
+
+    public DbTask<Integer> getQuantityAt(LifecycleOwner owner, int productId, long timeMillis,
+                                         Callback<Integer> callback) {
+        return read(owner, () -> dbHelper.getStockLedger().getQuantityAt(productId, timeMillis), callback);
+    }
+
+    public DbTask<List<StockMovement>> getStockMovements(LifecycleOwner owner, int productId, int limit,
+                                                         Callback<List<StockMovement>> callback) {
+        return read(owner, () -> dbHelper.getStockLedger().getMovements(productId, limit), callback);
+    }
+
+    public DbTask<Integer> deleteProduct(LifecycleOwner owner, int id, Callback<Integer> callback) {
+        return write(owner, () -> dbHelper.deleteProduct(id), callback);
+    }
+
+    /**
+     * Run a read-only operation on the reader pool
+     * @param owner Lifecycle to bind cancellation to, may be null
+     * @param work Operation to run in the background
+     * @param callback Receives the result on the main thread, may be null
+     */
+    public <T> DbTask<T> read(LifecycleOwner owner, Callable<T> work, Callback<T> callback) {
+        return read(owner, work, callback, null);
+    }
+
+    /**
+     * Run a read-only operation on the reader pool, reporting failures
+     * @param errorCallback Receives the exception on the main thread if the operation fails, may be null
+     */
+    public <T> DbTask<T> read(LifecycleOwner owner, Callable<T> work, Callback<T> callback,
+                              ErrorCallback errorCallback) {
+        return submit(readExecutor, new DbTask<>(true, null), owner, work, callback, errorCallback);
+    }
+
+    /**
+     * Run a read-only operation whose query is aborted when the task is cancelled
+     * @param owner Lifecycle to bind cancellation to, may be null
+     * @param work Operation to run in the background, given the task's CancellationSignal
+     * @param callback Receives the result on the main thread, may be null
+     */
+    public <T> DbTask<T> readCancellable(LifecycleOwner owner, CancellableWork<T> work, Callback<T> callback) {
+        final CancellationSignal signal = new CancellationSignal();
+        return submit(readExecutor, new DbTask<>(true, signal), owner, () -> work.run(signal), callback, null);
+    }
+
+    /**
+     * Run a modifying operation on the single writer thread
+     * @param owner Lifecycle to bind cancellation to, may be null
+     * @param work Operation to run in the background
+     * @param callback Receives the result on the main thread, may be null
+     */
+    public <T> DbTask<T> write(LifecycleOwner owner, Callable<T> work, Callback<T> callback) {
+        return write(owner, work, callback, null);
+    }
+
+    /**
+     * Run a modifying operation on the single writer thread, reporting failures
+     * @param errorCallback Receives the exception on the main thread if the operation fails, may be null
+     */
+    public <T> DbTask<T> write(LifecycleOwner owner, Callable<T> work, Callback<T> callback,
+                               ErrorCallback errorCallback) {
+        return submit(writeExecutor, new DbTask<>(false, null), owner, work, callback, errorCallback);
+    }
+
+    /**
+     * Run pending schema backfills one chunk at a time on the writer thread
+     * Each chunk queues the next, so user writes submitted meanwhile run in between
+     */
+    private void scheduleBackfillChunk() {
+        writeExecutor.execute(() -> {
+            try {
+                if (dbHelper.runBackfillChunk(BACKFILL_CHUNK_SIZE)) {
+                    scheduleBackfillChunk();
+                }
+            } catch (Exception e) {
+                // Progress is kept, the next app start resumes the backfill
+                Log.e(TAG, "Schema backfill failed", e);
+            }
+        });
+    }
+
+    /**
+     * Take a ledger snapshot when the last one is old or far behind, then
+     * compact history past the retention period one chunk at a time
+     */
+    private void scheduleLedgerMaintenance() {
+        writeExecutor.execute(() -> {
+            try {
+                StockLedger ledger = dbHelper.getStockLedger();
+                long now = System.currentTimeMillis();
+                if (now - ledger.getLatestSnapshotTime() >= SNAPSHOT_INTERVAL_MS
+                        || ledger.getMovementsSinceLatestSnapshot() >= MOVEMENTS_PER_SNAPSHOT) {
+                    ledger.takeSnapshot();
+                }
+                scheduleCompactionChunk(now - LEDGER_RETENTION_MS);
+            } catch (Exception e) {
+                Log.e(TAG, "Stock ledger maintenance failed", e);
+            }
+        });
+    }
+
+    private void scheduleCompactionChunk(long cutoffMillis) {
+        writeExecutor.execute(() -> {
+            try {
+                if (dbHelper.getStockLedger().compactChunk(cutoffMillis, COMPACTION_CHUNK_SIZE)) {
+                    scheduleCompactionChunk(cutoffMillis);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Stock ledger compaction failed", e);
+            }
+        });
+    }
+
+    private <T> DbTask<T> submit(ExecutorService executor, final DbTask<T> task, LifecycleOwner owner,
+                                 Callable<T> work, Callback<T> callback, ErrorCallback errorCallback) {
+        final LifecycleEventObserver observer = owner == null ? null : new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    task.cancel();
+                    source.getLifecycle().removeObserver(this);
+                }
+            }
+        };
+        if (observer != null) {
+            owner.getLifecycle().addObserver(observer);
+        }
+
+        task.future = executor.submit(() -> {
+            if (task.isCancelled()) {
+                return;
+            }
+            T result = null;
+            boolean succeeded = false;
+            Exception failure = null;
+            try {
+                result = work.call();
+                succeeded = true;
+            } catch (OperationCanceledException e) {
+                // Cancelled on purpose, nothing to deliver
+            } catch (Exception e) {
+                Log.e(TAG, "Database operation failed", e);
+                failure = e;
+            }
+
+            final T delivered = result;
+            final boolean deliver = succeeded;
+            final Exception error = failure;
+            mainHandler.post(() -> {
+                if (observer != null) {
+                    owner.getLifecycle().removeObserver(observer);
+                }
+                if (task.isCancelled()) {
+                    return;
+                }
+                if (deliver && callback != null) {
+                    callback.onResult(delivered);
+                } else if (error != null && errorCallback != null) {
+                    errorCallback.onError(error);
+                }
+            });
+        });
+        return task;
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,500 @@
+package com.example.inventoryapp.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * SchemaMigrations Class
+ * Versioned, non-destructive schema history for the inventory database
+ *
+ * Step N upgrades a version N-1 database to version N. Steps only add or
+ * alter schema objects and never drop user data. SQL is written out as it
+ * was at that version so that later renames in DatabaseHelper cannot change
+ * what an old step does.
+ *
+ * A fresh install creates the version 1 schema and replays every step, so
+ * new and upgraded databases always end with the same schema.
+ * SQLiteOpenHelper runs onCreate/onUpgrade inside a single transaction, so
+ * an upgrade is applied completely or not at all.
+ *
+ * Work that is too slow to run while the app starts (rewriting every row)
+ * is registered as a Backfill instead and run later in small chunks.
+ */
+final class SchemaMigrations {
+    static final int LATEST_VERSION = 10;
+
+    // Bookkeeping for chunked backfills
+    static final String TABLE_BACKFILLS = "schema_backfills";
+    static final String COLUMN_BACKFILL_NAME = "name";
+    static final String COLUMN_BACKFILL_LAST_ID = "last_id";
+
+    /**
+     * One schema step
+     */
+    private interface Migration {
+        void migrate(SQLiteDatabase db);
+    }
+
+    /**
+     * Row-by-row data change that runs after the upgrade, one chunk per transaction
+     * Chunks walk the products table in ID order, so a backfill that was
+     * interrupted resumes after the last ID it committed
+     */
+    interface Backfill {
+        /**
+         * Unique name recorded in the backfill table
+         */
+        String name();
+
+        /**
+         * Process the next chunk of rows
+         * @param db Database inside the chunk's transaction
+         * @param afterId Only rows with an ID greater than this are processed
+         * @param limit Maximum number of rows in the chunk
+         * @return Highest ID processed, or -1 when no rows were left
+         */
+        long runChunk(SQLiteDatabase db, long afterId, int limit);
+    }
+
+    // Every backfill a migration step may schedule, looked up by name
+    private static final Backfill[] BACKFILLS = {
+            new PriceCentsBackfill(),
+            new CategoryIdBackfill(),
+            new ChangeSeqBackfill(),
+    };
+
+    // STEPS[i] upgrades version i + 1 to version i + 2
+    private static final Migration[] STEPS = {
+            SchemaMigrations::migrateToVersion2,
+            SchemaMigrations::migrateToVersion3,
+            SchemaMigrations::migrateToVersion4,
+            SchemaMigrations::migrateToVersion5,
+            SchemaMigrations::migrateToVersion6,
+            SchemaMigrations::migrateToVersion7,
+            SchemaMigrations::migrateToVersion8,
+            SchemaMigrations::migrateToVersion9,
+            SchemaMigrations::migrateToVersion10,
+    };
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Create the original version 1 schema
+     */
+    static void createVersion1(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE products (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "name TEXT NOT NULL, " +
+                "category TEXT NOT NULL, " +
+                "price REAL NOT NULL, " +
+                "quantity INTEGER NOT NULL)");
+    }
+
+    /**
+     * Apply every step between two versions in order
+     * @param db Database inside the open helper's transaction
+     * @param fromVersion Current schema version
+     * @param toVersion Target schema version
+     */
+    static void migrate(SQLiteDatabase db, int fromVersion, int toVersion) {
+        if (toVersion > LATEST_VERSION) {
+            throw new IllegalArgumentException("No migration to version " + toVersion);
+        }
+        for (int version = fromVersion + 1; version <= toVersion; version++) {
+            STEPS[version - 2].migrate(db);
+        }
+    }
+
+    /**
+     * Version 2: trigger-maintained inventory summary
+     */
+    private static void migrateToVersion2(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE inventory_summary (" +
+                "id INTEGER PRIMARY KEY CHECK (id = 1), " +
+                "sku_count INTEGER NOT NULL, " +
+                "low_stock_count INTEGER NOT NULL, " +
+                "total_units INTEGER NOT NULL, " +
+                "total_value REAL NOT NULL)");
+        rebuildSummary(db, "quantity < 5", "price * quantity", "total_value", "price, quantity");
+    }
+
+    /**
+     * Version 3: reorder levels, category thresholds and lookup indexes
+     * The partial index holds only low stock rows, so the low stock query and
+     * its count read just those rows instead of scanning the table
+     */
+    private static void migrateToVersion3(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE products ADD COLUMN reorder_level INTEGER NOT NULL DEFAULT 5");
+        db.execSQL("CREATE TABLE category_thresholds (" +
+                "category TEXT PRIMARY KEY, " +
+                "reorder_level INTEGER NOT NULL)");
+
+        db.execSQL("CREATE INDEX idx_products_quantity ON products (quantity)");
+        db.execSQL("CREATE INDEX idx_products_category ON products (category)");
+        db.execSQL("CREATE INDEX idx_products_low_stock ON products (quantity, reorder_level)" +
+                " WHERE quantity < reorder_level");
+
+        rebuildSummary(db, "quantity < reorder_level", "price * quantity", "total_value",
+                "price, quantity, reorder_level");
+    }
+
+    /**
+     * Version 4: FTS4 index over product names and categories
+     * It is an external-content table reading from products, so text is not
+     * stored twice. Triggers keep it in step with products; quantity or price
+     * updates do not touch it.
+     */
+    private static void migrateToVersion4(SQLiteDatabase db) {
+        db.execSQL("CREATE VIRTUAL TABLE products_fts USING fts4(content=\"products\", name, category)");
+
+        String ftsInsert = "INSERT INTO products_fts (docid, name, category) " +
+                "VALUES (NEW.id, NEW.name, NEW.category);";
+        String ftsDelete = "DELETE FROM products_fts WHERE docid = OLD.id;";
+
+        // Old rows must leave the index before the content table changes
+        db.execSQL("CREATE TRIGGER products_fts_before_update BEFORE UPDATE OF name, category ON products" +
+                " BEGIN " + ftsDelete + " END");
+        db.execSQL("CREATE TRIGGER products_fts_before_delete BEFORE DELETE ON products" +
+                " BEGIN " + ftsDelete + " END");
+        db.execSQL("CREATE TRIGGER products_fts_after_update AFTER UPDATE OF name, category ON products" +
+                " BEGIN " + ftsInsert + " END");
+        db.execSQL("CREATE TRIGGER products_fts_after_insert AFTER INSERT ON products" +
+                " BEGIN " + ftsInsert + " END");
+
+        // Index any rows that already exist
+        db.execSQL("INSERT INTO products_fts (products_fts) VALUES ('rebuild')");
+    }
+
+    /**
+     * Version 5: progress table for resumable chunked backfills
+     */
+    private static void migrateToVersion5(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_BACKFILLS + " (" +
+                COLUMN_BACKFILL_NAME + " TEXT PRIMARY KEY, " +
+                COLUMN_BACKFILL_LAST_ID + " INTEGER NOT NULL DEFAULT 0)");
+    }
+
+    /**
+     * Find a registered backfill by name
+     * @return The backfill, or null if this version no longer knows it
+     */
+    static Backfill findBackfill(String name) {
+        for (Backfill backfill : BACKFILLS) {
+            if (backfill.name().equals(name)) {
+                return backfill;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Version 6: prices as integer cents
+     * price_cents is filled for existing rows by PriceCentsBackfill; until a
+     * row is reached, readers fall back to its REAL price. The summary table
+     * only holds derived totals, so it is recreated with an exact integer
+     * value column and recomputed.
+     */
+    private static void migrateToVersion6(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE products ADD COLUMN price_cents INTEGER");
+
+        db.execSQL("DROP TABLE inventory_summary");
+        db.execSQL("CREATE TABLE inventory_summary (" +
+                "id INTEGER PRIMARY KEY CHECK (id = 1), " +
+                "sku_count INTEGER NOT NULL, " +
+                "low_stock_count INTEGER NOT NULL, " +
+                "total_units INTEGER NOT NULL, " +
+                "total_value_cents INTEGER NOT NULL)");
+        rebuildSummary(db, "quantity < reorder_level",
+                "COALESCE(price_cents, CAST(ROUND(price * 100) AS INTEGER)) * quantity", "total_value_cents",
+                "price, price_cents, quantity, reorder_level");
+
+        scheduleBackfill(db, PriceCentsBackfill.NAME);
+    }
+
+    /**
+     * Version 7: append-only stock movement ledger with quantity snapshots
+     * Triggers add a movement in the same transaction as every quantity
+     * change. A base snapshot of the current quantities marks where history starts.
+     */
+    private static void migrateToVersion7(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE stock_movements (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "product_id INTEGER NOT NULL, " +
+                "delta INTEGER NOT NULL, " +
+                "created_at INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX idx_stock_movements_product ON stock_movements (product_id, created_at)");
+
+        db.execSQL("CREATE TABLE stock_snapshots (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "taken_at INTEGER NOT NULL, " +
+                "last_movement_id INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX idx_stock_snapshots_taken_at ON stock_snapshots (taken_at)");
+        db.execSQL("CREATE TABLE stock_snapshot_items (" +
+                "snapshot_id INTEGER NOT NULL, " +
+                "product_id INTEGER NOT NULL, " +
+                "quantity INTEGER NOT NULL, " +
+                "PRIMARY KEY (snapshot_id, product_id)) WITHOUT ROWID");
+
+        // Milliseconds since the epoch, matching System.currentTimeMillis()
+        String now = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+        db.execSQL("CREATE TRIGGER stock_movements_insert AFTER INSERT ON products WHEN NEW.quantity <> 0 BEGIN " +
+                "INSERT INTO stock_movements (product_id, delta, created_at) VALUES (NEW.id, NEW.quantity, " + now + "); END");
+        db.execSQL("CREATE TRIGGER stock_movements_update AFTER UPDATE OF quantity ON products " +
+                "WHEN NEW.quantity <> OLD.quantity BEGIN " +
+                "INSERT INTO stock_movements (product_id, delta, created_at) " +
+                "VALUES (NEW.id, NEW.quantity - OLD.quantity, " + now + "); END");
+        db.execSQL("CREATE TRIGGER stock_movements_delete AFTER DELETE ON products WHEN OLD.quantity <> 0 BEGIN " +
+                "INSERT INTO stock_movements (product_id, delta, created_at) VALUES (OLD.id, -OLD.quantity, " + now + "); END");
+
+        db.execSQL("INSERT INTO stock_snapshots (taken_at, last_movement_id) VALUES (" + now + ", 0)");
+        db.execSQL("INSERT INTO stock_snapshot_items (snapshot_id, product_id, quantity) " +
+                "SELECT (SELECT MAX(id) FROM stock_snapshots), id, quantity FROM products WHERE quantity <> 0");
+    }
+
+    /**
+     * Version 8: change tracking for sync with the backend
+     * Every local insert or edit stamps the row with the next value of a
+     * change counter; rows with a stamp above the pushed watermark are dirty.
+     * Deleting a row the server knows about leaves a tombstone to push.
+     * Existing rows are stamped by ChangeSeqBackfill rather than here, so the
+     * upgrade does not rewrite every row; until a row is reached it is not
+     * yet dirty, and the stamp it then gets is above anything pushed before.
+     */
+    private static void migrateToVersion8(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE products ADD COLUMN remote_id INTEGER");
+        db.execSQL("ALTER TABLE products ADD COLUMN change_seq INTEGER NOT NULL DEFAULT 0");
+        db.execSQL("ALTER TABLE products ADD COLUMN updated_at INTEGER NOT NULL DEFAULT 0");
+        db.execSQL("CREATE UNIQUE INDEX idx_products_remote_id ON products (remote_id)");
+        db.execSQL("CREATE INDEX idx_products_change_seq ON products (change_seq)");
+
+        db.execSQL("CREATE TABLE sync_state (key TEXT PRIMARY KEY, value INTEGER NOT NULL)");
+        db.execSQL("CREATE TABLE sync_tombstones (" +
+                "remote_id INTEGER PRIMARY KEY, " +
+                "deleted_at INTEGER NOT NULL)");
+
+        String now = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+
+        db.execSQL("INSERT INTO sync_state (key, value) VALUES ('change_seq', 0)");
+        db.execSQL("INSERT INTO sync_state (key, value) VALUES ('pushed_seq', 0)");
+        db.execSQL("INSERT INTO sync_state (key, value) VALUES ('pull_watermark', 0)");
+
+        String stamp = "UPDATE sync_state SET value = value + 1 WHERE key = 'change_seq'; " +
+                "UPDATE products SET change_seq = (SELECT value FROM sync_state WHERE key = 'change_seq'), " +
+                "updated_at = " + now + " WHERE id = NEW.id;";
+        db.execSQL("CREATE TRIGGER sync_products_insert AFTER INSERT ON products BEGIN " + stamp + " END");
+        // Every edit writes price together with price_cents; watching price alone keeps
+        // the price_cents backfill from marking rows dirty
+        db.execSQL("CREATE TRIGGER sync_products_update AFTER UPDATE OF name, category, price, quantity " +
+                "ON products BEGIN " + stamp + " END");
+        db.execSQL("CREATE TRIGGER sync_products_delete AFTER DELETE ON products WHEN OLD.remote_id IS NOT NULL BEGIN " +
+                "INSERT OR REPLACE INTO sync_tombstones (remote_id, deleted_at) VALUES (OLD.remote_id, " + now + "); END");
+
+        // Nothing has been pushed yet, so every existing row is to become dirty
+        scheduleBackfill(db, ChangeSeqBackfill.NAME);
+    }
+
+    /**
+     * Version 9: categories as a dimension table
+     * Every product gets an integer category_id. The category text stays on
+     * the row as the display and search copy; the full-text index reads it
+     * from there. Triggers keep category_id in step for every writer.
+     * Existing rows are filled in by CategoryIdBackfill; until a row is
+     * reached, readers resolve its category_id from the text.
+     *
+     * The covering index lets per-category counts, units and values be
+     * grouped straight from the index without touching the table.
+     */
+    private static void migrateToVersion9(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE categories (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "name TEXT NOT NULL UNIQUE)");
+        // Distinct names come from idx_products_category, so this does not scan the table
+        db.execSQL("INSERT OR IGNORE INTO categories (name) SELECT DISTINCT category FROM products ORDER BY category");
+        db.execSQL("INSERT OR IGNORE INTO categories (name) SELECT category FROM category_thresholds");
+
+        db.execSQL("ALTER TABLE products ADD COLUMN category_id INTEGER REFERENCES categories (id)");
+        db.execSQL("CREATE INDEX idx_products_category_id ON products " +
+                "(category_id, quantity, price_cents, price, reorder_level)");
+
+        String resolve = "INSERT OR IGNORE INTO categories (name) VALUES (NEW.category); " +
+                "UPDATE products SET category_id = (SELECT id FROM categories WHERE name = NEW.category) " +
+                "WHERE id = NEW.id;";
+        // Inserts from DatabaseHelper already carry the ID of a known category
+        db.execSQL("CREATE TRIGGER products_category_insert AFTER INSERT ON products " +
+                "WHEN NEW.category_id IS NULL BEGIN " + resolve + " END");
+        db.execSQL("CREATE TRIGGER products_category_update AFTER UPDATE OF category ON products " +
+                "WHEN NEW.category IS NOT OLD.category BEGIN " + resolve + " END");
+
+        scheduleBackfill(db, CategoryIdBackfill.NAME);
+    }
+
+    /**
+     * Version 10: SKU (barcode) per product
+     * The unique index makes a scanner lookup one B-tree probe. It is partial,
+     * so products without a SKU take no space in it; a lookup by SKU = ? can
+     * still use it because the comparison rules out NULL. Adding a NULL
+     * column does not rewrite the table.
+     */
+    private static void migrateToVersion10(SQLiteDatabase db) {
+        db.execSQL("ALTER TABLE products ADD COLUMN sku TEXT");
+        db.execSQL("CREATE UNIQUE INDEX idx_products_sku ON products (sku) WHERE sku IS NOT NULL");
+    }
+
+    /**
+     * Queue a backfill; it starts after the upgrade and resumes where it left off
+     */
+    static void scheduleBackfill(SQLiteDatabase db, String name) {
+        db.execSQL("INSERT OR IGNORE INTO " + TABLE_BACKFILLS + " (" + COLUMN_BACKFILL_NAME + ") VALUES (?)",
+                new Object[]{name});
+    }
+
+    /**
+     * Recompute the summary row and (re)create the triggers that keep it in step
+     * @param lowStock SQL condition for a low stock row, using unqualified columns
+     * @param value SQL expression for the stock value of a row, using unqualified columns
+     * @param valueColumn Summary column holding the total value
+     * @param watchedColumns Columns whose updates can change the summary
+     */
+    private static void rebuildSummary(SQLiteDatabase db, String lowStock, String value, String valueColumn,
+                                       String watchedColumns) {
+        db.execSQL("DROP TRIGGER IF EXISTS products_summary_insert");
+        db.execSQL("DROP TRIGGER IF EXISTS products_summary_delete");
+        db.execSQL("DROP TRIGGER IF EXISTS products_summary_update");
+        db.execSQL("DELETE FROM inventory_summary");
+
+        db.execSQL("INSERT INTO inventory_summary (id, sku_count, low_stock_count, total_units, " +
+                valueColumn + ") SELECT 1, COUNT(*), " +
+                "COALESCE(SUM(" + lowStock + "), 0), " +
+                "COALESCE(SUM(quantity), 0), " +
+                "COALESCE(SUM(" + value + "), 0) " +
+                "FROM products");
+
+        db.execSQL("CREATE TRIGGER products_summary_insert AFTER INSERT ON products BEGIN " +
+                summaryDelta("+", "NEW.", lowStock, value, valueColumn) + " END");
+        db.execSQL("CREATE TRIGGER products_summary_delete AFTER DELETE ON products BEGIN " +
+                summaryDelta("-", "OLD.", lowStock, value, valueColumn) + " END");
+        db.execSQL("CREATE TRIGGER products_summary_update AFTER UPDATE OF " + watchedColumns + " ON products BEGIN " +
+                summaryDelta("-", "OLD.", lowStock, value, valueColumn) + " " +
+                summaryDelta("+", "NEW.", lowStock, value, valueColumn) + " END");
+    }
+
+    /**
+     * UPDATE statement that adds or removes one product row from the summary
+     */
+    private static String summaryDelta(String sign, String row, String lowStock, String value,
+                                       String valueColumn) {
+        return "UPDATE inventory_summary SET " +
+                "sku_count = sku_count " + sign + " 1, " +
+                "low_stock_count = low_stock_count " + sign + " (" + qualify(lowStock, row) + "), " +
+                "total_units = total_units " + sign + " " + row + "quantity, " +
+                valueColumn + " = " + valueColumn + " " + sign + " (" + qualify(value, row) + ") " +
+                "WHERE id = 1;";
+    }
+
+    /**
+     * Prefix the product columns in an expression with NEW. or OLD.
+     */
+    private static String qualify(String expression, String row) {
+        return expression.replaceAll("\\b(quantity|reorder_level|price_cents|price)\\b", row + "$1");
+    }
+
+    /**
+     * Highest product ID among the next chunk of rows
+     * @return The ID, or -1 when no rows are left after afterId
+     */
+    private static long lastIdOfChunk(SQLiteDatabase db, long afterId, int limit) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery("SELECT MAX(id) FROM (SELECT id FROM products WHERE id > ? ORDER BY id LIMIT ?)",
+                    new String[]{String.valueOf(afterId), String.valueOf(limit)});
+            if (cursor.moveToFirst() && !cursor.isNull(0)) {
+                return cursor.getLong(0);
+            }
+            return -1;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * Fills price_cents from the REAL price column, one ID range per chunk
+     */
+    private static final class PriceCentsBackfill implements Backfill {
+        static final String NAME = "price_cents";
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public long runChunk(SQLiteDatabase db, long afterId, int limit) {
+            long lastId = lastIdOfChunk(db, afterId, limit);
+            if (lastId >= 0) {
+                db.execSQL("UPDATE products SET price_cents = CAST(ROUND(price * 100) AS INTEGER) " +
+                        "WHERE id > ? AND id <= ? AND price_cents IS NULL", new Object[]{afterId, lastId});
+            }
+            return lastId;
+        }
+    }
+
+    /**
+     * Fills category_id from the category text, one ID range per chunk
+     */
+    private static final class CategoryIdBackfill implements Backfill {
+        static final String NAME = "category_id";
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public long runChunk(SQLiteDatabase db, long afterId, int limit) {
+            long lastId = lastIdOfChunk(db, afterId, limit);
+            if (lastId >= 0) {
+                // Categories added since the upgrade are already in the table via the triggers
+                db.execSQL("UPDATE products SET category_id = " +
+                        "(SELECT id FROM categories WHERE categories.name = products.category) " +
+                        "WHERE id > ? AND id <= ? AND category_id IS NULL", new Object[]{afterId, lastId});
+            }
+            return lastId;
+        }
+    }
+
+    /**
+     * Stamps rows that predate change tracking, one ID range per chunk
+     * Each chunk takes fresh values from the change counter, so the rows
+     * sort after every change already pushed and are picked up by the next
+     * push. Rows edited since the upgrade already carry a stamp, and rows
+     * from the server have a remote ID and a stamp of 0 on purpose; both
+     * are left alone.
+     */
+    private static final class ChangeSeqBackfill implements Backfill {
+        static final String NAME = "change_seq";
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+
+        @Override
+        public long runChunk(SQLiteDatabase db, long afterId, int limit) {
+            long lastId = lastIdOfChunk(db, afterId, limit);
+            if (lastId >= 0) {
+                // Stamps are unique, as pushes page through them in order; IDs with no row leave gaps
+                db.execSQL("UPDATE products SET " +
+                        "change_seq = (SELECT value FROM sync_state WHERE key = 'change_seq') + (id - ?1), " +
+                        "updated_at = CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER) " +
+                        "WHERE id > ?1 AND id <= ?2 AND change_seq = 0 AND remote_id IS NULL",
+                        new Object[]{afterId, lastId});
+                db.execSQL("UPDATE sync_state SET value = value + (?2 - ?1) WHERE key = 'change_seq'",
+                        new Object[]{afterId, lastId});
+            }
+            return lastId;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.inventoryapp.database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SkuCache Class
+ * Small LRU map from SKU to product ID for the barcode scanner path
+ *
+ * A scanning session keeps hitting the same few hundred SKUs, so their IDs
+ * are kept here and the index lookup is skipped. Entries are not kept
+ * coherent by writes: callers check the product they reach through an ID
+ * still has the SKU, and remove the entry when it does not.
+ * All methods are thread-safe.
+ */
+public final class SkuCache {
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final LinkedHashMap<String, Integer> entries;
+
+    /**
+     * Constructor
+     * @param maxEntries Maximum number of cached SKUs
+     */
+    public SkuCache(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        // Access order makes the least recently scanned SKU the eldest
+        this.entries = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return The cached product ID, or null on a miss
+     */
+    public synchronized Integer get(String sku) {
+        return entries.get(sku);
+    }
+
+    public synchronized void put(String sku, int id) {
+        entries.put(sku, id);
+    }
+
+    /**
+     * Drop an entry found to be stale
+     */
+    public synchronized void remove(String sku) {
+        entries.remove(sku);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
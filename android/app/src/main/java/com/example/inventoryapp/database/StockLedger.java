@@ -0,0 +1,227 @@
+package com.example.inventoryapp.database;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.example.inventoryapp.model.StockMovement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StockLedger Class
+ * Queries and maintenance for the stock movement ledger
+ *
+ * Triggers on products append a movement for every quantity change, in the
+ * same transaction as the change, so bulk writes record their movements in
+ * the same batches. Snapshots store every product's quantity at a point in
+ * time; a past quantity is read from the nearest earlier snapshot plus the
+ * movements after it. Compaction removes movements that a newer snapshot
+ * already covers, so the ledger does not grow without bound. History
+ * starts at the oldest retained snapshot; schema version 7 takes the first.
+ */
+public class StockLedger {
+    private static final String TABLE_MOVEMENTS = "stock_movements";
+    private static final String TABLE_SNAPSHOTS = "stock_snapshots";
+    private static final String TABLE_SNAPSHOT_ITEMS = "stock_snapshot_items";
+
+    private static final String COLUMN_ID = "id";
+    private static final String COLUMN_PRODUCT_ID = "product_id";
+    private static final String COLUMN_DELTA = "delta";
+    private static final String COLUMN_CREATED_AT = "created_at";
+    private static final String COLUMN_TAKEN_AT = "taken_at";
+    private static final String COLUMN_LAST_MOVEMENT_ID = "last_movement_id";
+
+    // Returned by getQuantityAt when the requested time predates the retained history
+    public static final int UNKNOWN_QUANTITY = -1;
+
+    private final DatabaseHelper dbHelper;
+
+    /**
+     * Constructor
+     */
+    StockLedger(DatabaseHelper dbHelper) {
+        this.dbHelper = dbHelper;
+    }
+
+    /**
+     * Recent movements of one product, newest first
+     * @param productId Product ID
+     * @param limit Maximum number of movements
+     * @return Movements ordered from newest to oldest
+     */
+    public List<StockMovement> getMovements(int productId, int limit) {
+        List<StockMovement> movements = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            cursor = db.query(TABLE_MOVEMENTS,
+                    new String[]{COLUMN_ID, COLUMN_PRODUCT_ID, COLUMN_DELTA, COLUMN_CREATED_AT},
+                    COLUMN_PRODUCT_ID + " = ?",
+                    new String[]{String.valueOf(productId)},
+                    null, null, COLUMN_ID + " DESC", String.valueOf(limit));
+
+            while (cursor != null && cursor.moveToNext()) {
+                movements.add(new StockMovement(cursor.getLong(0), cursor.getInt(1),
+                        cursor.getInt(2), cursor.getLong(3)));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        return movements;
+    }
+
+    /**
+     * Quantity a product had at a point in time
+     * Reads the nearest snapshot taken at or before the time and replays only
+     * the movements recorded after it. A single statement, so a concurrent
+     * snapshot or compaction is never seen halfway.
+     * @param productId Product ID
+     * @param timeMillis Point in time, in milliseconds since the epoch
+     * @return The quantity, or UNKNOWN_QUANTITY if that time is older than the retained history
+     */
+    public int getQuantityAt(int productId, long timeMillis) {
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            cursor = db.rawQuery("SELECT " +
+                            "COALESCE((SELECT quantity FROM " + TABLE_SNAPSHOT_ITEMS +
+                            " WHERE snapshot_id = s." + COLUMN_ID + " AND " + COLUMN_PRODUCT_ID + " = ?1), 0) + " +
+                            "COALESCE((SELECT SUM(" + COLUMN_DELTA + ") FROM " + TABLE_MOVEMENTS +
+                            " WHERE " + COLUMN_PRODUCT_ID + " = ?1 AND " + COLUMN_ID + " > s." + COLUMN_LAST_MOVEMENT_ID +
+                            " AND " + COLUMN_CREATED_AT + " <= ?2), 0) " +
+                            "FROM (SELECT " + COLUMN_ID + ", " + COLUMN_LAST_MOVEMENT_ID + " FROM " + TABLE_SNAPSHOTS +
+                            " WHERE " + COLUMN_TAKEN_AT + " <= ?2 ORDER BY " + COLUMN_TAKEN_AT + " DESC, " +
+                            COLUMN_ID + " DESC LIMIT 1) s",
+                    new String[]{String.valueOf(productId), String.valueOf(timeMillis)});
+
+            // No snapshot that early: history starts at the oldest retained snapshot
+            return cursor != null && cursor.moveToFirst() ? cursor.getInt(0) : UNKNOWN_QUANTITY;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * Record the current quantity of every product
+     * Must run on the writer so products and the ledger are read at the same point
+     * @return ID of the new snapshot
+     */
+    public long takeSnapshot() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransactionNonExclusive();
+
+        try {
+            db.execSQL("INSERT INTO " + TABLE_SNAPSHOTS + " (" + COLUMN_TAKEN_AT + ", " + COLUMN_LAST_MOVEMENT_ID +
+                            ") SELECT ?, COALESCE(MAX(" + COLUMN_ID + "), 0) FROM " + TABLE_MOVEMENTS,
+                    new Object[]{System.currentTimeMillis()});
+            long snapshotId = queryLong(db, "SELECT MAX(" + COLUMN_ID + ") FROM " + TABLE_SNAPSHOTS, 0);
+            db.execSQL("INSERT INTO " + TABLE_SNAPSHOT_ITEMS + " (snapshot_id, " + COLUMN_PRODUCT_ID + ", quantity) " +
+                    "SELECT ?, id, quantity FROM products WHERE quantity <> 0", new Object[]{snapshotId});
+
+            db.setTransactionSuccessful();
+            return snapshotId;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Time of the newest snapshot
+     * @return Milliseconds since the epoch, or 0 if there is none
+     */
+    public long getLatestSnapshotTime() {
+        return queryLong(dbHelper.getReadableDatabase(),
+                "SELECT COALESCE(MAX(" + COLUMN_TAKEN_AT + "), 0) FROM " + TABLE_SNAPSHOTS, 0);
+    }
+
+    /**
+     * Number of movements recorded after the newest snapshot
+     */
+    public long getMovementsSinceLatestSnapshot() {
+        return queryLong(dbHelper.getReadableDatabase(),
+                "SELECT COUNT(*) FROM " + TABLE_MOVEMENTS + " WHERE " + COLUMN_ID + " > " +
+                        "(SELECT COALESCE(MAX(" + COLUMN_LAST_MOVEMENT_ID + "), 0) FROM " + TABLE_SNAPSHOTS + ")", 0);
+    }
+
+    /**
+     * Remove one chunk of history older than a cutoff
+     * The newest snapshot taken at or before the cutoff becomes the oldest one
+     * kept; earlier snapshots and the movements it covers are deleted. Call again
+     * until it returns false; each chunk is its own short transaction.
+     * @param cutoffMillis History before this time may be dropped
+     * @param chunkSize Maximum movements deleted per call
+     * @return true if more history remains to be removed
+     */
+    public boolean compactChunk(long cutoffMillis, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransactionNonExclusive();
+
+        try {
+            long baseId = -1;
+            long coveredMovementId = 0;
+            Cursor cursor = null;
+            try {
+                cursor = db.query(TABLE_SNAPSHOTS,
+                        new String[]{COLUMN_ID, COLUMN_LAST_MOVEMENT_ID},
+                        COLUMN_TAKEN_AT + " <= ?",
+                        new String[]{String.valueOf(cutoffMillis)},
+                        null, null, COLUMN_TAKEN_AT + " DESC, " + COLUMN_ID + " DESC", "1");
+                if (cursor != null && cursor.moveToFirst()) {
+                    baseId = cursor.getLong(0);
+                    coveredMovementId = cursor.getLong(1);
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+
+            if (baseId < 0) {
+                db.setTransactionSuccessful();
+                return false;
+            }
+
+            // Older snapshots go first, so no query can replay a tail that is being removed
+            String older = "SELECT " + COLUMN_ID + " FROM " + TABLE_SNAPSHOTS + " WHERE " + COLUMN_ID + " <> " +
+                    baseId + " AND " + COLUMN_TAKEN_AT + " <= " + cutoffMillis;
+            db.execSQL("DELETE FROM " + TABLE_SNAPSHOT_ITEMS + " WHERE snapshot_id IN (" + older + ")");
+            db.execSQL("DELETE FROM " + TABLE_SNAPSHOTS + " WHERE " + COLUMN_ID + " IN (" + older + ")");
+
+            String[] coveredArgs = {String.valueOf(coveredMovementId), String.valueOf(chunkSize)};
+            db.execSQL("DELETE FROM " + TABLE_MOVEMENTS + " WHERE " + COLUMN_ID + " IN (SELECT " + COLUMN_ID +
+                    " FROM " + TABLE_MOVEMENTS + " WHERE " + COLUMN_ID + " <= ? ORDER BY " + COLUMN_ID +
+                    " LIMIT ?)", coveredArgs);
+            boolean moreMovements = queryLong(db, "SELECT EXISTS (SELECT 1 FROM " + TABLE_MOVEMENTS +
+                    " WHERE " + COLUMN_ID + " <= " + coveredMovementId + ")", 0) != 0;
+
+            db.setTransactionSuccessful();
+            return moreMovements;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static long queryLong(SQLiteDatabase db, String sql, long fallback) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery(sql, null);
+            return cursor != null && cursor.moveToFirst() && !cursor.isNull(0) ? cursor.getLong(0) : fallback;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+}
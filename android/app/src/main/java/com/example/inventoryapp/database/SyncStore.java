@@ -0,0 +1,314 @@
+package com.example.inventoryapp.database;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.example.inventoryapp.model.SyncChange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SyncStore Class
+ * Local side of sync: dirty-row tracking, watermarks and applying server changes
+ *
+ * Triggers stamp every local insert or edit with the next value of a change
+ * counter. Rows stamped above pushed_seq still have to be pushed. Changes
+ * from the server are applied with a stamp of 0, so they are not pushed back.
+ *
+ * Conflicts are resolved the same way on both sides: the change with the
+ * later updated_at wins, and on a tie the server's version wins.
+ */
+public class SyncStore {
+    private static final String TABLE_PRODUCTS = "products";
+    private static final String TABLE_SYNC_STATE = "sync_state";
+    private static final String TABLE_TOMBSTONES = "sync_tombstones";
+
+    private static final String COLUMN_ID = "id";
+    private static final String COLUMN_REMOTE_ID = "remote_id";
+    private static final String COLUMN_CHANGE_SEQ = "change_seq";
+    private static final String COLUMN_UPDATED_AT = "updated_at";
+    private static final String COLUMN_DELETED_AT = "deleted_at";
+
+    private static final String KEY_PUSHED_SEQ = "pushed_seq";
+    private static final String KEY_PULL_WATERMARK = "pull_watermark";
+
+    private final DatabaseHelper dbHelper;
+
+    /**
+     * Constructor
+     */
+    SyncStore(DatabaseHelper dbHelper) {
+        this.dbHelper = dbHelper;
+    }
+
+    /**
+     * Highest change stamp the server has acknowledged
+     */
+    public long getPushedSeq() {
+        return getState(dbHelper.getReadableDatabase(), KEY_PUSHED_SEQ);
+    }
+
+    /**
+     * Server watermark of the last applied pull; pulls ask for changes after it
+     */
+    public long getPullWatermark() {
+        return getState(dbHelper.getReadableDatabase(), KEY_PULL_WATERMARK);
+    }
+
+    /**
+     * Oldest local changes not yet pushed
+     * @param limit Maximum number of changes
+     * @return Changes ordered by change stamp; the last one's stamp is passed to markPushed
+     */
+    public List<PendingChange> getPendingChanges(int limit) {
+        List<PendingChange> changes = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            cursor = db.rawQuery("SELECT id, remote_id, name, category, " + DatabaseHelper.priceCentsExpression() +
+                            ", quantity, updated_at, change_seq FROM " + TABLE_PRODUCTS +
+                            " WHERE change_seq > (SELECT value FROM " + TABLE_SYNC_STATE + " WHERE key = ?)" +
+                            " ORDER BY change_seq LIMIT ?",
+                    new String[]{KEY_PUSHED_SEQ, String.valueOf(limit)});
+
+            while (cursor != null && cursor.moveToNext()) {
+                SyncChange change = new SyncChange(
+                        cursor.getInt(0),
+                        cursor.isNull(1) ? SyncChange.NO_REMOTE_ID : cursor.getLong(1),
+                        cursor.getString(2),
+                        cursor.getString(3),
+                        cursor.getLong(4),
+                        cursor.getInt(5),
+                        cursor.getLong(6),
+                        false);
+                changes.add(new PendingChange(change, cursor.getLong(7)));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * Deletions of products the server knows about, not yet pushed
+     * @param limit Maximum number of deletions
+     * @return Deletions with their remote IDs
+     */
+    public List<SyncChange> getPendingDeletes(int limit) {
+        List<SyncChange> deletes = new ArrayList<>();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Cursor cursor = null;
+
+        try {
+            cursor = db.query(TABLE_TOMBSTONES,
+                    new String[]{COLUMN_REMOTE_ID, COLUMN_DELETED_AT},
+                    null, null, null, null, COLUMN_DELETED_AT, String.valueOf(limit));
+
+            while (cursor != null && cursor.moveToNext()) {
+                deletes.add(new SyncChange(0, cursor.getLong(0), null, null, 0, 0, cursor.getLong(1), true));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        return deletes;
+    }
+
+    /**
+     * Record a successful push
+     * @param upToSeq Stamp of the last change in the pushed batch
+     * @param remoteIds Remote IDs the server assigned, keyed by local ID
+     * @param deletedRemoteIds Remote IDs whose deletion was pushed
+     */
+    public void markPushed(long upToSeq, Map<Integer, Long> remoteIds, List<Long> deletedRemoteIds) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransactionNonExclusive();
+
+        try {
+            ContentValues values = new ContentValues();
+            for (Map.Entry<Integer, Long> entry : remoteIds.entrySet()) {
+                values.put(COLUMN_REMOTE_ID, entry.getValue());
+                db.update(TABLE_PRODUCTS, values, COLUMN_ID + " = ?", new String[]{String.valueOf(entry.getKey())});
+            }
+            for (Long remoteId : deletedRemoteIds) {
+                db.delete(TABLE_TOMBSTONES, COLUMN_REMOTE_ID + " = ?", new String[]{String.valueOf(remoteId)});
+            }
+            db.execSQL("UPDATE " + TABLE_SYNC_STATE + " SET value = MAX(value, ?) WHERE key = ?",
+                    new Object[]{upToSeq, KEY_PUSHED_SEQ});
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Apply one page of server changes and advance the pull watermark
+     * Both happen in one transaction, so an interrupted pull resumes from the last applied page
+     * @param changes Changes from the server
+     * @param watermark Server watermark after these changes
+     * @return Number of conflicts with unpushed local changes
+     */
+    public int applyRemoteChanges(List<SyncChange> changes, long watermark) {
+        return applyRemoteChanges(changes, true, watermark);
+    }
+
+    /**
+     * Apply the server's versions of rows whose pushed change or deletion lost to them
+     * Call after markPushed, so the losing changes no longer count as unpushed. The pull
+     * watermark is left alone: these rows may be at or below it
+     * @param changes Current server rows from the push response
+     */
+    public void applyServerVersions(List<SyncChange> changes) {
+        if (!changes.isEmpty()) {
+            applyRemoteChanges(changes, false, 0);
+        }
+    }
+
+    private int applyRemoteChanges(List<SyncChange> changes, boolean advanceWatermark, long watermark) {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        int conflicts = 0;
+        db.beginTransactionNonExclusive();
+
+        try {
+            long pushedSeq = getState(db, KEY_PUSHED_SEQ);
+            for (SyncChange change : changes) {
+                if (applyRemoteChange(db, change, pushedSeq)) {
+                    conflicts++;
+                }
+            }
+            if (advanceWatermark) {
+                db.execSQL("UPDATE " + TABLE_SYNC_STATE + " SET value = ? WHERE key = ?",
+                        new Object[]{watermark, KEY_PULL_WATERMARK});
+            }
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            dbHelper.getProductCache().invalidateAll();
+            dbHelper.publishChangeAll();
+        }
+
+        return conflicts;
+    }
+
+    /**
+     * Apply a single server change
+     * @return true if it conflicted with an unpushed local change
+     */
+    private static boolean applyRemoteChange(SQLiteDatabase db, SyncChange change, long pushedSeq) {
+        String[] remoteArg = {String.valueOf(change.getRemoteId())};
+        long localId = -1;
+        long localSeq = 0;
+        long localUpdatedAt = 0;
+        Cursor cursor = null;
+        try {
+            cursor = db.query(TABLE_PRODUCTS,
+                    new String[]{COLUMN_ID, COLUMN_CHANGE_SEQ, COLUMN_UPDATED_AT},
+                    COLUMN_REMOTE_ID + " = ?", remoteArg, null, null, null);
+            if (cursor != null && cursor.moveToFirst()) {
+                localId = cursor.getLong(0);
+                localSeq = cursor.getLong(1);
+                localUpdatedAt = cursor.getLong(2);
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        long tombstoneAt = -1;
+        try {
+            cursor = db.query(TABLE_TOMBSTONES, new String[]{COLUMN_DELETED_AT},
+                    COLUMN_REMOTE_ID + " = ?", remoteArg, null, null, null);
+            if (cursor != null && cursor.moveToFirst()) {
+                tombstoneAt = cursor.getLong(0);
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        boolean localDirty = localId >= 0 && localSeq > pushedSeq;
+        boolean conflict = localDirty || tombstoneAt >= 0;
+        // Later change wins; a tie goes to the server
+        if (localDirty && localUpdatedAt > change.getUpdatedAt()) {
+            return true;
+        }
+        if (tombstoneAt > change.getUpdatedAt()) {
+            return true;
+        }
+        db.delete(TABLE_TOMBSTONES, COLUMN_REMOTE_ID + " = ?", remoteArg);
+
+        if (change.isDeleted()) {
+            if (localId >= 0) {
+                db.delete(TABLE_PRODUCTS, COLUMN_ID + " = ?", new String[]{String.valueOf(localId)});
+                // The server already knows; no tombstone to push back
+                db.delete(TABLE_TOMBSTONES, COLUMN_REMOTE_ID + " = ?", remoteArg);
+            }
+            return conflict;
+        }
+
+        ContentValues values = new ContentValues();
+        values.put("name", change.getName());
+        values.put("category", change.getCategory());
+        values.put("price", change.getPriceCents() / 100.0);
+        values.put("price_cents", change.getPriceCents());
+        values.put("quantity", change.getQuantity());
+        if (localId >= 0) {
+            db.update(TABLE_PRODUCTS, values, COLUMN_ID + " = ?", new String[]{String.valueOf(localId)});
+        } else {
+            values.put(COLUMN_REMOTE_ID, change.getRemoteId());
+            localId = db.insert(TABLE_PRODUCTS, null, values);
+        }
+
+        // Undo the stamp the triggers just applied, so the change is not pushed back
+        db.execSQL("UPDATE " + TABLE_PRODUCTS + " SET " + COLUMN_CHANGE_SEQ + " = 0, " + COLUMN_UPDATED_AT +
+                " = ? WHERE " + COLUMN_ID + " = ?", new Object[]{change.getUpdatedAt(), localId});
+        return conflict;
+    }
+
+    private static long getState(SQLiteDatabase db, String key) {
+        Cursor cursor = null;
+        try {
+            cursor = db.query(TABLE_SYNC_STATE, new String[]{"value"}, "key = ?", new String[]{key},
+                    null, null, null);
+            return cursor != null && cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * Local change waiting to be pushed, with its change stamp
+     */
+    public static class PendingChange {
+        private final SyncChange change;
+        private final long changeSeq;
+
+        PendingChange(SyncChange change, long changeSeq) {
+            this.change = change;
+            this.changeSeq = changeSeq;
+        }
+
+        public SyncChange getChange() {
+            return change;
+        }
+
+        public long getChangeSeq() {
+            return changeSeq;
+        }
+    }
+}
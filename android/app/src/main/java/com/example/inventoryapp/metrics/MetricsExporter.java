@@ -0,0 +1,48 @@
+package com.example.inventoryapp.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * MetricsExporter Class
+ * Dumps a MetricsRegistry report to a timestamped text file
+ */
+public class MetricsExporter {
+    private final MetricsRegistry registry;
+    private final File directory;
+
+    /**
+     * Constructor
+     * @param directory Where reports are written, e.g. new File(context.getFilesDir(), "metrics")
+     */
+    public MetricsExporter(MetricsRegistry registry, File directory) {
+        this.registry = registry;
+        this.directory = directory;
+    }
+
+    /**
+     * Write the current metrics to a new file
+     * @return The file written
+     * @throws IOException if the directory cannot be created or the file cannot be written
+     */
+    public File export() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        File file = new File(directory, "metrics-" + timestamp + ".txt");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write("# Metrics at " + timestamp + "\n");
+            registry.writeTo(writer);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.inventoryapp.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MetricsRegistry Class
+ * Named latency histograms, counters and gauges for the whole app
+ *
+ * Callers look a metric up once, keep the reference and update it directly;
+ * the registry is only consulted again for reporting. Names are dotted,
+ * e.g. "db.get" or "db.rows.read".
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Interface for values read on demand, such as cache statistics
+     */
+    public interface Gauge {
+        long value();
+    }
+
+    /**
+     * Get the app-wide registry
+     */
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get or create a latency histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            synchronized (histograms) {
+                histogram = histograms.get(name);
+                if (histogram == null) {
+                    histogram = new LatencyHistogram(name);
+                    histograms.put(name, histogram);
+                }
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Get or create a counter
+     */
+    public AtomicLong counter(String name) {
+        AtomicLong counter = counters.get(name);
+        if (counter == null) {
+            synchronized (counters) {
+                counter = counters.get(name);
+                if (counter == null) {
+                    counter = new AtomicLong();
+                    counters.put(name, counter);
+                }
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Register a gauge, replacing any gauge of the same name
+     */
+    public void gauge(String name, Gauge gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Snapshots of all histograms, sorted by name
+     */
+    public Map<String, LatencyHistogram.Snapshot> histogramSnapshots() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        for (LatencyHistogram histogram : histograms.values()) {
+            snapshots.put(histogram.getName(), histogram.snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * Current values of all counters and gauges, sorted by name
+     */
+    public Map<String, Long> values() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().get());
+        }
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().value());
+        }
+        return values;
+    }
+
+    /**
+     * Clear histograms and counters; gauges report their sources' own values
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        for (AtomicLong counter : counters.values()) {
+            counter.set(0);
+        }
+    }
+
+    /**
+     * Write a plain-text report, one metric per line
+     */
+    public void writeTo(Writer writer) throws IOException {
+        for (LatencyHistogram.Snapshot snapshot : histogramSnapshots().values()) {
+            writer.write(snapshot.toString());
+            writer.write('\n');
+        }
+        for (Map.Entry<String, Long> entry : values().entrySet()) {
+            writer.write(entry.getKey() + " " + entry.getValue());
+            writer.write('\n');
+        }
+    }
+}
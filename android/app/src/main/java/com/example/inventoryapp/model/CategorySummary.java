@@ -0,0 +1,74 @@
+package com.example.inventoryapp.model;
+
+/**
+ * CategorySummary Model Class
+ * Totals for one category, for the dashboard's category breakdown
+ */
+public class CategorySummary {
+    private final int categoryId;
+    private final String name;
+    private int productCount;
+    private int lowStockCount;
+    private long totalUnits;
+    private long totalValueCents;
+
+    /**
+     * Constructor with all parameters
+     */
+    public CategorySummary(int categoryId, String name, int productCount, int lowStockCount,
+                           long totalUnits, long totalValueCents) {
+        this.categoryId = categoryId;
+        this.name = name;
+        this.productCount = productCount;
+        this.lowStockCount = lowStockCount;
+        this.totalUnits = totalUnits;
+        this.totalValueCents = totalValueCents;
+    }
+
+    /**
+     * Add the totals of another partial result for the same category
+     */
+    public void add(int productCount, int lowStockCount, long totalUnits, long totalValueCents) {
+        this.productCount += productCount;
+        this.lowStockCount += lowStockCount;
+        this.totalUnits += totalUnits;
+        this.totalValueCents += totalValueCents;
+    }
+
+    // Getters
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getProductCount() {
+        return productCount;
+    }
+
+    public int getLowStockCount() {
+        return lowStockCount;
+    }
+
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    public long getTotalValueCents() {
+        return totalValueCents;
+    }
+
+    @Override
+    public String toString() {
+        return "CategorySummary{" +
+                "categoryId=" + categoryId +
+                ", name='" + name + '\'' +
+                ", productCount=" + productCount +
+                ", lowStockCount=" + lowStockCount +
+                ", totalUnits=" + totalUnits +
+                ", totalValueCents=" + totalValueCents +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.inventoryapp.model;
+
+/**
+ * InventorySummary Model Class
+ * Whole-inventory totals shown on the dashboard
+ */
+public class InventorySummary {
+    private final int productCount;
+    private final int lowStockCount;
+    private final long totalUnits;
+    private final long totalValueCents;
+
+    /**
+     * Constructor with all parameters
+     */
+    public InventorySummary(int productCount, int lowStockCount, long totalUnits, long totalValueCents) {
+        this.productCount = productCount;
+        this.lowStockCount = lowStockCount;
+        this.totalUnits = totalUnits;
+        this.totalValueCents = totalValueCents;
+    }
+
+    // Getters
+    public int getProductCount() {
+        return productCount;
+    }
+
+    public int getLowStockCount() {
+        return lowStockCount;
+    }
+
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    public long getTotalValueCents() {
+        return totalValueCents;
+    }
+
+    @Override
+    public String toString() {
+        return "InventorySummary{" +
+                "productCount=" + productCount +
+                ", lowStockCount=" + lowStockCount +
+                ", totalUnits=" + totalUnits +
+                ", totalValueCents=" + totalValueCents +
+                '}';
+    }
+}
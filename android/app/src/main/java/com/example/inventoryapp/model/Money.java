@@ -0,0 +1,102 @@
+package com.example.inventoryapp.model;
+
+/**
+ * Money Class
+ * Helpers for prices held as a whole number of cents (hundredths of a rupee)
+ *
+ * Integer cents add up exactly, so totals over any number of products carry
+ * no floating-point error. Parsing reads the decimal text directly and never
+ * goes through a double.
+ */
+public final class Money {
+    // Enough digits for any realistic price while staying far below Long.MAX_VALUE
+    private static final int MAX_UNIT_DIGITS = 15;
+
+    private Money() {
+    }
+
+    /**
+     * Parse a price such as "12", "12.5" or "12.50" into cents
+     * @param text Decimal text with at most two fraction digits
+     * @return Price in cents
+     * @throws NumberFormatException if the text is not a valid price
+     */
+    public static long parseCents(String text) {
+        String value = text.trim();
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            negative = value.charAt(i) == '-';
+            i++;
+        }
+
+        long units = 0;
+        int unitDigits = 0;
+        while (i < length && isDigit(value.charAt(i))) {
+            if (++unitDigits > MAX_UNIT_DIGITS) {
+                throw new NumberFormatException("Price too large: " + text);
+            }
+            units = units * 10 + (value.charAt(i++) - '0');
+        }
+
+        int fraction = 0;
+        int fractionDigits = 0;
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(value.charAt(i))) {
+                if (++fractionDigits > 2) {
+                    throw new NumberFormatException("More than two decimals: " + text);
+                }
+                fraction = fraction * 10 + (value.charAt(i++) - '0');
+            }
+        }
+
+        if (i != length || unitDigits + fractionDigits == 0) {
+            throw new NumberFormatException("Invalid price: " + text);
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+
+        long cents = units * 100 + fraction;
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Convert a price in rupees to cents, rounding to the nearest cent
+     * Only for values that already are doubles, such as legacy REAL columns
+     */
+    public static long fromUnits(double units) {
+        return Math.round(units * 100);
+    }
+
+    /**
+     * Convert cents to rupees, for APIs that still expect a double
+     */
+    public static double toUnits(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Format cents with two decimals, e.g. 12345 as "123.45"
+     * Row binding uses LabelBuilder.appendCents, which does not allocate
+     */
+    public static String format(long cents) {
+        StringBuilder result = new StringBuilder(24);
+        if (cents < 0) {
+            result.append('-');
+        }
+        long units = Math.abs(cents / 100);
+        int fraction = (int) Math.abs(cents % 100);
+        result.append(units).append('.');
+        if (fraction < 10) {
+            result.append('0');
+        }
+        return result.append(fraction).toString();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
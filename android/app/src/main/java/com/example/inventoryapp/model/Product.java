@@ -5,30 +5,49 @@ package com.example.inventoryapp.model;
  * Represents a single product in the inventory with all its properties
  */
 public class Product {
+    // Reorder level used when neither the product nor its category sets one
+    public static final int DEFAULT_REORDER_LEVEL = 5;
+
     private int id;
     private String name;
     private String category;
-    private double price;
+    // Price in cents (hundredths of a rupee)
+    private long priceCents;
     private int quantity;
+    private int reorderLevel = DEFAULT_REORDER_LEVEL;
+    // Barcode or stock keeping unit, unique across products; null if none is assigned
+    private String sku;
 
     /**
      * Constructor with all parameters
      */
-    public Product(int id, String name, String category, double price, int quantity) {
+    public Product(int id, String name, String category, long priceCents, int quantity, int reorderLevel) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.priceCents = priceCents;
+        this.quantity = quantity;
+        this.reorderLevel = reorderLevel;
+    }
+
+    /**
+     * Constructor with the default reorder level
+     */
+    public Product(int id, String name, String category, long priceCents, int quantity) {
         this.id = id;
         this.name = name;
         this.category = category;
-        this.price = price;
+        this.priceCents = priceCents;
         this.quantity = quantity;
     }
 
     /**
      * Constructor without ID (for new products)
      */
-    public Product(String name, String category, double price, int quantity) {
+    public Product(String name, String category, long priceCents, int quantity) {
         this.name = name;
         this.category = category;
-        this.price = price;
+        this.priceCents = priceCents;
         this.quantity = quantity;
     }
 
@@ -45,14 +64,22 @@ public class Product {
         return category;
     }
 
-    public double getPrice() {
-        return price;
+    public long getPriceCents() {
+        return priceCents;
     }
 
     public int getQuantity() {
         return quantity;
     }
 
+    public int getReorderLevel() {
+        return reorderLevel;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
     // Setters
     public void setId(int id) {
         this.id = id;
@@ -66,20 +93,28 @@ public class Product {
         this.category = category;
     }
 
-    public void setPrice(double price) {
-        this.price = price;
+    public void setPriceCents(long priceCents) {
+        this.priceCents = priceCents;
     }
 
     public void setQuantity(int quantity) {
         this.quantity = quantity;
     }
 
+    public void setReorderLevel(int reorderLevel) {
+        this.reorderLevel = reorderLevel;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
     /**
      * Check if product is low in stock
-     * @return true if quantity < 5, false otherwise
+     * @return true if quantity < reorderLevel, false otherwise
      */
     public boolean isLowStock() {
-        return quantity < 5;
+        return quantity < reorderLevel;
     }
 
     @Override
@@ -88,8 +123,10 @@ public class Product {
                 "id=" + id +
                 ", name='" + name + '\'' +
                 ", category='" + category + '\'' +
-                ", price=" + price +
+                ", priceCents=" + priceCents +
                 ", quantity=" + quantity +
+                ", reorderLevel=" + reorderLevel +
+                ", sku='" + sku + '\'' +
                 '}';
     }
 }
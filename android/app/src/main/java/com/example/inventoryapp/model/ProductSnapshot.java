@@ -0,0 +1,327 @@
+package com.example.inventoryapp.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ProductSnapshot Model Class
+ * Immutable, column-oriented copy of the inventory for whole-inventory analytics
+ *
+ * Each field is stored in its own primitive array indexed by row, so a scan
+ * reads one contiguous array instead of chasing a Product object and its
+ * Strings per row. Prices are held in cents. Categories are dictionary
+ * encoded: every row stores a small int code into categoryNames.
+ * Scans are plain counted loops over the arrays, which the runtime can
+ * unroll and vectorise.
+ */
+public final class ProductSnapshot {
+    private final int size;
+    private final int[] ids;
+    private final int[] quantities;
+    private final int[] reorderLevels;
+    private final long[] priceCents;
+    private final int[] categoryCodes;
+    private final String[] categoryNames;
+
+    private ProductSnapshot(Builder builder) {
+        size = builder.size;
+        ids = Arrays.copyOf(builder.ids, size);
+        quantities = Arrays.copyOf(builder.quantities, size);
+        reorderLevels = Arrays.copyOf(builder.reorderLevels, size);
+        priceCents = Arrays.copyOf(builder.priceCents, size);
+        categoryCodes = Arrays.copyOf(builder.categoryCodes, size);
+        categoryNames = builder.categoryNames.toArray(new String[0]);
+    }
+
+    // Row access
+
+    public int size() {
+        return size;
+    }
+
+    public int getId(int row) {
+        return ids[checkRow(row)];
+    }
+
+    public int getQuantity(int row) {
+        return quantities[checkRow(row)];
+    }
+
+    public int getReorderLevel(int row) {
+        return reorderLevels[checkRow(row)];
+    }
+
+    public long getPriceCents(int row) {
+        return priceCents[checkRow(row)];
+    }
+
+    public int getCategoryCode(int row) {
+        return categoryCodes[checkRow(row)];
+    }
+
+    // Category dictionary
+
+    public int getCategoryCount() {
+        return categoryNames.length;
+    }
+
+    public String getCategoryName(int code) {
+        return categoryNames[code];
+    }
+
+    /**
+     * Look up the code of a category
+     * @return The code, or -1 if no product has this category
+     */
+    public int findCategoryCode(String category) {
+        for (int code = 0; code < categoryNames.length; code++) {
+            if (categoryNames[code].equals(category)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    // Aggregates
+
+    /**
+     * Sum of all quantities
+     */
+    public long totalUnits() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += quantities[i];
+        }
+        return total;
+    }
+
+    /**
+     * Exact stock value (price times quantity) of all rows, in cents
+     */
+    public long totalValueCents() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += priceCents[i] * quantities[i];
+        }
+        return total;
+    }
+
+    /**
+     * Smallest quantity, or 0 for an empty snapshot
+     */
+    public int minQuantity() {
+        if (size == 0) {
+            return 0;
+        }
+        int min = quantities[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, quantities[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Largest quantity, or 0 for an empty snapshot
+     */
+    public int maxQuantity() {
+        if (size == 0) {
+            return 0;
+        }
+        int max = quantities[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, quantities[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Smallest price in cents, or 0 for an empty snapshot
+     */
+    public long minPriceCents() {
+        if (size == 0) {
+            return 0;
+        }
+        long min = priceCents[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, priceCents[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Largest price in cents, or 0 for an empty snapshot
+     */
+    public long maxPriceCents() {
+        if (size == 0) {
+            return 0;
+        }
+        long max = priceCents[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, priceCents[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Number of rows below their reorder level
+     */
+    public int countLowStock() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += quantities[i] < reorderLevels[i] ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Stock value per category in one pass
+     * @return Value in cents, indexed by category code
+     */
+    public long[] valueCentsByCategory() {
+        long[] totals = new long[categoryNames.length];
+        for (int i = 0; i < size; i++) {
+            totals[categoryCodes[i]] += priceCents[i] * quantities[i];
+        }
+        return totals;
+    }
+
+    /**
+     * Units per category in one pass
+     * @return Units, indexed by category code
+     */
+    public long[] unitsByCategory() {
+        long[] totals = new long[categoryNames.length];
+        for (int i = 0; i < size; i++) {
+            totals[categoryCodes[i]] += quantities[i];
+        }
+        return totals;
+    }
+
+    // Filters, returning matching row numbers in ascending order
+
+    /**
+     * Rows whose quantity is below a threshold
+     */
+    public int[] filterQuantityBelow(int threshold) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            rows[count] = i;
+            count += quantities[i] < threshold ? 1 : 0;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Rows below their own reorder level
+     */
+    public int[] filterLowStock() {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            rows[count] = i;
+            count += quantities[i] < reorderLevels[i] ? 1 : 0;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Rows in one category
+     * @param categoryCode Code from findCategoryCode
+     */
+    public int[] filterCategory(int categoryCode) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            rows[count] = i;
+            count += categoryCodes[i] == categoryCode ? 1 : 0;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return row;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductSnapshot{" +
+                "size=" + size +
+                ", categories=" + categoryNames.length +
+                '}';
+    }
+
+    /**
+     * Builder Class
+     * Appends rows one at a time, growing the columns as needed
+     */
+    public static final class Builder {
+        private int size;
+        private int[] ids;
+        private int[] quantities;
+        private int[] reorderLevels;
+        private long[] priceCents;
+        private int[] categoryCodes;
+        private final Map<String, Integer> categoryIndex = new HashMap<>();
+        private final ArrayList<String> categoryNames = new ArrayList<>();
+
+        /**
+         * Constructor
+         * @param expectedSize Expected number of rows
+         */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            ids = new int[capacity];
+            quantities = new int[capacity];
+            reorderLevels = new int[capacity];
+            priceCents = new long[capacity];
+            categoryCodes = new int[capacity];
+        }
+
+        public Builder add(int id, String category, long cents, int quantity, int reorderLevel) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = id;
+            categoryCodes[size] = encodeCategory(category);
+            priceCents[size] = cents;
+            quantities[size] = quantity;
+            reorderLevels[size] = reorderLevel;
+            size++;
+            return this;
+        }
+
+        public Builder add(Product product) {
+            return add(product.getId(), product.getCategory(), product.getPriceCents(),
+                    product.getQuantity(), product.getReorderLevel());
+        }
+
+        public ProductSnapshot build() {
+            return new ProductSnapshot(this);
+        }
+
+        private int encodeCategory(String category) {
+            Integer code = categoryIndex.get(category);
+            if (code == null) {
+                code = categoryNames.size();
+                categoryIndex.put(category, code);
+                categoryNames.add(category);
+            }
+            return code;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            reorderLevels = Arrays.copyOf(reorderLevels, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+            categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.inventoryapp.model;
+
+/**
+ * StockMovement Model Class
+ * One entry in the append-only stock ledger: a change to a product's quantity
+ */
+public class StockMovement {
+    private final long id;
+    private final int productId;
+    private final int delta;
+    private final long createdAt;
+
+    /**
+     * Constructor with all parameters
+     * @param createdAt Time of the change in milliseconds since the epoch
+     */
+    public StockMovement(long id, int productId, int delta, long createdAt) {
+        this.id = id;
+        this.productId = productId;
+        this.delta = delta;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public long getId() {
+        return id;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StockMovement{" +
+                "id=" + id +
+                ", productId=" + productId +
+                ", delta=" + delta +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.inventoryapp.model;
+
+/**
+ * SyncChange Model Class
+ * One product change exchanged with the backend during sync
+ *
+ * Outgoing changes carry the local ID and, once the server has assigned
+ * one, the remote ID. Incoming changes only carry the remote ID.
+ */
+public class SyncChange {
+    // Remote ID of a product the server has not seen yet
+    public static final long NO_REMOTE_ID = 0;
+
+    private final int localId;
+    private final long remoteId;
+    private final String name;
+    private final String category;
+    private final long priceCents;
+    private final int quantity;
+    private final long updatedAt;
+    private final boolean deleted;
+
+    /**
+     * Constructor with all parameters
+     * @param updatedAt Time of the change in milliseconds since the epoch
+     */
+    public SyncChange(int localId, long remoteId, String name, String category, long priceCents,
+                      int quantity, long updatedAt, boolean deleted) {
+        this.localId = localId;
+        this.remoteId = remoteId;
+        this.name = name;
+        this.category = category;
+        this.priceCents = priceCents;
+        this.quantity = quantity;
+        this.updatedAt = updatedAt;
+        this.deleted = deleted;
+    }
+
+    // Getters
+    public int getLocalId() {
+        return localId;
+    }
+
+    public long getRemoteId() {
+        return remoteId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncChange{" +
+                "localId=" + localId +
+                ", remoteId=" + remoteId +
+                ", name='" + name + '\'' +
+                ", quantity=" + quantity +
+                ", updatedAt=" + updatedAt +
+                ", deleted=" + deleted +
+                '}';
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.inventoryapp.reports;
+
+import com.example.inventoryapp.model.CategorySummary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InventoryReport Class
+ * Totals of an end-of-day report: stock value per category, and how many
+ * products were listed to reorder and as slow movers
+ *
+ * The line items themselves are not kept; ReportEngine streams them to a
+ * ReportWriter as it scans, so memory does not grow with the table.
+ * The totals are built from Parts, the partial aggregates of disjoint
+ * product ID ranges. Pure Java so the benchmarks can use it.
+ */
+public final class InventoryReport {
+    // Products below their reorder level are topped up to this multiple of it
+    public static final int REORDER_TARGET_MULTIPLE = 2;
+
+    private final long generatedAt;
+    private final long slowMoverSince;
+    private final List<CategorySummary> categories;
+    private final int reorderLineCount;
+    private final int slowMoverCount;
+
+    private InventoryReport(long generatedAt, long slowMoverSince, List<CategorySummary> categories,
+                            int reorderLineCount, int slowMoverCount) {
+        this.generatedAt = generatedAt;
+        this.slowMoverSince = slowMoverSince;
+        this.categories = Collections.unmodifiableList(categories);
+        this.reorderLineCount = reorderLineCount;
+        this.slowMoverCount = slowMoverCount;
+    }
+
+    /**
+     * When the report was generated, in milliseconds since the epoch
+     */
+    public long getGeneratedAt() {
+        return generatedAt;
+    }
+
+    /**
+     * Start of the window slow movers are measured over, in milliseconds since the epoch
+     */
+    public long getSlowMoverSince() {
+        return slowMoverSince;
+    }
+
+    /**
+     * Totals per category, highest stock value first
+     */
+    public List<CategorySummary> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Number of products written to the reorder list
+     */
+    public int getReorderLineCount() {
+        return reorderLineCount;
+    }
+
+    /**
+     * Number of products written as slow movers
+     */
+    public int getSlowMoverCount() {
+        return slowMoverCount;
+    }
+
+    /**
+     * One product to reorder
+     */
+    public static final class ReorderLine {
+        private final int productId;
+        private final String name;
+        private final String category;
+        private final int quantity;
+        private final int reorderLevel;
+
+        public ReorderLine(int productId, String name, String category, int quantity, int reorderLevel) {
+            this.productId = productId;
+            this.name = name;
+            this.category = category;
+            this.quantity = quantity;
+            this.reorderLevel = reorderLevel;
+        }
+
+        public int getProductId() {
+            return productId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public int getReorderLevel() {
+            return reorderLevel;
+        }
+
+        /**
+         * Units to order to reach REORDER_TARGET_MULTIPLE times the reorder level
+         */
+        public int getOrderQuantity() {
+            return Math.max(0, reorderLevel * REORDER_TARGET_MULTIPLE - quantity);
+        }
+    }
+
+    /**
+     * One product whose stock is not moving
+     */
+    public static final class SlowMover {
+        private final int productId;
+        private final String name;
+        private final String category;
+        private final int quantity;
+        private final long valueCents;
+        private final long unitsOut;
+
+        public SlowMover(int productId, String name, String category, int quantity, long valueCents, long unitsOut) {
+            this.productId = productId;
+            this.name = name;
+            this.category = category;
+            this.quantity = quantity;
+            this.valueCents = valueCents;
+            this.unitsOut = unitsOut;
+        }
+
+        public int getProductId() {
+            return productId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        /**
+         * Value of the stock on hand, in cents
+         */
+        public long getValueCents() {
+            return valueCents;
+        }
+
+        /**
+         * Units that left stock during the window
+         */
+        public long getUnitsOut() {
+            return unitsOut;
+        }
+    }
+
+    /**
+     * Part Class
+     * Partial aggregates for one range of product IDs
+     * Holds per-category totals only, so its size does not depend on the range.
+     * Not thread-safe; each range task fills its own Part
+     */
+    public static final class Part {
+        private final int slowMoverMaxUnits;
+        private final Map<Integer, CategorySummary> categories = new HashMap<>();
+        private int slowMoverCount;
+
+        /**
+         * Constructor
+         * @param slowMoverMaxUnits Products in stock with at most this many units out are slow movers
+         */
+        public Part(int slowMoverMaxUnits) {
+            this.slowMoverMaxUnits = slowMoverMaxUnits;
+        }
+
+        /**
+         * Add one product to the totals
+         * @param unitsOut Units that left stock during the slow mover window
+         * @return true if the product is a slow mover, for the caller to write out
+         */
+        public boolean add(int categoryId, String category, long priceCents, int quantity, int reorderLevel,
+                           long unitsOut) {
+            boolean lowStock = quantity < reorderLevel;
+
+            CategorySummary summary = categories.get(categoryId);
+            if (summary == null) {
+                summary = new CategorySummary(categoryId, category, 0, 0, 0, 0);
+                categories.put(categoryId, summary);
+            }
+            summary.add(1, lowStock ? 1 : 0, quantity, priceCents * quantity);
+
+            boolean slowMover = quantity > 0 && unitsOut <= slowMoverMaxUnits;
+            if (slowMover) {
+                slowMoverCount++;
+            }
+            return slowMover;
+        }
+
+        /**
+         * Fold in the Part for another range
+         * @return This part
+         */
+        public Part merge(Part other) {
+            for (CategorySummary summary : other.categories.values()) {
+                CategorySummary mine = categories.get(summary.getCategoryId());
+                if (mine == null) {
+                    categories.put(summary.getCategoryId(), summary);
+                } else {
+                    mine.add(summary.getProductCount(), summary.getLowStockCount(),
+                            summary.getTotalUnits(), summary.getTotalValueCents());
+                }
+            }
+            slowMoverCount += other.slowMoverCount;
+            return this;
+        }
+
+        /**
+         * Finish the report; the part must not be used afterwards
+         * @param reorderLineCount Number of reorder lines written
+         */
+        public InventoryReport build(long generatedAt, long slowMoverSince, int reorderLineCount) {
+            List<CategorySummary> sorted = new ArrayList<>(categories.values());
+            Collections.sort(sorted, BY_VALUE_DESCENDING);
+            return new InventoryReport(generatedAt, slowMoverSince, sorted, reorderLineCount, slowMoverCount);
+        }
+    }
+
+    private static final Comparator<CategorySummary> BY_VALUE_DESCENDING = new Comparator<CategorySummary>() {
+        @Override
+        public int compare(CategorySummary a, CategorySummary b) {
+            return Long.compare(b.getTotalValueCents(), a.getTotalValueCents());
+        }
+    };
+}
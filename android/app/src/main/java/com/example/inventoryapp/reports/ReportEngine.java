@@ -0,0 +1,295 @@
+package com.example.inventoryapp.reports;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.example.inventoryapp.database.DatabaseHelper;
+import com.example.inventoryapp.metrics.LatencyHistogram;
+import com.example.inventoryapp.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportEngine Class
+ * Scans the products table in parallel and streams the end-of-day report
+ *
+ * Line items are never collected for the whole table. The reorder list
+ * comes first, from one query over the low stock index in ID order. Slow
+ * movers come from the full scan: the ID span is cut into leaf ranges
+ * that run as tasks on a ForkJoinPool, a bounded number ahead of the
+ * writer, and each leaf's slow movers are written as soon as every leaf
+ * before it has been. Each leaf also yields a Part of per-category totals,
+ * merged as the leaves complete and written last.
+ *
+ * Every worker thread opens its own read-only connection, so the scans
+ * neither queue on the helper's connection pool nor hold up the app's
+ * readers. A leaf reads its rows once, with the units moved out over the
+ * slow mover window looked up through the ledger's (product_id, created_at)
+ * index.
+ *
+ * Each range is its own read transaction, so a report generated while the
+ * app writes may see different ranges at slightly different times.
+ */
+public class ReportEngine {
+    private static final String TAG = "ReportEngine";
+
+    // Leaf ID spans: small enough that the leaves in flight stay small, large
+    // enough to amortise a query; aim for a few leaves per thread in between
+    private static final int MIN_LEAF_SPAN = 4096;
+    private static final int MAX_LEAF_SPAN = 16384;
+    private static final int LEAVES_PER_THREAD = 4;
+    // Leaves scanned ahead of the writer, per thread
+    private static final int LEAVES_IN_FLIGHT_PER_THREAD = 2;
+
+    // WHERE clause identical to idx_products_low_stock's, so only low stock rows are read
+    private static final String SQL_REORDER = "SELECT id, name, category, quantity, reorder_level " +
+            "FROM products WHERE quantity < reorder_level ORDER BY id";
+
+    private static final String SQL_RANGE = "SELECT p.id, p.name, " +
+            "COALESCE(p.category_id, (SELECT c.id FROM categories c WHERE c.name = p.category), -1), p.category, " +
+            "COALESCE(p.price_cents, CAST(ROUND(p.price * 100) AS INTEGER)), p.quantity, p.reorder_level, " +
+            "COALESCE((SELECT -SUM(m.delta) FROM stock_movements m WHERE m.product_id = p.id " +
+            "AND m.created_at >= ?3 AND m.delta < 0), 0) " +
+            "FROM products p WHERE p.id BETWEEN ?1 AND ?2 ORDER BY p.id";
+
+    private final DatabaseHelper dbHelper;
+    private final int parallelism;
+    private final LatencyHistogram latency = MetricsRegistry.getInstance().histogram("report.generate");
+
+    /**
+     * Constructor
+     * @param parallelism Worker threads, and read-only connections, to use
+     */
+    public ReportEngine(DatabaseHelper dbHelper, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.dbHelper = dbHelper;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Constructor using one worker per available processor
+     */
+    public ReportEngine(DatabaseHelper dbHelper) {
+        this(dbHelper, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Scan every product and stream the report to a writer
+     * Blocks until done, so call it off the main thread
+     * @param slowMoverSince Start of the slow mover window, in milliseconds since the epoch
+     * @param slowMoverMaxUnits Products in stock with at most this many units out since then are slow movers
+     * @param writer Receives the report section by section
+     * @return The report's totals
+     */
+    public InventoryReport generate(long slowMoverSince, int slowMoverMaxUnits, ReportWriter writer)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        long generatedAt = System.currentTimeMillis();
+        try {
+            SQLiteDatabase db = dbHelper.getReadableDatabase();
+            Scan scan = new Scan(db.getPath(), slowMoverSince, slowMoverMaxUnits);
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                writer.begin(generatedAt, slowMoverSince);
+                int reorderLines = writeReorderLines(scan, writer);
+
+                writer.beginSlowMovers();
+                InventoryReport.Part total = new InventoryReport.Part(slowMoverMaxUnits);
+                long[] bounds = idBounds(db);
+                if (bounds != null) {
+                    writeSlowMovers(scan, pool, bounds[0], bounds[1], total, writer);
+                }
+
+                InventoryReport report = total.build(generatedAt, slowMoverSince, reorderLines);
+                writer.finish(report);
+                return report;
+            } finally {
+                pool.shutdownNow();
+                try {
+                    // A failed scan or write can leave leaf tasks running on their connections
+                    pool.awaitTermination(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                scan.closeConnections();
+            }
+        } finally {
+            latency.recordSince(startNanos);
+        }
+    }
+
+    /**
+     * Stream the reorder list on the calling thread
+     * @return Number of lines written
+     */
+    private static int writeReorderLines(Scan scan, ReportWriter writer) throws IOException {
+        int count = 0;
+        Cursor cursor = null;
+        try {
+            cursor = scan.connections.get().rawQuery(SQL_REORDER, null);
+            while (cursor != null && cursor.moveToNext()) {
+                writer.reorderLine(new InventoryReport.ReorderLine(cursor.getInt(0), cursor.getString(1),
+                        cursor.getString(2), cursor.getInt(3), cursor.getInt(4)));
+                count++;
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Scan the ID span leaf by leaf on the pool and write each leaf's slow movers in ID order
+     * At most LEAVES_IN_FLIGHT_PER_THREAD leaves per thread are scanned or
+     * waiting ahead of the writer, however large the table is.
+     * @param total Receives every leaf's totals
+     */
+    private void writeSlowMovers(Scan scan, ForkJoinPool pool, long minId, long maxId,
+                                 InventoryReport.Part total, ReportWriter writer) throws IOException {
+        long span = maxId - minId + 1;
+        long leafSpan = Math.min(MAX_LEAF_SPAN,
+                Math.max(MIN_LEAF_SPAN, span / ((long) parallelism * LEAVES_PER_THREAD)));
+        int window = parallelism * LEAVES_IN_FLIGHT_PER_THREAD;
+
+        ArrayDeque<ForkJoinTask<Leaf>> inFlight = new ArrayDeque<>(window);
+        long nextId = minId;
+        boolean moreLeaves = true;
+        while (moreLeaves || !inFlight.isEmpty()) {
+            while (moreLeaves && inFlight.size() < window) {
+                // Written this way round so a span ending at the largest ID cannot overflow
+                long toId = maxId - nextId < leafSpan ? maxId : nextId + leafSpan - 1;
+                inFlight.add(pool.submit(new LeafTask(scan, nextId, toId)));
+                moreLeaves = toId < maxId;
+                nextId = toId + 1;
+            }
+
+            Leaf leaf = inFlight.poll().join();
+            for (InventoryReport.SlowMover mover : leaf.slowMovers) {
+                writer.slowMover(mover);
+            }
+            total.merge(leaf.part);
+        }
+    }
+
+    /**
+     * Lowest and highest product ID
+     * @return {min, max}, or null if there are no products
+     */
+    private static long[] idBounds(SQLiteDatabase db) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery("SELECT MIN(id), MAX(id) FROM products", null);
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                return new long[]{cursor.getLong(0), cursor.getLong(1)};
+            }
+            return null;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * State shared by the tasks of one generate() call
+     */
+    private static final class Scan {
+        final String path;
+        final String since;
+        final int slowMoverMaxUnits;
+        final List<SQLiteDatabase> opened = Collections.synchronizedList(new ArrayList<SQLiteDatabase>());
+        // One read-only connection per thread, the caller's included, opened on first use
+        final ThreadLocal<SQLiteDatabase> connections = new ThreadLocal<SQLiteDatabase>() {
+            @Override
+            protected SQLiteDatabase initialValue() {
+                SQLiteDatabase db = SQLiteDatabase.openDatabase(path, null, SQLiteDatabase.OPEN_READONLY);
+                opened.add(db);
+                return db;
+            }
+        };
+
+        Scan(String path, long slowMoverSince, int slowMoverMaxUnits) {
+            this.path = path;
+            this.since = String.valueOf(slowMoverSince);
+            this.slowMoverMaxUnits = slowMoverMaxUnits;
+        }
+
+        void closeConnections() {
+            synchronized (opened) {
+                for (SQLiteDatabase db : opened) {
+                    try {
+                        db.close();
+                    } catch (Exception e) {
+                        Log.w(TAG, "Closing report connection failed", e);
+                    }
+                }
+                opened.clear();
+            }
+        }
+    }
+
+    /**
+     * Totals and slow movers of one leaf range
+     */
+    private static final class Leaf {
+        final InventoryReport.Part part;
+        final List<InventoryReport.SlowMover> slowMovers = new ArrayList<>();
+
+        Leaf(int slowMoverMaxUnits) {
+            this.part = new InventoryReport.Part(slowMoverMaxUnits);
+        }
+    }
+
+    /**
+     * Scans one inclusive ID range on a worker's connection
+     */
+    private static final class LeafTask extends RecursiveTask<Leaf> {
+        private final Scan scan;
+        private final long fromId;
+        private final long toId;
+
+        LeafTask(Scan scan, long fromId, long toId) {
+            this.scan = scan;
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected Leaf compute() {
+            Leaf leaf = new Leaf(scan.slowMoverMaxUnits);
+            Cursor cursor = null;
+            try {
+                cursor = scan.connections.get().rawQuery(SQL_RANGE,
+                        new String[]{String.valueOf(fromId), String.valueOf(toId), scan.since});
+                while (cursor != null && cursor.moveToNext()) {
+                    long priceCents = cursor.getLong(4);
+                    int quantity = cursor.getInt(5);
+                    long unitsOut = cursor.getLong(7);
+                    if (leaf.part.add(cursor.getInt(2), cursor.getString(3), priceCents, quantity,
+                            cursor.getInt(6), unitsOut)) {
+                        leaf.slowMovers.add(new InventoryReport.SlowMover(cursor.getInt(0), cursor.getString(1),
+                                cursor.getString(3), quantity, priceCents * quantity, unitsOut));
+                    }
+                }
+            } finally {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+            return leaf;
+        }
+    }
+}
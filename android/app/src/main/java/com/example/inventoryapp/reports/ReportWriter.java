@@ -0,0 +1,225 @@
+package com.example.inventoryapp.reports;
+
+import android.util.JsonWriter;
+
+import com.example.inventoryapp.model.CategorySummary;
+import com.example.inventoryapp.model.Money;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * ReportWriter Class
+ * Streams an end-of-day report to CSV or JSON
+ *
+ * ReportEngine calls the methods in section order: begin, the reorder
+ * lines, the slow movers, then finish with the category totals, which are
+ * only known once every product has been scanned. Rows are written one at
+ * a time straight to the given Writer; nothing is formatted into an
+ * intermediate String. Money in CSV is written in rupees with two
+ * decimals. Callers own the Writer, and should buffer it when it is a file.
+ */
+public abstract class ReportWriter {
+
+    /**
+     * CSV: one table per section, each preceded by a "# section" line and separated by a blank line
+     */
+    public static ReportWriter csv(Writer out) {
+        return new CsvReportWriter(out);
+    }
+
+    /**
+     * JSON: one object with the report times and a key per section
+     */
+    public static ReportWriter json(Writer out) {
+        return new JsonReportWriter(out);
+    }
+
+    /**
+     * Start the report and its reorder section
+     */
+    public abstract void begin(long generatedAt, long slowMoverSince) throws IOException;
+
+    /**
+     * Write one reorder line; call in product ID order
+     */
+    public abstract void reorderLine(InventoryReport.ReorderLine line) throws IOException;
+
+    /**
+     * End the reorder section and start the slow movers
+     */
+    public abstract void beginSlowMovers() throws IOException;
+
+    /**
+     * Write one slow mover; call in product ID order
+     */
+    public abstract void slowMover(InventoryReport.SlowMover mover) throws IOException;
+
+    /**
+     * Write the category totals, end the report and flush
+     */
+    public abstract void finish(InventoryReport report) throws IOException;
+
+    private static final class CsvReportWriter extends ReportWriter {
+        private final Writer out;
+
+        CsvReportWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void begin(long generatedAt, long slowMoverSince) throws IOException {
+            out.write("# reorder\n");
+            out.write("id,name,category,quantity,reorder_level,order_quantity\n");
+        }
+
+        @Override
+        public void reorderLine(InventoryReport.ReorderLine line) throws IOException {
+            out.write(String.valueOf(line.getProductId()));
+            out.write(',');
+            writeCsvField(out, line.getName());
+            out.write(',');
+            writeCsvField(out, line.getCategory());
+            out.write(',');
+            out.write(String.valueOf(line.getQuantity()));
+            out.write(',');
+            out.write(String.valueOf(line.getReorderLevel()));
+            out.write(',');
+            out.write(String.valueOf(line.getOrderQuantity()));
+            out.write('\n');
+        }
+
+        @Override
+        public void beginSlowMovers() throws IOException {
+            out.write("\n# slow_movers\n");
+            out.write("id,name,category,quantity,value,units_out\n");
+        }
+
+        @Override
+        public void slowMover(InventoryReport.SlowMover mover) throws IOException {
+            out.write(String.valueOf(mover.getProductId()));
+            out.write(',');
+            writeCsvField(out, mover.getName());
+            out.write(',');
+            writeCsvField(out, mover.getCategory());
+            out.write(',');
+            out.write(String.valueOf(mover.getQuantity()));
+            out.write(',');
+            out.write(Money.format(mover.getValueCents()));
+            out.write(',');
+            out.write(String.valueOf(mover.getUnitsOut()));
+            out.write('\n');
+        }
+
+        @Override
+        public void finish(InventoryReport report) throws IOException {
+            out.write("\n# categories\n");
+            out.write("category,products,low_stock,units,value\n");
+            for (CategorySummary category : report.getCategories()) {
+                writeCsvField(out, category.getName());
+                out.write(',');
+                out.write(String.valueOf(category.getProductCount()));
+                out.write(',');
+                out.write(String.valueOf(category.getLowStockCount()));
+                out.write(',');
+                out.write(String.valueOf(category.getTotalUnits()));
+                out.write(',');
+                out.write(Money.format(category.getTotalValueCents()));
+                out.write('\n');
+            }
+            out.flush();
+        }
+    }
+
+    private static final class JsonReportWriter extends ReportWriter {
+        // Not closed: that would close the caller's Writer
+        private final JsonWriter json;
+
+        JsonReportWriter(Writer out) {
+            this.json = new JsonWriter(out);
+        }
+
+        @Override
+        public void begin(long generatedAt, long slowMoverSince) throws IOException {
+            json.beginObject();
+            json.name("generatedAt").value(generatedAt);
+            json.name("slowMoverSince").value(slowMoverSince);
+            json.name("reorder").beginArray();
+        }
+
+        @Override
+        public void reorderLine(InventoryReport.ReorderLine line) throws IOException {
+            json.beginObject();
+            json.name("id").value(line.getProductId());
+            json.name("name").value(line.getName());
+            json.name("category").value(line.getCategory());
+            json.name("quantity").value(line.getQuantity());
+            json.name("reorderLevel").value(line.getReorderLevel());
+            json.name("orderQuantity").value(line.getOrderQuantity());
+            json.endObject();
+        }
+
+        @Override
+        public void beginSlowMovers() throws IOException {
+            json.endArray();
+            json.name("slowMovers").beginArray();
+        }
+
+        @Override
+        public void slowMover(InventoryReport.SlowMover mover) throws IOException {
+            json.beginObject();
+            json.name("id").value(mover.getProductId());
+            json.name("name").value(mover.getName());
+            json.name("category").value(mover.getCategory());
+            json.name("quantity").value(mover.getQuantity());
+            json.name("valueCents").value(mover.getValueCents());
+            json.name("unitsOut").value(mover.getUnitsOut());
+            json.endObject();
+        }
+
+        @Override
+        public void finish(InventoryReport report) throws IOException {
+            json.endArray();
+            json.name("categories").beginArray();
+            for (CategorySummary category : report.getCategories()) {
+                json.beginObject();
+                json.name("category").value(category.getName());
+                json.name("products").value(category.getProductCount());
+                json.name("lowStock").value(category.getLowStockCount());
+                json.name("units").value(category.getTotalUnits());
+                json.name("valueCents").value(category.getTotalValueCents());
+                json.endObject();
+            }
+            json.endArray();
+            json.endObject();
+            json.flush();
+        }
+    }
+
+    /**
+     * Write a CSV field, quoting it when it contains a comma, quote or line break
+     */
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,395 @@
+package com.example.inventoryapp.sync;
+
+import android.os.SystemClock;
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.JsonWriter;
+
+import com.example.inventoryapp.database.SyncStore;
+import com.example.inventoryapp.model.SyncChange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * SyncEngine Class
+ * Two-way delta sync between the local database and the backend's /api/sync endpoints
+ *
+ * A sync first pushes local changes in gzip-compressed batches, oldest
+ * first, then pulls server changes after the stored watermark page by page.
+ * Progress is committed after every batch, so an interrupted sync resumes
+ * where it stopped. Conflicts are resolved by SyncStore: the later change
+ * wins, the server wins ties. A pushed change or deletion that loses on the
+ * server comes back with the server's row, which is applied straight away,
+ * since a pull may already have passed it.
+ *
+ * sync() does network and disk I/O and must not run on the main thread.
+ * The base URL can point at any server speaking the same protocol, such as
+ * a local mock server in tests.
+ */
+public class SyncEngine {
+    public static final int DEFAULT_BATCH_SIZE = 200;
+    private static final int CONNECT_TIMEOUT_MS = 15000;
+    private static final int READ_TIMEOUT_MS = 30000;
+
+    private final SyncStore store;
+    private final String baseUrl;
+    private final String clientId;
+    private final int batchSize;
+
+    /**
+     * Interface for reading a JSON response body
+     */
+    private interface ResponseReader<T> {
+        T read(JsonReader reader) throws IOException;
+    }
+
+    /**
+     * Constructor
+     * @param store Local sync state, from DatabaseHelper.getSyncStore()
+     * @param baseUrl Backend address, e.g. "https://inventory.example.com"
+     * @param clientId Stable ID of this installation; lets the server recognise a retried push
+     */
+    public SyncEngine(SyncStore store, String baseUrl, String clientId) {
+        this(store, baseUrl, clientId, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor
+     * @param batchSize Changes per push request and per pulled page
+     */
+    public SyncEngine(SyncStore store, String baseUrl, String clientId, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.store = store;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.clientId = clientId;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Push pending local changes, then pull server changes
+     * @return Transfer and outcome counters for this run
+     * @throws IOException if the server cannot be reached or rejects a request;
+     *         batches committed before the failure are kept
+     */
+    public SyncStats sync() throws IOException {
+        SyncStats stats = new SyncStats();
+        long start = SystemClock.elapsedRealtime();
+        try {
+            push(stats);
+            pull(stats);
+        } finally {
+            stats.durationMs = SystemClock.elapsedRealtime() - start;
+        }
+        return stats;
+    }
+
+    private void push(SyncStats stats) throws IOException {
+        while (true) {
+            List<SyncStore.PendingChange> pending = store.getPendingChanges(batchSize);
+            List<SyncChange> deletes = store.getPendingDeletes(batchSize);
+            if (pending.isEmpty() && deletes.isEmpty()) {
+                return;
+            }
+
+            byte[] body = encodePush(pending, deletes);
+            PushResult result = exchange("POST", "/api/sync/push", body, SyncEngine::readPushResult, stats);
+
+            List<Long> deletedRemoteIds = new ArrayList<>(deletes.size());
+            for (SyncChange delete : deletes) {
+                deletedRemoteIds.add(delete.getRemoteId());
+            }
+            long upToSeq = pending.isEmpty() ? 0 : pending.get(pending.size() - 1).getChangeSeq();
+            store.markPushed(upToSeq, result.remoteIds, deletedRemoteIds);
+            store.applyServerVersions(result.current);
+            stats.pushedChanges += pending.size();
+            stats.pushedDeletes += deletes.size();
+            stats.conflicts += result.current.size();
+
+            if (pending.size() < batchSize && deletes.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void pull(SyncStats stats) throws IOException {
+        while (true) {
+            // The server skips rows this client wrote last, so pushed changes do not echo back
+            String path = "/api/sync/changes?since=" + store.getPullWatermark() + "&limit=" + batchSize
+                    + "&clientId=" + URLEncoder.encode(clientId, "UTF-8");
+            PullPage page = exchange("GET", path, null, SyncEngine::readPullPage, stats);
+            stats.conflicts += store.applyRemoteChanges(page.changes, page.watermark);
+            stats.pulledChanges += page.changes.size();
+
+            if (!page.hasMore || page.changes.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Serialise a push batch as gzip-compressed JSON
+     */
+    private byte[] encodePush(List<SyncStore.PendingChange> pending, List<SyncChange> deletes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonWriter writer = new JsonWriter(new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8));
+        try {
+            writer.beginObject();
+            writer.name("clientId").value(clientId);
+
+            writer.name("changes").beginArray();
+            for (SyncStore.PendingChange entry : pending) {
+                SyncChange change = entry.getChange();
+                writer.beginObject();
+                writer.name("localId").value(change.getLocalId());
+                if (change.getRemoteId() != SyncChange.NO_REMOTE_ID) {
+                    writer.name("remoteId").value(change.getRemoteId());
+                }
+                writer.name("name").value(change.getName());
+                writer.name("category").value(change.getCategory());
+                writer.name("priceCents").value(change.getPriceCents());
+                writer.name("quantity").value(change.getQuantity());
+                writer.name("updatedAt").value(change.getUpdatedAt());
+                writer.endObject();
+            }
+            writer.endArray();
+
+            writer.name("deletes").beginArray();
+            for (SyncChange delete : deletes) {
+                writer.beginObject();
+                writer.name("remoteId").value(delete.getRemoteId());
+                writer.name("deletedAt").value(delete.getUpdatedAt());
+                writer.endObject();
+            }
+            writer.endArray();
+
+            writer.endObject();
+        } finally {
+            // Finishes the gzip stream
+            writer.close();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Read {"results":[{"localId":1,"remoteId":55}, ...], "current":[...]}
+     * "current" holds the server rows that pushed changes lost to, in the same form as pulled changes
+     */
+    private static PushResult readPushResult(JsonReader reader) throws IOException {
+        PushResult result = new PushResult();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String section = reader.nextName();
+            if ("current".equals(section)) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    result.current.add(readRemoteChange(reader));
+                }
+                reader.endArray();
+                continue;
+            }
+            if (!"results".equals(section)) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                int localId = -1;
+                long remoteId = SyncChange.NO_REMOTE_ID;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if ("localId".equals(name)) {
+                        localId = reader.nextInt();
+                    } else if ("remoteId".equals(name) && reader.peek() != JsonToken.NULL) {
+                        remoteId = reader.nextLong();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                if (localId > 0 && remoteId != SyncChange.NO_REMOTE_ID) {
+                    result.remoteIds.put(localId, remoteId);
+                }
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+        return result;
+    }
+
+    /**
+     * Read {"changes":[...], "watermark":123, "hasMore":false}
+     */
+    private static PullPage readPullPage(JsonReader reader) throws IOException {
+        PullPage page = new PullPage();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("changes".equals(name)) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    page.changes.add(readRemoteChange(reader));
+                }
+                reader.endArray();
+            } else if ("watermark".equals(name)) {
+                page.watermark = reader.nextLong();
+            } else if ("hasMore".equals(name)) {
+                page.hasMore = reader.nextBoolean();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return page;
+    }
+
+    private static SyncChange readRemoteChange(JsonReader reader) throws IOException {
+        long remoteId = SyncChange.NO_REMOTE_ID;
+        String productName = "";
+        String category = "";
+        long priceCents = 0;
+        int quantity = 0;
+        long updatedAt = 0;
+        boolean deleted = false;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else if ("id".equals(name)) {
+                remoteId = reader.nextLong();
+            } else if ("name".equals(name)) {
+                productName = reader.nextString();
+            } else if ("category".equals(name)) {
+                category = reader.nextString();
+            } else if ("priceCents".equals(name)) {
+                priceCents = reader.nextLong();
+            } else if ("quantity".equals(name)) {
+                quantity = reader.nextInt();
+            } else if ("updatedAt".equals(name)) {
+                updatedAt = reader.nextLong();
+            } else if ("deleted".equals(name)) {
+                deleted = reader.nextBoolean();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new SyncChange(0, remoteId, productName, category, priceCents, quantity, updatedAt, deleted);
+    }
+
+    /**
+     * Send one request and read its JSON response, counting bytes and round trips
+     * @param body Gzip-compressed JSON body, or null for none
+     */
+    private <T> T exchange(String method, String path, byte[] body, ResponseReader<T> responseReader,
+                           SyncStats stats) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        try {
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(READ_TIMEOUT_MS);
+            connection.setRequestProperty("Accept", "application/json");
+            // Asking explicitly means the body is not unzipped for us, so compressed bytes can be counted
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+                connection.setRequestProperty("Content-Encoding", "gzip");
+                connection.setFixedLengthStreamingMode(body.length);
+                OutputStream out = connection.getOutputStream();
+                try {
+                    out.write(body);
+                } finally {
+                    out.close();
+                }
+                stats.bytesSent += body.length;
+            }
+
+            int status = connection.getResponseCode();
+            stats.roundTrips++;
+            if (status < 200 || status >= 300) {
+                throw new IOException("Sync request " + method + " " + path + " failed with HTTP " + status);
+            }
+
+            CountingInputStream counted = new CountingInputStream(connection.getInputStream());
+            InputStream in = "gzip".equalsIgnoreCase(connection.getContentEncoding())
+                    ? new GZIPInputStream(counted) : counted;
+            JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            try {
+                return responseReader.read(reader);
+            } finally {
+                reader.close();
+                stats.bytesReceived += counted.count;
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Response to one push batch
+     */
+    private static class PushResult {
+        final Map<Integer, Long> remoteIds = new HashMap<>();
+        final List<SyncChange> current = new ArrayList<>();
+    }
+
+    /**
+     * One page of server changes
+     */
+    private static class PullPage {
+        final List<SyncChange> changes = new ArrayList<>();
+        long watermark;
+        boolean hasMore;
+    }
+
+    /**
+     * Counts the bytes read from the network
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
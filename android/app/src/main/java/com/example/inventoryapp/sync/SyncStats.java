@@ -0,0 +1,64 @@
+package com.example.inventoryapp.sync;
+
+/**
+ * SyncStats Class
+ * Transfer and outcome counters for one sync run
+ *
+ * Byte counts are what went over the wire, i.e. after compression.
+ */
+public class SyncStats {
+    long bytesSent;
+    long bytesReceived;
+    int roundTrips;
+    int pushedChanges;
+    int pushedDeletes;
+    int pulledChanges;
+    int conflicts;
+    long durationMs;
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public int getRoundTrips() {
+        return roundTrips;
+    }
+
+    public int getPushedChanges() {
+        return pushedChanges;
+    }
+
+    public int getPushedDeletes() {
+        return pushedDeletes;
+    }
+
+    public int getPulledChanges() {
+        return pulledChanges;
+    }
+
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncStats{" +
+                "bytesSent=" + bytesSent +
+                ", bytesReceived=" + bytesReceived +
+                ", roundTrips=" + roundTrips +
+                ", pushedChanges=" + pushedChanges +
+                ", pushedDeletes=" + pushedDeletes +
+                ", pulledChanges=" + pulledChanges +
+                ", conflicts=" + conflicts +
+                ", durationMs=" + durationMs +
+                '}';
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.inventoryapp.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.example.inventoryapp.model.Money;
+import com.example.inventoryapp.model.Product;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * LabelBuilderTest Class
+ * The allocation-free label path must render exactly what Money.format does
+ *
+ * The allocation checks count the bytes the test thread allocates, through
+ * HotSpot's per-thread counter, while the labels of one row bind are built
+ * many times over; they are skipped on JVMs without that counter.
+ */
+public class LabelBuilderTest {
+    private static final int WARMUP_BINDS = 20000;
+    private static final int MEASURED_BINDS = 100000;
+
+    private final Product product = new Product(42, "Green Tea 250g", "Beverages", 34999, 17);
+    private final LabelBuilder categoryLabel = new LabelBuilder(32);
+    private final LabelBuilder priceLabel = new LabelBuilder(24);
+    private final LabelBuilder quantityLabel = new LabelBuilder(16);
+    // Written by the binds so their work cannot be skipped
+    private long sink;
+
+    @Test
+    public void appendCentsMatchesMoneyFormat() {
+        LabelBuilder label = new LabelBuilder(32);
+        long[] edges = {0, 1, 9, 10, 99, 100, 101, -1, -99, -100, -12345, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long cents : edges) {
+            assertEquals(Money.format(cents), label.clear().appendCents(cents).toString());
+        }
+
+        Random random = new Random(5);
+        for (int i = 0; i < 100000; i++) {
+            long cents = random.nextLong() % 10000000000L;
+            assertEquals(Money.format(cents), label.clear().appendCents(cents).toString());
+        }
+    }
+
+    @Test
+    public void buildsPriceLabels() {
+        LabelBuilder label = new LabelBuilder(32);
+        assertEquals("Price: ₹1234.50", label.clear().append("Price: ₹").appendCents(123450).toString());
+        assertEquals("Qty: -7", label.clear().append("Qty: ").append(-7).toString());
+    }
+
+    @Test
+    public void reusesItsBufferOnceSized() {
+        LabelBuilder label = new LabelBuilder(8);
+        label.append("Price: ₹").appendCents(Long.MAX_VALUE);
+        char[] buffer = label.chars();
+        for (int i = 0; i < 1000; i++) {
+            label.clear().append("Price: ₹").appendCents(i * 997L);
+            assertSame(buffer, label.chars());
+        }
+    }
+
+    @Test
+    public void bindingRowLabelsAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        for (int i = 0; i < WARMUP_BINDS; i++) {
+            bindLabels();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURED_BINDS; i++) {
+            bindLabels();
+        }
+        long bytes = threads.getThreadAllocatedBytes(thread) - before;
+
+        // Only the counter's own bookkeeping may show up, never anything per bind
+        assertTrue("Allocated " + bytes + " bytes over " + MEASURED_BINDS + " binds", bytes < MEASURED_BINDS);
+    }
+
+    @Test
+    public void formattedLabelsAllocateOnEveryBind() {
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        for (int i = 0; i < WARMUP_BINDS; i++) {
+            bindLabelsFormatted();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURED_BINDS; i++) {
+            bindLabelsFormatted();
+        }
+        long bytesPerBind = (threads.getThreadAllocatedBytes(thread) - before) / MEASURED_BINDS;
+
+        // The String.format path this replaced: three Strings plus the Formatter behind the price
+        assertTrue("Allocated " + bytesPerBind + " bytes per bind", bytesPerBind > 100);
+    }
+
+    /**
+     * The labels ProductAdapter.onBindViewHolder builds for one row
+     */
+    private void bindLabels() {
+        categoryLabel.clear().append("Category: ").append(product.getCategory());
+        priceLabel.clear().append("Price: ₹").appendCents(product.getPriceCents());
+        quantityLabel.clear().append("Qty: ").append(product.getQuantity());
+        sink += categoryLabel.length() + priceLabel.chars()[priceLabel.length() - 1] + quantityLabel.length();
+    }
+
+    private void bindLabelsFormatted() {
+        String category = "Category: " + product.getCategory();
+        String price = String.format(Locale.US, "Price: ₹%.2f", Money.toUnits(product.getPriceCents()));
+        String quantity = "Qty: " + product.getQuantity();
+        sink += category.length() + price.charAt(price.length() - 1) + quantity.length();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(counter.isThreadAllocatedMemorySupported());
+        counter.setThreadAllocatedMemoryEnabled(true);
+        return counter;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.inventoryapp.alerts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import android.content.Context;
+
+import com.example.inventoryapp.database.DatabaseHelper;
+import com.example.inventoryapp.database.TestDatabases;
+import com.example.inventoryapp.model.Product;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LowStockMonitorTest Class
+ * Stock changes to products already in the by-ID cache must reach the monitor
+ *
+ * The monitor re-reads changed products through the cache, so a writer has
+ * to drop the cached copy before it tells listeners. A listener registered
+ * ahead of the monitor reads the product the moment it is told, which is
+ * the earliest the monitor's own evaluation could run.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class LowStockMonitorTest {
+    private static final String DATABASE_NAME = "low-stock-monitor-test.db";
+    private static final int REORDER_LEVEL = 10;
+    private static final long WAIT_MS = 5000;
+
+    private Context context;
+    private DatabaseHelper dbHelper;
+    private LowStockMonitor monitor;
+    private final List<Integer> quantitiesSeen = new ArrayList<>();
+    private int id;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        dbHelper = TestDatabases.open(context, DATABASE_NAME);
+        id = (int) dbHelper.addProduct(new Product("Milk", "Dairy", 120, 50));
+        assertEquals(1, dbHelper.setReorderLevel(id, REORDER_LEVEL));
+
+        dbHelper.addChangeListener(ids -> {
+            if (ids != null) {
+                for (Product product : dbHelper.getProductsByIds(ids)) {
+                    quantitiesSeen.add(product.getQuantity());
+                }
+            }
+        });
+        monitor = new LowStockMonitor(dbHelper);
+        monitor.start();
+
+        // Cached now, with the quantity above the reorder level
+        assertEquals(50, dbHelper.getProductsByIds(new int[]{id}).get(0).getQuantity());
+        assertFalse(monitor.isLowStock(id));
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void adjustQuantityOnCachedProductIsReported() throws InterruptedException {
+        assertEquals(1, dbHelper.adjustQuantity(id, -45));
+
+        assertEquals(5, (int) quantitiesSeen.get(quantitiesSeen.size() - 1));
+        awaitLowStock(true);
+        assertEquals(1, monitor.getLowStockCount());
+
+        // And back above the reorder level
+        assertEquals(1, dbHelper.adjustQuantity(id, 20));
+        assertEquals(25, (int) quantitiesSeen.get(quantitiesSeen.size() - 1));
+        awaitLowStock(false);
+    }
+
+    @Test
+    public void detailEditOnCachedProductIsReported() throws InterruptedException {
+        Product edit = new Product(id, "Milk", "Dairy", 120, 0);
+        assertEquals(1, dbHelper.updateProductDetails(edit, -45));
+
+        assertEquals(5, (int) quantitiesSeen.get(quantitiesSeen.size() - 1));
+        awaitLowStock(true);
+        assertEquals(1, monitor.getLowStockCount());
+    }
+
+    @Test
+    public void scanOnCachedProductIsReported() throws InterruptedException {
+        Product product = dbHelper.getProductById(id);
+        product.setSku("4006381333931");
+        assertEquals(1, dbHelper.updateProductDetails(product, 0));
+        // The first scan puts the ID in the SKU cache; then the product is cached again
+        assertEquals(id, dbHelper.adjustQuantityBySku("4006381333931", -1, true));
+        assertEquals(49, dbHelper.getProductsByIds(new int[]{id}).get(0).getQuantity());
+
+        assertEquals(id, dbHelper.adjustQuantityBySku("4006381333931", -44, true));
+        assertEquals(5, (int) quantitiesSeen.get(quantitiesSeen.size() - 1));
+        awaitLowStock(true);
+        assertEquals(1, monitor.getLowStockCount());
+    }
+
+    /**
+     * Wait for the monitor's executor to evaluate the change
+     */
+    private void awaitLowStock(boolean expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (monitor.isLowStock(id) != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, monitor.isLowStock(id));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.inventoryapp.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.example.inventoryapp.model.Product;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CategoryCacheTest Class
+ * Interning and lookups through a CategoryCache that starts out empty
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CategoryCacheTest {
+    private static final String DATABASE_NAME = "category-cache-test.db";
+
+    private Context context;
+    private DatabaseHelper dbHelper;
+    private CategoryCache cache;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        dbHelper = new DatabaseHelper(context, DATABASE_NAME);
+        dbHelper.addProduct(new Product("Milk", "Dairy", 120, 5));
+        dbHelper.addProduct(new Product("Bread", "Bakery", 80, 5));
+        cache = new CategoryCache(dbHelper);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void internLoadsTheTableOnFirstUse() {
+        String first = cache.intern(new String("Dairy"));
+        String second = cache.intern(new String("Dairy"));
+
+        assertEquals("Dairy", first);
+        assertSame(first, second);
+        assertSame(first, cache.getName(cache.getId("Dairy")));
+        // Unknown names and null pass through unchanged
+        String unknown = new String("Frozen");
+        assertSame(unknown, cache.intern(unknown));
+        assertNull(cache.intern(null));
+    }
+
+    @Test
+    public void concurrentFirstUseAgreesOnOneInstance() throws InterruptedException {
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<String> interned = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    String name = cache.intern(new String("Bakery"));
+                    synchronized (interned) {
+                        interned.add(name);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("Worker failed", failure.get());
+        }
+
+        assertEquals(threads, interned.size());
+        for (String name : interned) {
+            assertSame(interned.get(0), name);
+        }
+    }
+
+    @Test
+    public void categoryAddedInOpenTransactionIsNotCached() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            dbHelper.addProduct(new Product("Cheese", "Deli", 300, 5));
+            int id = cache.getId("Deli");
+            String inTransaction = cache.intern(new String("Deli"));
+            assertEquals("Deli", cache.getName(id));
+            assertEquals("Deli", inTransaction);
+        } finally {
+            // Rolled back: the category never existed
+            db.endTransaction();
+        }
+
+        assertEquals(CategoryCache.NO_CATEGORY, cache.getId("Deli"));
+        String deli = new String("Deli");
+        assertSame(deli, cache.intern(deli));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.inventoryapp.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import com.example.inventoryapp.model.Product;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LowStockQueryPlanTest Class
+ * Guards the low stock query against losing its partial index
+ *
+ * The planner only uses idx_products_low_stock when the query's WHERE
+ * clause matches the index's, so an edit to either one silently turns the
+ * query into a full table scan. Checked on an empty table and after
+ * ANALYZE on a table where few rows are low.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class LowStockQueryPlanTest {
+    private static final String DATABASE_NAME = "low-stock-plan-test.db";
+    private static final String LOW_STOCK_INDEX = "idx_products_low_stock";
+
+    private Context context;
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        dbHelper = new DatabaseHelper(context, DATABASE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void usesPartialIndexOnEmptyTable() {
+        String plan = explain(DatabaseHelper.SQL_LOW_STOCK_PRODUCTS);
+        assertTrue("Low stock query does not use " + LOW_STOCK_INDEX + ":\n" + plan, plan.contains(LOW_STOCK_INDEX));
+    }
+
+    @Test
+    public void usesPartialIndexWithStatistics() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            // One product in fifty is below its reorder level
+            Product product = new Product("Product " + i, "Category " + (i % 10), 199, i % 50 == 0 ? 1 : 100);
+            product.setReorderLevel(10);
+            products.add(product);
+        }
+        dbHelper.bulkInsert(products);
+        dbHelper.getWritableDatabase().execSQL("ANALYZE");
+
+        String plan = explain(DatabaseHelper.SQL_LOW_STOCK_PRODUCTS);
+        assertTrue("Low stock query does not use " + LOW_STOCK_INDEX + ":\n" + plan, plan.contains(LOW_STOCK_INDEX));
+
+        List<Product> lowStock = dbHelper.getLowStockProducts();
+        assertEquals(100, lowStock.size());
+        for (Product product : lowStock) {
+            assertTrue(product.getQuantity() < product.getReorderLevel());
+        }
+    }
+
+    /**
+     * Detail lines of the query plan, one per row
+     */
+    private String explain(String sql) {
+        StringBuilder plan = new StringBuilder();
+        Cursor cursor = null;
+        try {
+            cursor = dbHelper.getReadableDatabase().rawQuery("EXPLAIN QUERY PLAN " + sql, null);
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.inventoryapp.database;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+
+import com.example.inventoryapp.model.Product;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ProductCacheCoherenceTest Class
+ * The by-ID cache in DatabaseHelper under concurrent writers and readers
+ *
+ * After every thread has finished, a read through the cache must return
+ * exactly what a read that bypasses it returns.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ProductCacheCoherenceTest {
+    private static final String DATABASE_NAME = "cache-coherence-test.db";
+    private static final int PRODUCTS = 10;
+
+    private Context context;
+    private DatabaseHelper dbHelper;
+    private final List<Integer> ids = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        dbHelper = new DatabaseHelper(context, DATABASE_NAME);
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids.add((int) dbHelper.addProduct(new Product("Product " + i, "Category", 100, 50)));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void updateKeepsReorderLevelAndSku() {
+        int id = ids.get(0);
+        Product product = dbHelper.getProductById(id);
+        product.setSku("4006381333931");
+        assertEquals(1, dbHelper.updateProductDetails(product, 0));
+        // Cached here, so the update below has an entry to replace
+        dbHelper.getProductById(id);
+
+        assertEquals(1, dbHelper.updateProduct(new Product(id, "Renamed", "Category", 250, 40)));
+        Product cached = dbHelper.getProductById(id);
+        assertEquals("Renamed", cached.getName());
+        assertEquals(250, cached.getPriceCents());
+        assertEquals(40, cached.getQuantity());
+        assertEquals("4006381333931", cached.getSku());
+        assertEquals(uncached(id).getReorderLevel(), cached.getReorderLevel());
+    }
+
+    @Test
+    public void concurrentWritersLeaveCacheMatchingTable() throws InterruptedException {
+        final int threads = 8;
+        final int operations = 300;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final boolean writer = t % 2 == 0;
+            final Random random = new Random(t);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < operations; i++) {
+                        int id = ids.get(random.nextInt(ids.size()));
+                        if (!writer) {
+                            dbHelper.getProductById(id);
+                        } else if (random.nextBoolean()) {
+                            dbHelper.updateProduct(new Product(id, "Product " + random.nextInt(1000),
+                                    "Category", 100 + random.nextInt(1000), random.nextInt(1000)));
+                        } else {
+                            dbHelper.adjustQuantity(id, random.nextBoolean() ? 1 : -1);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("Worker failed", failure.get());
+        }
+
+        for (int id : ids) {
+            Product cached = dbHelper.getProductById(id);
+            Product stored = uncached(id);
+            assertEquals("Name of " + id, stored.getName(), cached.getName());
+            assertEquals("Price of " + id, stored.getPriceCents(), cached.getPriceCents());
+            assertEquals("Quantity of " + id, stored.getQuantity(), cached.getQuantity());
+        }
+    }
+
+    /**
+     * Read a product straight from the table, leaving the cache alone
+     */
+    private Product uncached(int id) {
+        List<Product> page = dbHelper.scanProductsPage(id - 1, 1);
+        assertEquals(id, page.get(0).getId());
+        return page.get(0);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.inventoryapp.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.example.inventoryapp.model.Product;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ProductCacheTest Class
+ * LRU behaviour, statistics and the version check that keeps readers from caching stale rows
+ */
+public class ProductCacheTest {
+
+    @Test
+    public void countsHitsAndMisses() {
+        ProductCache cache = new ProductCache(4);
+        assertNull(cache.get(1));
+        cache.putIfUnchanged(product(1, 10), cache.version());
+        assertEquals(10, cache.get(1).getQuantity());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        cache.resetStats();
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void handsOutCopies() {
+        ProductCache cache = new ProductCache(4);
+        Product product = product(1, 10);
+        product.setSku("4006381333931");
+        cache.putIfUnchanged(product, cache.version());
+        product.setQuantity(99);
+
+        Product cached = cache.get(1);
+        assertEquals(10, cached.getQuantity());
+        assertEquals("4006381333931", cached.getSku());
+        cached.setQuantity(50);
+        assertEquals(10, cache.get(1).getQuantity());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        ProductCache cache = new ProductCache(2);
+        cache.putIfUnchanged(product(1, 1), cache.version());
+        cache.putIfUnchanged(product(2, 2), cache.version());
+        cache.get(1);
+        cache.putIfUnchanged(product(3, 3), cache.version());
+
+        assertNotNull(cache.get(1));
+        assertNull(cache.get(2));
+        assertNotNull(cache.get(3));
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.setMaxEntries(1);
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get(3));
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void rejectsReadsThatStartedBeforeAWrite() {
+        ProductCache cache = new ProductCache(4);
+        long readVersion = cache.version();
+        cache.invalidate(7);
+        cache.putIfUnchanged(product(1, 10), readVersion);
+        assertNull(cache.get(1));
+
+        readVersion = cache.version();
+        cache.invalidateAll();
+        cache.putIfUnchanged(product(1, 10), readVersion);
+        assertNull(cache.get(1));
+    }
+
+    /**
+     * Readers and writers race over a few IDs against an in-memory stand-in for
+     * the table, following DatabaseHelper's protocol: readers note the version
+     * before reading, writers commit and then invalidate. Whatever the
+     * interleaving, a cached product must equal the committed row.
+     */
+    @Test
+    public void concurrentWritersNeverLeaveStaleEntries() throws InterruptedException {
+        final int ids = 8;
+        final int threads = 8;
+        final int operations = 20000;
+        final ProductCache cache = new ProductCache(ids);
+        final AtomicReferenceArray<Product> table = new AtomicReferenceArray<>(ids + 1);
+        for (int id = 1; id <= ids; id++) {
+            table.set(id, product(id, 0));
+        }
+
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final boolean writer = t % 2 == 0;
+            final Random random = new Random(t);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < operations; i++) {
+                    int id = 1 + random.nextInt(ids);
+                    if (writer) {
+                        table.set(id, product(id, random.nextInt(1000)));
+                        cache.invalidate(id);
+                    } else if (cache.get(id) == null) {
+                        long readVersion = cache.version();
+                        Product row = table.get(id);
+                        Thread.yield();
+                        cache.putIfUnchanged(row, readVersion);
+                    }
+                }
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : workers) {
+            thread.join();
+        }
+
+        for (int id = 1; id <= ids; id++) {
+            Product cached = cache.get(id);
+            if (cached != null) {
+                assertEquals("Stale entry for " + id, table.get(id).getQuantity(), cached.getQuantity());
+            }
+        }
+    }
+
+    private static Product product(int id, int quantity) {
+        return new Product(id, "Product " + id, "Category", 100, quantity, 5);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.inventoryapp.database;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * ProductExporterTest Class
+ * ProductExporter over a million products: bounded memory, and resuming
+ *
+ * An export is cancelled partway, past a checkpoint but between two, so the
+ * file holds rows the checkpoint does not cover; resuming must cut those off
+ * and append from the watermark. The resumed file must match an export that
+ * ran straight through, byte for byte for plain CSV, and once decompressed
+ * for gzipped JSON Lines, whose resumed part starts a new gzip member.
+ *
+ * Heap use is sampled after a full GC every SAMPLE_ROWS rows; it must stay
+ * well under what the Product objects of the table would take.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ProductExporterTest {
+    private static final String DATABASE_NAME = "export-test.db";
+    private static final int PRODUCTS = 1000000;
+    // Between the 22nd and 23rd checkpoints
+    private static final int CANCEL_AT_ROWS = 22 * ProductExporter.CHECKPOINT_ROWS + 7 * ProductExporter.WINDOW_SIZE;
+    private static final int SAMPLE_ROWS = 100000;
+    // 1M Product objects with their Strings take a few hundred MB
+    private static final long MAX_HEAP_GROWTH_BYTES = 32L * 1024 * 1024;
+
+    private Context context;
+    private DatabaseHelper dbHelper;
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        context = RuntimeEnvironment.getApplication();
+        dbHelper = new DatabaseHelper(context, DATABASE_NAME);
+        directory = new File(context.getFilesDir(), "export-test");
+        assertTrue(directory.isDirectory() || directory.mkdirs());
+        insertProducts();
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void resumedCsvMatchesFullExportWithBoundedHeap() throws IOException {
+        File full = new File(directory, "full.csv");
+        HeapSampler heap = new HeapSampler();
+        assertEquals(PRODUCTS, new ProductExporter(dbHelper).export(full, ProductExporter.FORMAT_CSV, false,
+                null, heap));
+        assertTrue("Heap grew by " + heap.maxGrowth + " bytes", heap.maxGrowth < MAX_HEAP_GROWTH_BYTES);
+        assertEquals(PRODUCTS / SAMPLE_ROWS, heap.samples);
+
+        File resumed = new File(directory, "resumed.csv");
+        Properties checkpoint = cancelPartway(resumed, ProductExporter.FORMAT_CSV, false);
+        assertTrue(resumed.length() > Long.parseLong(checkpoint.getProperty("length")));
+        assertEquals(PRODUCTS, new ProductExporter(dbHelper).export(resumed, ProductExporter.FORMAT_CSV, false,
+                null, null));
+
+        assertFalse(checkpointFile(resumed).exists());
+        assertArrayEquals(Files.readAllBytes(full.toPath()), Files.readAllBytes(resumed.toPath()));
+        assertEquals(PRODUCTS + 1, countLines(Files.readAllBytes(full.toPath())));
+    }
+
+    @Test
+    public void resumedGzipJsonLinesMatchesFullExport() throws IOException {
+        File resumed = new File(directory, "resumed.jsonl.gz");
+        Properties checkpoint = cancelPartway(resumed, ProductExporter.FORMAT_JSON_LINES, true);
+        long memberStart = Long.parseLong(checkpoint.getProperty("length"));
+        assertEquals(PRODUCTS, new ProductExporter(dbHelper).export(resumed, ProductExporter.FORMAT_JSON_LINES,
+                true, null, null));
+        assertFalse(checkpointFile(resumed).exists());
+
+        // The resumed rows follow the checkpoint as a gzip member of their own
+        try (RandomAccessFile file = new RandomAccessFile(resumed, "r")) {
+            file.seek(memberStart);
+            assertEquals(0x1f, file.read());
+            assertEquals(0x8b, file.read());
+        }
+
+        File full = new File(directory, "full.jsonl");
+        assertEquals(PRODUCTS, new ProductExporter(dbHelper).export(full, ProductExporter.FORMAT_JSON_LINES, false,
+                null, null));
+        byte[] expected = Files.readAllBytes(full.toPath());
+        assertArrayEquals(expected, gunzip(resumed));
+        assertEquals(PRODUCTS, countLines(expected));
+    }
+
+    /**
+     * Start an export and cancel it once CANCEL_AT_ROWS rows are in
+     * @return The checkpoint it left behind
+     */
+    private Properties cancelPartway(File file, int format, boolean gzip) throws IOException {
+        final CancellationSignal signal = new CancellationSignal();
+        try {
+            new ProductExporter(dbHelper).export(file, format, gzip, signal, rows -> {
+                if (rows >= CANCEL_AT_ROWS) {
+                    signal.cancel();
+                }
+            });
+            fail("Export was not cancelled");
+        } catch (OperationCanceledException expected) {
+            // Stopped at the next window, as a cancelled task would be
+        }
+
+        Properties checkpoint = new Properties();
+        try (InputStream in = new FileInputStream(checkpointFile(file))) {
+            checkpoint.load(in);
+        }
+        int watermark = Integer.parseInt(checkpoint.getProperty("watermark"));
+        assertEquals(22 * ProductExporter.CHECKPOINT_ROWS, Integer.parseInt(checkpoint.getProperty("rows")));
+        assertEquals(22 * ProductExporter.CHECKPOINT_ROWS, watermark);
+        return checkpoint;
+    }
+
+    private static File checkpointFile(File file) {
+        return new File(file.getPath() + ".checkpoint");
+    }
+
+    /**
+     * Insert the products in one statement, with names that need CSV quoting and JSON escapes
+     */
+    private void insertProducts() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.execSQL("WITH RECURSIVE seq(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM seq WHERE i < " + PRODUCTS +
+                    ") INSERT INTO products (id, name, category, price, price_cents, quantity, sku) " +
+                    "SELECT i, CASE i % 7 WHEN 0 THEN 'Tea, \"green\" ' || i WHEN 1 THEN 'Café ' || i " +
+                    "ELSE 'Product ' || i END, " +
+                    "CASE i % 4 WHEN 0 THEN 'Beverages' WHEN 1 THEN 'Snacks' WHEN 2 THEN 'Dairy' ELSE 'Bakery' END, " +
+                    "(100 + i % 5000) / 100.0, 100 + i % 5000, i % 250, " +
+                    "CASE WHEN i % 3 = 0 THEN 'SKU' || i END FROM seq");
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static byte[] gunzip(File file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) file.length() * 4);
+        try (InputStream in = new GZIPInputStream(new FileInputStream(file), 64 * 1024)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static int countLines(byte[] bytes) {
+        int lines = 0;
+        for (byte b : bytes) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Progress listener that records how far heap use rose above where the export started
+     */
+    private static class HeapSampler implements DatabaseHelper.BulkProgressListener {
+        private final long baseline = usedHeap();
+        long maxGrowth;
+        int samples;
+
+        @Override
+        public void onProgress(int rowsProcessed) {
+            if (rowsProcessed % SAMPLE_ROWS == 0) {
+                maxGrowth = Math.max(maxGrowth, usedHeap() - baseline);
+                samples++;
+            }
+        }
+
+        private static long usedHeap() {
+            Runtime runtime = Runtime.getRuntime();
+            System.gc();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
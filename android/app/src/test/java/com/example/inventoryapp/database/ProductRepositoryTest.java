@@ -0,0 +1,139 @@
+package com.example.inventoryapp.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteException;
+import android.os.Looper;
+
+import com.example.inventoryapp.model.Product;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProductRepositoryTest Class
+ * How ProductRepository hands results and failures back to the main thread
+ *
+ * Screens disable their buttons while an operation runs and only re-enable
+ * them from a callback, so a failed operation must reach one too.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ProductRepositoryTest {
+    private static final String DATABASE_NAME = "repository-test.db";
+    private static final long WAIT_MS = 5000;
+
+    private Context context;
+    private DatabaseHelper dbHelper;
+    private ProductRepository repository;
+    private final List<Object> results = new ArrayList<>();
+    private final List<Exception> errors = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        dbHelper = new DatabaseHelper(context, DATABASE_NAME);
+        repository = new ProductRepository(dbHelper, context);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void resultIsDeliveredOnMainThread() {
+        repository.addProduct(null, new Product("Milk", "Dairy", 120, 5), results::add, errors::add);
+        awaitCallback();
+
+        assertEquals(1, results.size());
+        assertTrue((Long) results.get(0) > 0);
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void failureIsDeliveredToErrorCallback() {
+        final IllegalStateException failure = new IllegalStateException("disk full");
+        repository.write(null, () -> {
+            throw failure;
+        }, results::add, errors::add);
+        awaitCallback();
+
+        assertTrue(results.isEmpty());
+        assertEquals(1, errors.size());
+        assertSame(failure, errors.get(0));
+    }
+
+    @Test
+    public void cancelledTaskDeliversNothing() {
+        ProductRepository.DbTask<Object> task = repository.write(null, () -> {
+            throw new IllegalStateException("disk full");
+        }, results::add, errors::add);
+        task.cancel();
+        // Queued behind it on the writer thread, so its result arrives after the cancelled one's
+        repository.write(null, () -> "done", results::add, null);
+        awaitCallback();
+
+        assertEquals(1, results.size());
+        assertEquals("done", results.get(0));
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void failedReportIsDeletedAndReported() {
+        dbHelper.addProduct(new Product("Milk", "Dairy", 120, 5));
+        // The engine's scan then fails partway with a database error, not an IOException
+        dbHelper.getWritableDatabase().execSQL("DROP TABLE products");
+        File file = new File(new File(context.getFilesDir(), "reports"), "failed.csv");
+
+        repository.writeInventoryReport(null, file, false, results::add, errors::add);
+        awaitCallback();
+
+        assertTrue(results.isEmpty());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof SQLiteException);
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void unwritableReportDeliversNull() throws IOException {
+        File blocker = new File(context.getFilesDir(), "not-a-directory");
+        assertTrue(blocker.createNewFile());
+        File file = new File(blocker, "report.csv");
+
+        repository.writeInventoryReport(null, file, false, results::add, errors::add);
+        awaitCallback();
+
+        assertEquals(1, results.size());
+        assertNull(results.get(0));
+        assertTrue(errors.isEmpty());
+        assertTrue(blocker.delete());
+    }
+
+    /**
+     * Run main thread tasks until a callback has fired
+     */
+    private void awaitCallback() {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (results.isEmpty() && errors.isEmpty() && System.currentTimeMillis() < deadline) {
+            shadowOf(Looper.getMainLooper()).idle();
+            Thread.yield();
+        }
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.inventoryapp.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import com.example.inventoryapp.model.InventorySummary;
+import com.example.inventoryapp.model.Product;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.File;
+
+/**
+ * SchemaMigrationsTest Class
+ * Upgrades a 100k-row version 1 database to the latest schema
+ *
+ * The version 1 file is written directly, as the first release left it:
+ * REAL prices and no reorder levels, indexes, summary or search index.
+ * Every product must come through the upgrade and the backfills unchanged,
+ * with the derived tables agreeing with the rows.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SchemaMigrationsTest {
+    private static final String DATABASE_NAME = "migration-test.db";
+    private static final int ROWS = 100000;
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Dairy", "Bakery", "Frozen", "Household"};
+    // Version 3 gave every existing product this reorder level
+    private static final int DEFAULT_REORDER_LEVEL = 5;
+
+    private Context context;
+    private DatabaseHelper dbHelper;
+    private int expectedLowStock;
+    private long expectedUnits;
+    private long expectedValueCents;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        context.deleteDatabase(DATABASE_NAME);
+        writeVersion1Database();
+        dbHelper = new DatabaseHelper(context, DATABASE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void upgradesVersion1WithoutLosingRows() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        assertEquals(SchemaMigrations.LATEST_VERSION, db.getVersion());
+
+        // Readable straight after the upgrade, before any backfill has run
+        assertEquals(ROWS, dbHelper.getProductCount());
+        assertSummary(dbHelper.getInventorySummary());
+        assertProducts();
+        // Change stamps are left to their backfill rather than rewritten during the upgrade
+        assertEquals(ROWS, count(db, "SELECT COUNT(*) FROM products WHERE change_seq = 0"));
+
+        int chunks = 0;
+        while (dbHelper.runBackfillChunk(1000)) {
+            chunks++;
+            assertTrue("Backfills did not finish", chunks < 10 * ROWS / 1000);
+        }
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM " + SchemaMigrations.TABLE_BACKFILLS));
+
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM products WHERE price_cents IS NULL " +
+                "OR price_cents <> CAST(ROUND(price * 100) AS INTEGER)"));
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM products p WHERE category_id IS NULL " +
+                "OR category_id <> (SELECT id FROM categories WHERE name = p.category)"));
+        assertEquals(CATEGORIES.length, count(db, "SELECT COUNT(*) FROM categories"));
+        // Every row is waiting to be pushed, each with its own stamp from the change counter
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM products WHERE change_seq <= " +
+                "(SELECT value FROM sync_state WHERE key = 'pushed_seq')"));
+        assertEquals(ROWS, count(db, "SELECT COUNT(DISTINCT change_seq) FROM products"));
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM products WHERE change_seq > " +
+                "(SELECT value FROM sync_state WHERE key = 'change_seq')"));
+
+        assertEquals(ROWS, dbHelper.getProductCount());
+        assertSummary(dbHelper.getInventorySummary());
+        assertProducts();
+    }
+
+    @Test
+    public void upgradedDatabaseIsSearchable() {
+        int[] ids = dbHelper.searchProductIds("Widget 77777", null);
+        assertEquals(1, ids.length);
+        assertEquals(77777, ids[0]);
+
+        int dairy = 0;
+        for (int id = 1; id <= ROWS; id++) {
+            if ("Dairy".equals(CATEGORIES[id % CATEGORIES.length])) {
+                dairy++;
+            }
+        }
+        assertEquals(dairy, dbHelper.searchProductIds("Dairy", null).length);
+    }
+
+    @Test
+    public void upgradedDatabaseAcceptsWrites() {
+        Product product = new Product("Widget new", "Snacks", 250, 3);
+        long id = dbHelper.addProduct(product);
+        assertTrue(id > ROWS);
+        assertEquals(1, dbHelper.adjustQuantity((int) id, 4));
+
+        Product stored = dbHelper.getProductById((int) id);
+        assertNotNull(stored);
+        assertEquals(7, stored.getQuantity());
+        assertEquals(250, stored.getPriceCents());
+        assertEquals(ROWS + 1, dbHelper.getProductCount());
+    }
+
+    /**
+     * Build the version 1 file the way the first release did, outside the helper
+     */
+    private void writeVersion1Database() {
+        File file = context.getDatabasePath(DATABASE_NAME);
+        file.getParentFile().mkdirs();
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(file, null);
+        try {
+            SchemaMigrations.createVersion1(db);
+            SQLiteStatement insert = db.compileStatement(
+                    "INSERT INTO products (name, category, price, quantity) VALUES (?, ?, ?, ?)");
+            db.beginTransaction();
+            try {
+                for (int id = 1; id <= ROWS; id++) {
+                    insert.bindString(1, "Widget " + id);
+                    insert.bindString(2, CATEGORIES[id % CATEGORIES.length]);
+                    insert.bindDouble(3, priceCents(id) / 100.0);
+                    insert.bindLong(4, quantity(id));
+                    insert.executeInsert();
+                    if (quantity(id) < DEFAULT_REORDER_LEVEL) {
+                        expectedLowStock++;
+                    }
+                    expectedUnits += quantity(id);
+                    expectedValueCents += priceCents(id) * quantity(id);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+                insert.close();
+            }
+            db.setVersion(1);
+        } finally {
+            db.close();
+        }
+    }
+
+    private static long priceCents(int id) {
+        return 1 + (id * 7919L) % 99999;
+    }
+
+    private static int quantity(int id) {
+        return id % 250;
+    }
+
+    private void assertSummary(InventorySummary summary) {
+        assertEquals(ROWS, summary.getProductCount());
+        assertEquals(expectedLowStock, summary.getLowStockCount());
+        assertEquals(expectedUnits, summary.getTotalUnits());
+        assertEquals(expectedValueCents, summary.getTotalValueCents());
+    }
+
+    /**
+     * Spot-check products across the ID range against the values written at version 1
+     */
+    private void assertProducts() {
+        for (int id = 1; id <= ROWS; id += 997) {
+            Product product = dbHelper.getProductById(id);
+            assertNotNull("Missing product " + id, product);
+            assertEquals("Widget " + id, product.getName());
+            assertEquals(CATEGORIES[id % CATEGORIES.length], product.getCategory());
+            assertEquals(priceCents(id), product.getPriceCents());
+            assertEquals(quantity(id), product.getQuantity());
+            assertEquals(DEFAULT_REORDER_LEVEL, product.getReorderLevel());
+        }
+    }
+
+    private static long count(SQLiteDatabase db, String sql) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery(sql, null);
+            return cursor.moveToFirst() ? cursor.getLong(0) : -1;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+}
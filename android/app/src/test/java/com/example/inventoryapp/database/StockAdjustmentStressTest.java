@@ -0,0 +1,217 @@
+package com.example.inventoryapp.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import com.example.inventoryapp.model.Product;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * StockAdjustmentStressTest Class
+ * Concurrent stock adjustments through DatabaseHelper
+ *
+ * Threads add and remove stock on the same few products at once. Each
+ * records the deltas it applied; once all have finished, every stored
+ * quantity must equal its starting value plus those deltas, so no change
+ * was lost to another writer.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StockAdjustmentStressTest {
+    private static final String DATABASE_NAME = "stock-stress-test.db";
+    private static final int PRODUCTS = 4;
+    private static final int INITIAL_QUANTITY = 1000;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS = 250;
+
+    private Context context;
+    private DatabaseHelper dbHelper;
+    private final List<Integer> ids = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        dbHelper = new DatabaseHelper(context, DATABASE_NAME);
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids.add((int) dbHelper.addProduct(new Product("Product " + i, "Category", 100, INITIAL_QUANTITY)));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void concurrentAdjustmentsLoseNoUpdates() throws InterruptedException {
+        final AtomicLongArray applied = new AtomicLongArray(PRODUCTS);
+        runConcurrently(new Worker() {
+            @Override
+            public void run(Random random) {
+                int index = random.nextInt(PRODUCTS);
+                int delta = random.nextBoolean() ? 1 + random.nextInt(5) : -1 - random.nextInt(5);
+                assertEquals(1, dbHelper.adjustQuantity(ids.get(index), delta));
+                applied.addAndGet(index, delta);
+            }
+        });
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            assertEquals("Quantity of " + ids.get(i), INITIAL_QUANTITY + applied.get(i), storedQuantity(ids.get(i)));
+        }
+    }
+
+    @Test
+    public void concurrentBatchesLoseNoUpdates() throws InterruptedException {
+        final AtomicLongArray applied = new AtomicLongArray(PRODUCTS);
+        runConcurrently(new Worker() {
+            @Override
+            public void run(Random random) {
+                Map<Integer, Integer> deltas = new HashMap<>();
+                for (int i = 0; i < PRODUCTS; i++) {
+                    if (random.nextBoolean()) {
+                        deltas.put(ids.get(i), random.nextInt(11) - 5);
+                    }
+                }
+                if (deltas.isEmpty()) {
+                    return;
+                }
+                assertTrue(dbHelper.adjustQuantities(deltas, false));
+                for (int i = 0; i < PRODUCTS; i++) {
+                    Integer delta = deltas.get(ids.get(i));
+                    if (delta != null) {
+                        applied.addAndGet(i, delta);
+                    }
+                }
+            }
+        });
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            assertEquals("Quantity of " + ids.get(i), INITIAL_QUANTITY + applied.get(i), storedQuantity(ids.get(i)));
+        }
+    }
+
+    @Test
+    public void guardedDecrementsStopAtZero() throws InterruptedException {
+        final int id = ids.get(0);
+        final AtomicInteger accepted = new AtomicInteger();
+        runConcurrently(new Worker() {
+            @Override
+            public void run(Random random) {
+                accepted.addAndGet(dbHelper.adjustQuantity(id, -1, true));
+            }
+        });
+
+        // More decrements were attempted than there was stock; exactly the stock was taken
+        assertTrue(THREADS * OPERATIONS > INITIAL_QUANTITY);
+        assertEquals(INITIAL_QUANTITY, accepted.get());
+        assertEquals(0, storedQuantity(id));
+    }
+
+    @Test
+    public void detailEditsKeepConcurrentAdjustments() throws InterruptedException {
+        final int id = ids.get(0);
+        final AtomicLongArray applied = new AtomicLongArray(1);
+        runConcurrently(new Worker() {
+            @Override
+            public void run(Random random) {
+                int delta = random.nextInt(11) - 5;
+                if (random.nextInt(4) == 0) {
+                    // As the update screen saves: new details, the user's change to the quantity
+                    Product edit = new Product(id, "Product " + random.nextInt(1000), "Category",
+                            100 + random.nextInt(1000), 0);
+                    assertEquals(1, dbHelper.updateProductDetails(edit, delta));
+                } else {
+                    assertEquals(1, dbHelper.adjustQuantity(id, delta));
+                }
+                applied.addAndGet(0, delta);
+            }
+        });
+
+        assertEquals(INITIAL_QUANTITY + applied.get(0), storedQuantity(id));
+    }
+
+    @Test
+    public void detailEditsGuardOnlyStockRemoval() {
+        int id = ids.get(0);
+        assertEquals(1, dbHelper.adjustQuantity(id, -INITIAL_QUANTITY - 3));
+        Product edit = new Product(id, "Renamed", "Category", 250, 0);
+
+        // Already below zero: renaming and restocking still go through
+        assertEquals(1, dbHelper.updateProductDetails(edit, 0));
+        assertEquals(-3, storedQuantity(id));
+        assertEquals(1, dbHelper.updateProductDetails(edit, 1));
+        assertEquals(-2, storedQuantity(id));
+
+        // Removing stock is refused whenever it would leave the quantity negative
+        assertEquals(0, dbHelper.updateProductDetails(edit, -1));
+        assertEquals(1, dbHelper.updateProductDetails(edit, 5));
+        assertEquals(0, dbHelper.updateProductDetails(edit, -4));
+        assertEquals(1, dbHelper.updateProductDetails(edit, -3));
+        assertEquals(0, storedQuantity(id));
+    }
+
+    /**
+     * One operation of a stress run
+     */
+    private interface Worker {
+        void run(Random random);
+    }
+
+    /**
+     * Start THREADS threads together, each running the worker OPERATIONS times
+     */
+    private static void runConcurrently(final Worker worker) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final Random random = new Random(t);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS; i++) {
+                        worker.run(random);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("Worker failed", failure.get());
+        }
+    }
+
+    /**
+     * Read the quantity straight from the table, leaving the cache alone
+     */
+    private long storedQuantity(int id) {
+        List<Product> page = dbHelper.scanProductsPage(id - 1, 1);
+        assertEquals(id, page.get(0).getId());
+        return page.get(0).getQuantity();
+    }
+}
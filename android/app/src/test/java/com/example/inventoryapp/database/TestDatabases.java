@@ -0,0 +1,17 @@
+package com.example.inventoryapp.database;
+
+import android.content.Context;
+
+/**
+ * TestDatabases Class
+ * Opens a DatabaseHelper on its own file for tests outside this package
+ * Callers close it and delete the database when done
+ */
+public final class TestDatabases {
+    private TestDatabases() {
+    }
+
+    public static DatabaseHelper open(Context context, String name) {
+        return new DatabaseHelper(context, name);
+    }
+}
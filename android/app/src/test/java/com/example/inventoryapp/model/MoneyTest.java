@@ -0,0 +1,124 @@
+package com.example.inventoryapp.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * MoneyTest Class
+ * Parsing and formatting of cents, and exact totals over millions of rows
+ */
+public class MoneyTest {
+    private static final int ROWS = 2000000;
+
+    @Test
+    public void parsesPrices() {
+        assertEquals(1200, Money.parseCents("12"));
+        assertEquals(1250, Money.parseCents("12.5"));
+        assertEquals(1250, Money.parseCents("12.50"));
+        assertEquals(5, Money.parseCents("0.05"));
+        assertEquals(50, Money.parseCents(".5"));
+        assertEquals(1200, Money.parseCents("12."));
+        assertEquals(-1999, Money.parseCents("-19.99"));
+        assertEquals(1999, Money.parseCents(" +19.99 "));
+        assertEquals(99999999999999999L, Money.parseCents("999999999999999.99"));
+    }
+
+    @Test
+    public void rejectsInvalidPrices() {
+        String[] invalid = {"", ".", "-", "1.234", "1,50", "12a", "1e3", "1.2.3", "1234567890123456"};
+        for (String text : invalid) {
+            try {
+                Money.parseCents(text);
+                fail("Parsed \"" + text + "\"");
+            } catch (NumberFormatException expected) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void formatsCents() {
+        assertEquals("0.00", Money.format(0));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("0.50", Money.format(50));
+        assertEquals("123.45", Money.format(12345));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals("-123.45", Money.format(-12345));
+        assertEquals("92233720368547758.07", Money.format(Long.MAX_VALUE));
+        assertEquals("-92233720368547758.08", Money.format(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void formatAndParseRoundTrip() {
+        Random random = new Random(13);
+        for (int i = 0; i < 100000; i++) {
+            long cents = random.nextLong() % 100000000000000L;
+            assertEquals(cents, Money.parseCents(Money.format(cents)));
+            assertEquals(new BigDecimal(cents).movePointLeft(2).toPlainString(), Money.format(cents));
+        }
+    }
+
+    @Test
+    public void convertsLegacyDoubles() {
+        assertEquals(1999, Money.fromUnits(19.99));
+        assertEquals(1, Money.fromUnits(0.005));
+        assertEquals(-1999, Money.fromUnits(-19.99));
+        assertEquals(19.99, Money.toUnits(1999), 0.0);
+    }
+
+    /**
+     * Millions of 0.10 prices sum exactly in cents, where doubles drift
+     */
+    @Test
+    public void sumsMillionsOfRowsExactly() {
+        ProductSnapshot.Builder builder = new ProductSnapshot.Builder(ROWS);
+        double doubleTotal = 0;
+        for (int i = 0; i < ROWS; i++) {
+            builder.add(i + 1, "Category " + (i % 10), 10, 1, 5);
+            doubleTotal += 0.10;
+        }
+        ProductSnapshot snapshot = builder.build();
+
+        assertEquals(ROWS * 10L, snapshot.totalValueCents());
+        assertEquals(ROWS, snapshot.totalUnits());
+        assertNotEquals(ROWS / 10.0, doubleTotal, 0.0);
+
+        long byCategory = 0;
+        for (long value : snapshot.valueCentsByCategory()) {
+            byCategory += value;
+        }
+        assertEquals(ROWS * 10L, byCategory);
+    }
+
+    /**
+     * Mixed prices and quantities, checked against BigDecimal arithmetic
+     */
+    @Test
+    public void sumsMixedPricesExactly() {
+        Random random = new Random(17);
+        ProductSnapshot.Builder builder = new ProductSnapshot.Builder(ROWS);
+        BigDecimal expected = BigDecimal.ZERO;
+        long expectedCents = 0;
+        for (int i = 0; i < ROWS; i++) {
+            long cents = 1 + random.nextInt(10000000);
+            int quantity = random.nextInt(1000);
+            builder.add(i + 1, "Category", cents, quantity, 5);
+            expectedCents += cents * quantity;
+            if (i % 1000 == 0) {
+                expected = expected.add(new BigDecimal(expectedCents));
+                expectedCents = 0;
+            }
+        }
+        expected = expected.add(new BigDecimal(expectedCents));
+
+        long total = builder.build().totalValueCents();
+        assertEquals(expected.longValueExact(), total);
+        assertEquals(expected.movePointLeft(2).toPlainString(), Money.format(total));
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.inventoryapp.reports;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import com.example.inventoryapp.database.DatabaseHelper;
+import com.example.inventoryapp.database.TestDatabases;
+import com.example.inventoryapp.model.Money;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ReportEngineTest Class
+ * The streamed end-of-day report against totals computed independently
+ *
+ * Products are spread over an ID span several leaves wide, with gaps, and
+ * the engine runs with two workers so leaves finish out of order and the
+ * window of leaves in flight refills. Line items must still come out in
+ * ID order, each section complete, with the category totals last.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ReportEngineTest {
+    private static final String DATABASE_NAME = "report-test.db";
+    private static final int PRODUCTS = 6000;
+    // IDs 3, 6, 9 ... leave gaps, and span about 18000 IDs
+    private static final int ID_STEP = 3;
+    private static final int REORDER_LEVEL = 5;
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Dairy", "Bakery"};
+
+    private Context context;
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        dbHelper = TestDatabases.open(context, DATABASE_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void csvListsLineItemsInIdOrderAndTotalsLast() {
+        insertProducts();
+        StringWriter out = new StringWriter();
+        InventoryReport report = generate(ReportWriter.csv(out));
+
+        List<String> lines = Arrays.asList(out.toString().split("\n", -1));
+        int reorder = lines.indexOf("# reorder");
+        int slowMovers = lines.indexOf("# slow_movers");
+        int categories = lines.indexOf("# categories");
+        assertEquals(0, reorder);
+        assertEquals("id,name,category,quantity,reorder_level,order_quantity", lines.get(reorder + 1));
+        assertEquals("id,name,category,quantity,value,units_out", lines.get(slowMovers + 1));
+        assertEquals("category,products,low_stock,units,value", lines.get(categories + 1));
+
+        List<String> expectedReorder = new ArrayList<>();
+        List<String> expectedSlowMovers = new ArrayList<>();
+        for (int i = 1; i <= PRODUCTS; i++) {
+            int quantity = quantity(i);
+            if (quantity < REORDER_LEVEL) {
+                expectedReorder.add((i * ID_STEP) + ",Product " + i + "," + category(i) + "," + quantity + "," +
+                        REORDER_LEVEL + "," + (REORDER_LEVEL * InventoryReport.REORDER_TARGET_MULTIPLE - quantity));
+            }
+            if (quantity > 0 && unitsOut(i) == 0) {
+                expectedSlowMovers.add((i * ID_STEP) + ",Product " + i + "," + category(i) + "," + quantity + "," +
+                        Money.format(priceCents(i) * quantity) + ",0");
+            }
+        }
+        // Each section ends with the blank line before the next one
+        assertEquals(expectedReorder, lines.subList(reorder + 2, slowMovers - 1));
+        assertEquals("", lines.get(slowMovers - 1));
+        assertEquals(expectedSlowMovers, lines.subList(slowMovers + 2, categories - 1));
+        assertEquals("", lines.get(categories - 1));
+        assertEquals(expectedReorder.size(), report.getReorderLineCount());
+        assertEquals(expectedSlowMovers.size(), report.getSlowMoverCount());
+
+        List<String> categoryRows = lines.subList(categories + 2, lines.size() - 1);
+        assertEquals(CATEGORIES.length, categoryRows.size());
+        assertEquals(CATEGORIES.length, report.getCategories().size());
+        long previousValue = Long.MAX_VALUE;
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            String name = report.getCategories().get(c).getName();
+            int products = 0;
+            int lowStock = 0;
+            long units = 0;
+            long value = 0;
+            for (int i = 1; i <= PRODUCTS; i++) {
+                if (category(i).equals(name)) {
+                    products++;
+                    lowStock += quantity(i) < REORDER_LEVEL ? 1 : 0;
+                    units += quantity(i);
+                    value += priceCents(i) * quantity(i);
+                }
+            }
+            assertEquals(name + "," + products + "," + lowStock + "," + units + "," + Money.format(value),
+                    categoryRows.get(c));
+            assertTrue(value <= previousValue);
+            previousValue = value;
+        }
+    }
+
+    @Test
+    public void jsonHasEverySectionInIdOrder() throws Exception {
+        insertProducts();
+        StringWriter out = new StringWriter();
+        InventoryReport report = generate(ReportWriter.json(out));
+
+        JSONObject json = new JSONObject(out.toString());
+        assertEquals(report.getGeneratedAt(), json.getLong("generatedAt"));
+        JSONArray reorder = json.getJSONArray("reorder");
+        JSONArray slowMovers = json.getJSONArray("slowMovers");
+        assertEquals(report.getReorderLineCount(), reorder.length());
+        assertEquals(report.getSlowMoverCount(), slowMovers.length());
+        assertEquals(CATEGORIES.length, json.getJSONArray("categories").length());
+        assertAscendingIds(reorder);
+        assertAscendingIds(slowMovers);
+    }
+
+    @Test
+    public void emptyTableWritesEmptySections() {
+        StringWriter out = new StringWriter();
+        InventoryReport report = generate(ReportWriter.csv(out));
+
+        assertEquals("# reorder\n" +
+                "id,name,category,quantity,reorder_level,order_quantity\n" +
+                "\n# slow_movers\n" +
+                "id,name,category,quantity,value,units_out\n" +
+                "\n# categories\n" +
+                "category,products,low_stock,units,value\n", out.toString());
+        assertEquals(0, report.getCategories().size());
+        assertEquals(0, report.getReorderLineCount());
+        assertEquals(0, report.getSlowMoverCount());
+    }
+
+    private InventoryReport generate(ReportWriter writer) {
+        try {
+            // Anything moved out since the epoch counts, so only products never sold are slow movers
+            return new ReportEngine(dbHelper, 2).generate(0, 0, writer);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Insert the products, then sell one unit of every fifth one
+     */
+    private void insertProducts() {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        SQLiteStatement insert = db.compileStatement("INSERT INTO products " +
+                "(id, name, category, price, price_cents, quantity, reorder_level) " +
+                "VALUES (?1, ?2, ?3, ?4 / 100.0, ?4, ?5, ?6)");
+        db.beginTransaction();
+        try {
+            for (int i = 1; i <= PRODUCTS; i++) {
+                insert.bindLong(1, (long) i * ID_STEP);
+                insert.bindString(2, "Product " + i);
+                insert.bindString(3, category(i));
+                insert.bindLong(4, priceCents(i));
+                insert.bindLong(5, quantity(i) + unitsOut(i));
+                insert.bindLong(6, REORDER_LEVEL);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+
+        for (int i = 1; i <= PRODUCTS; i++) {
+            if (unitsOut(i) > 0) {
+                assertEquals(1, dbHelper.adjustQuantity(i * ID_STEP, -unitsOut(i)));
+            }
+        }
+    }
+
+    private static String category(int i) {
+        return CATEGORIES[i % CATEGORIES.length];
+    }
+
+    private static long priceCents(int i) {
+        return 100 + i;
+    }
+
+    /**
+     * Quantity once the sales are recorded
+     */
+    private static int quantity(int i) {
+        return i % 12;
+    }
+
+    private static int unitsOut(int i) {
+        return i % 5 == 0 ? 1 : 0;
+    }
+
+    private static void assertAscendingIds(JSONArray items) throws Exception {
+        for (int i = 1; i < items.length(); i++) {
+            assertTrue(items.getJSONObject(i - 1).getInt("id") < items.getJSONObject(i).getInt("id"));
+        }
+    }
+}
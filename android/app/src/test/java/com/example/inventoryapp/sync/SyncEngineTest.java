@@ -0,0 +1,449 @@
+package com.example.inventoryapp.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import com.example.inventoryapp.database.DatabaseHelper;
+import com.example.inventoryapp.database.TestDatabases;
+import com.example.inventoryapp.model.Product;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * SyncEngineTest Class
+ * SyncEngine against a local mock of the backend's /api/sync endpoints
+ *
+ * The mock keeps products in memory and follows server.js: rows are stamped
+ * with a change sequence, pulls skip rows the asking client wrote last, and
+ * a pushed change or deletion loses to a server row with an equal or later
+ * updated_at, which is then returned in the push response. It counts the
+ * bytes it receives and sends and the requests it serves, so the engine's
+ * own counters can be checked against it.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SyncEngineTest {
+    private static final String DATABASE_NAME = "sync-test.db";
+    private static final String CLIENT_ID = "test-client";
+    private static final String OTHER_CLIENT_ID = "other-client";
+    private static final int BATCH_SIZE = 200;
+
+    private Context context;
+    private DatabaseHelper dbHelper;
+    private MockSyncServer server;
+    private SyncEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        context = RuntimeEnvironment.getApplication();
+        dbHelper = TestDatabases.open(context, DATABASE_NAME);
+        server = new MockSyncServer();
+        engine = new SyncEngine(dbHelper.getSyncStore(), server.baseUrl(), CLIENT_ID, BATCH_SIZE);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+        dbHelper.close();
+        context.deleteDatabase(DATABASE_NAME);
+    }
+
+    @Test
+    public void pushesAndPullsOnlyWhatChanged() throws IOException {
+        int[] ids = new int[3];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (int) dbHelper.addProduct(new Product("Product " + i, "Dairy", 100 + i, 10));
+        }
+
+        SyncStats first = sync();
+        assertEquals(3, first.getPushedChanges());
+        // The client's own rows are not echoed back
+        assertEquals(0, first.getPulledChanges());
+        assertEquals(2, first.getRoundTrips());
+        assertEquals(3, server.rows.size());
+        assertTrue(dbHelper.getSyncStore().getPendingChanges(BATCH_SIZE).isEmpty());
+
+        // Nothing changed on either side: a single empty pull
+        SyncStats idle = sync();
+        assertEquals(0, idle.getPushedChanges());
+        assertEquals(0, idle.getPulledChanges());
+        assertEquals(1, idle.getRoundTrips());
+
+        // One local edit and one server edit: only those two rows travel
+        assertEquals(1, dbHelper.adjustQuantity(ids[0], -4));
+        long remoteId = server.remoteIdOf(ids[1]);
+        server.edit(remoteId, 25, System.currentTimeMillis(), OTHER_CLIENT_ID);
+        SyncStats delta = sync();
+        assertEquals(1, delta.getPushedChanges());
+        assertEquals(1, delta.getPulledChanges());
+        assertEquals(0, delta.getConflicts());
+        assertEquals(6, server.rows.get(server.remoteIdOf(ids[0])).quantity);
+        assertEquals(25, dbHelper.getProductById(ids[1]).getQuantity());
+    }
+
+    @Test
+    public void losingEditIsReplacedByServerVersion() throws IOException {
+        int id = (int) dbHelper.addProduct(new Product("Milk", "Dairy", 120, 10));
+        sync();
+        long remoteId = server.remoteIdOf(id);
+
+        // Another client's edit, stamped by a clock an hour ahead, reaches this client first
+        long serverTime = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        server.edit(remoteId, 40, serverTime, OTHER_CLIENT_ID);
+        assertEquals(1, sync().getPulledChanges());
+        assertEquals(40, dbHelper.getProductById(id).getQuantity());
+
+        // This edit is older than the server's row, and the pull watermark is already past that row
+        assertEquals(1, dbHelper.adjustQuantity(id, -5));
+        SyncStats stats = sync();
+
+        assertEquals(1, stats.getPushedChanges());
+        assertEquals(1, stats.getConflicts());
+        assertEquals(0, stats.getPulledChanges());
+        assertEquals(40, server.rows.get(remoteId).quantity);
+        assertEquals(40, dbHelper.getProductById(id).getQuantity());
+        assertTrue(dbHelper.getSyncStore().getPendingChanges(BATCH_SIZE).isEmpty());
+
+        // Settled: the next sync moves nothing
+        SyncStats idle = sync();
+        assertEquals(0, idle.getPushedChanges() + idle.getPulledChanges());
+    }
+
+    @Test
+    public void losingDeleteRestoresServerVersion() throws IOException {
+        int id = (int) dbHelper.addProduct(new Product("Bread", "Bakery", 80, 10));
+        sync();
+        long remoteId = server.remoteIdOf(id);
+        server.edit(remoteId, 30, System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1), OTHER_CLIENT_ID);
+        sync();
+
+        assertEquals(1, dbHelper.deleteProduct(id));
+        assertNull(dbHelper.getProductById(id));
+        SyncStats stats = sync();
+
+        assertEquals(1, stats.getPushedDeletes());
+        assertEquals(1, stats.getConflicts());
+        assertTrue(!server.rows.get(remoteId).deleted);
+        assertTrue(dbHelper.getSyncStore().getPendingDeletes(BATCH_SIZE).isEmpty());
+        // Back under a new local ID, with the server's quantity
+        assertEquals(1, dbHelper.getProductCount());
+        Product restored = dbHelper.getProductsPage(0, 1).get(0);
+        assertEquals("Bread", restored.getName());
+        assertEquals(30, restored.getQuantity());
+    }
+
+    @Test
+    public void winningEditAndDeleteAreApplied() throws IOException {
+        int kept = (int) dbHelper.addProduct(new Product("Tea", "Beverages", 300, 10));
+        int removed = (int) dbHelper.addProduct(new Product("Coffee", "Beverages", 500, 10));
+        sync();
+        // Server rows from the past: the local changes below are later and win
+        server.edit(server.remoteIdOf(kept), 10, 1000, OTHER_CLIENT_ID);
+        server.edit(server.remoteIdOf(removed), 10, 1000, OTHER_CLIENT_ID);
+
+        assertEquals(1, dbHelper.adjustQuantity(kept, 5));
+        long removedRemoteId = server.remoteIdOf(removed);
+        assertEquals(1, dbHelper.deleteProduct(removed));
+        SyncStats stats = sync();
+
+        assertEquals(0, stats.getConflicts());
+        assertEquals(15, server.rows.get(server.remoteIdOf(kept)).quantity);
+        assertTrue(server.rows.get(removedRemoteId).deleted);
+        assertEquals(15, dbHelper.getProductById(kept).getQuantity());
+    }
+
+    @Test
+    public void pullsInPagesAndCountsCompressedBytes() throws IOException {
+        for (int i = 0; i < 450; i++) {
+            server.insert("Server product " + i, "Snacks", 250, i, 1000 + i, OTHER_CLIENT_ID);
+        }
+
+        SyncStats stats = sync();
+        assertEquals(450, stats.getPulledChanges());
+        // 200 + 200 + 50; the short page ends the pull
+        assertEquals(3, stats.getRoundTrips());
+        assertEquals(450, dbHelper.getProductCount());
+        // Responses were gzipped, so fewer bytes crossed the wire than the JSON holds
+        assertTrue(stats.getBytesReceived() < server.jsonBytesSent);
+    }
+
+    /**
+     * Run a sync, checking the engine's transfer counters against what the mock saw
+     */
+    private SyncStats sync() throws IOException {
+        long requests = server.requests;
+        long bytesIn = server.bytesReceived;
+        long bytesOut = server.bytesSent;
+        SyncStats stats = engine.sync();
+        assertEquals(server.requests - requests, stats.getRoundTrips());
+        assertEquals(server.bytesReceived - bytesIn, stats.getBytesSent());
+        assertEquals(server.bytesSent - bytesOut, stats.getBytesReceived());
+        return stats;
+    }
+
+    /**
+     * In-memory stand-in for the sync endpoints of backend/server.js
+     */
+    private static class MockSyncServer {
+        private final HttpServer http;
+        final Map<Long, Row> rows = new TreeMap<>();
+        final Map<String, Long> idsByClientRef = new HashMap<>();
+        long nextId = 1;
+        long seq;
+        // Transfer counters; written on the server thread, read after the client's request returns
+        volatile long requests;
+        volatile long bytesReceived;
+        volatile long bytesSent;
+        volatile long jsonBytesSent;
+
+        MockSyncServer() throws IOException {
+            http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            http.createContext("/api/sync/changes", exchange -> handle(exchange, false));
+            http.createContext("/api/sync/push", exchange -> handle(exchange, true));
+            http.start();
+        }
+
+        String baseUrl() {
+            return "http://127.0.0.1:" + http.getAddress().getPort();
+        }
+
+        void stop() {
+            http.stop(0);
+        }
+
+        synchronized long insert(String name, String category, long priceCents, int quantity, long updatedAt,
+                                 String lastClient) {
+            Row row = new Row();
+            row.id = nextId++;
+            row.name = name;
+            row.category = category;
+            row.priceCents = priceCents;
+            row.quantity = quantity;
+            row.updatedAt = updatedAt;
+            row.lastClient = lastClient;
+            row.changeSeq = ++seq;
+            rows.put(row.id, row);
+            return row.id;
+        }
+
+        /**
+         * An edit made through another client or the web API
+         */
+        synchronized void edit(long id, int quantity, long updatedAt, String lastClient) {
+            Row row = rows.get(id);
+            row.quantity = quantity;
+            row.updatedAt = updatedAt;
+            row.lastClient = lastClient;
+            row.changeSeq = ++seq;
+        }
+
+        synchronized long remoteIdOf(int localId) {
+            Long id = idsByClientRef.get(CLIENT_ID + ":" + localId);
+            assertNotNull("Product " + localId + " was never pushed", id);
+            return id;
+        }
+
+        private void handle(HttpExchange exchange, boolean push) throws IOException {
+            try {
+                byte[] body = readAll(exchange.getRequestBody());
+                JSONObject response;
+                synchronized (this) {
+                    bytesReceived += body.length;
+                    requests++;
+                    if (push) {
+                        InputStream json = new GZIPInputStream(new java.io.ByteArrayInputStream(body));
+                        response = push(new JSONObject(new String(readAll(json), StandardCharsets.UTF_8)));
+                    } else {
+                        response = changes(query(exchange.getRequestURI().getRawQuery()));
+                    }
+                }
+
+                byte[] json = response.toString().getBytes(StandardCharsets.UTF_8);
+                byte[] out = json;
+                String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+                if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                    try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                        gzip.write(json);
+                    }
+                    out = compressed.toByteArray();
+                    exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                }
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, out.length);
+                try (OutputStream stream = exchange.getResponseBody()) {
+                    stream.write(out);
+                }
+                synchronized (this) {
+                    bytesSent += out.length;
+                    jsonBytesSent += json.length;
+                }
+            } catch (Exception e) {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                throw new IOException(e);
+            }
+        }
+
+        private JSONObject changes(Map<String, String> query) throws Exception {
+            long since = Long.parseLong(query.get("since"));
+            int limit = Integer.parseInt(query.get("limit"));
+            String clientId = query.get("clientId");
+
+            List<Row> page = new ArrayList<>();
+            for (Row row : rows.values()) {
+                if (row.changeSeq > since) {
+                    page.add(row);
+                }
+            }
+            page.sort((a, b) -> Long.compare(a.changeSeq, b.changeSeq));
+            if (page.size() > limit) {
+                page = page.subList(0, limit);
+            }
+
+            JSONArray changes = new JSONArray();
+            for (Row row : page) {
+                if (!row.lastClientIs(clientId)) {
+                    changes.put(row.toSyncChange());
+                }
+            }
+            return new JSONObject()
+                    .put("changes", changes)
+                    .put("watermark", page.isEmpty() ? since : page.get(page.size() - 1).changeSeq)
+                    .put("hasMore", page.size() == limit);
+        }
+
+        private JSONObject push(JSONObject request) throws Exception {
+            String clientId = request.getString("clientId");
+            JSONArray results = new JSONArray();
+            JSONArray current = new JSONArray();
+
+            JSONArray changes = request.getJSONArray("changes");
+            for (int i = 0; i < changes.length(); i++) {
+                JSONObject change = changes.getJSONObject(i);
+                int localId = change.getInt("localId");
+                String clientRef = clientId + ":" + localId;
+                Long id = change.has("remoteId") ? Long.valueOf(change.getLong("remoteId"))
+                        : idsByClientRef.get(clientRef);
+                Row existing = id != null ? rows.get(id) : null;
+                long updatedAt = change.getLong("updatedAt");
+
+                if (existing == null) {
+                    id = insert(change.getString("name"), change.getString("category"),
+                            change.getLong("priceCents"), change.getInt("quantity"), updatedAt, clientId);
+                    idsByClientRef.put(clientRef, id);
+                } else if (existing.updatedAt < updatedAt) {
+                    existing.name = change.getString("name");
+                    existing.category = change.getString("category");
+                    existing.priceCents = change.getLong("priceCents");
+                    existing.quantity = change.getInt("quantity");
+                    existing.updatedAt = updatedAt;
+                    existing.deleted = false;
+                    existing.lastClient = clientId;
+                    existing.changeSeq = ++seq;
+                } else {
+                    current.put(existing.toSyncChange());
+                }
+                results.put(new JSONObject().put("localId", localId).put("remoteId", id));
+            }
+
+            JSONArray deletes = request.getJSONArray("deletes");
+            for (int i = 0; i < deletes.length(); i++) {
+                JSONObject delete = deletes.getJSONObject(i);
+                Row row = rows.get(delete.getLong("remoteId"));
+                long deletedAt = delete.getLong("deletedAt");
+                if (row == null) {
+                    continue;
+                }
+                if (row.updatedAt < deletedAt) {
+                    row.deleted = true;
+                    row.updatedAt = deletedAt;
+                    row.lastClient = clientId;
+                    row.changeSeq = ++seq;
+                } else if (!row.deleted) {
+                    current.put(row.toSyncChange());
+                }
+            }
+
+            return new JSONObject().put("results", results).put("current", current);
+        }
+
+        private static Map<String, String> query(String rawQuery) throws IOException {
+            Map<String, String> values = new HashMap<>();
+            for (String pair : rawQuery.split("&")) {
+                int equals = pair.indexOf('=');
+                values.put(pair.substring(0, equals), URLDecoder.decode(pair.substring(equals + 1), "UTF-8"));
+            }
+            return values;
+        }
+
+        private static byte[] readAll(InputStream in) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * One server product row
+     */
+    private static class Row {
+        long id;
+        String name;
+        String category;
+        long priceCents;
+        int quantity;
+        long updatedAt;
+        boolean deleted;
+        String lastClient;
+        long changeSeq;
+
+        boolean lastClientIs(String clientId) {
+            return clientId != null && clientId.equals(lastClient);
+        }
+
+        JSONObject toSyncChange() throws Exception {
+            return new JSONObject()
+                    .put("id", id)
+                    .put("name", name)
+                    .put("category", category)
+                    .put("priceCents", priceCents)
+                    .put("quantity", quantity)
+                    .put("updatedAt", updatedAt)
+                    .put("deleted", deleted);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.inventoryapp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConnectionBenchmark Class
+ * Mixed read/write throughput before and after the long-lived WAL connection
+ *
+ * openPerCall is how DatabaseHelper used to work: every call opened the
+ * file, ran one statement and closed it again, with the default rollback
+ * journal. shared keeps one connection open per thread in WAL mode with
+ * synchronous = NORMAL and the default page cache, as the helper's primary
+ * connection and reader pool do now. Each operation is a by-ID read or, for
+ * the given share of operations, a stock adjustment committed on its own.
+ * Reported in operations per second, on one thread and on four.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConnectionBenchmark {
+    private static final String PRODUCT_COLUMNS =
+            "id, name, category, COALESCE(price_cents, CAST(ROUND(price * 100) AS INTEGER)), quantity, reorder_level";
+    private static final String SQL_BY_ID = "SELECT " + PRODUCT_COLUMNS + " FROM products WHERE id = ?";
+    private static final String SQL_ADJUST = "UPDATE products SET quantity = quantity + ?1 WHERE id = ?2";
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Dairy", "Bakery", "Frozen", "Household"};
+    // DatabaseHelper.DEFAULT_PAGE_CACHE_KB
+    private static final int PAGE_CACHE_KB = 2048;
+    private static final int BUSY_TIMEOUT_MS = 5000;
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"90", "50"})
+    public int readPercent;
+
+    private File rollbackFile;
+    private File walFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        rollbackFile = File.createTempFile("connection-bench-rollback", ".db");
+        walFile = File.createTempFile("connection-bench-wal", ".db");
+        populate(rollbackFile, "DELETE");
+        populate(walFile, "WAL");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        rollbackFile.delete();
+        new File(walFile.getPath() + "-wal").delete();
+        new File(walFile.getPath() + "-shm").delete();
+        walFile.delete();
+    }
+
+    /**
+     * Per-thread state: the random stream and, for the shared path, the open connection
+     */
+    @State(Scope.Thread)
+    public static class Session {
+        final Random random = new Random(Thread.currentThread().getId());
+        Connection connection;
+        PreparedStatement byId;
+        PreparedStatement adjust;
+
+        @Setup(Level.Trial)
+        public void open(ConnectionBenchmark benchmark) throws SQLException {
+            connection = DriverManager.getConnection("jdbc:sqlite:" + benchmark.walFile.getAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+                statement.execute("PRAGMA synchronous = NORMAL");
+                statement.execute("PRAGMA cache_size = -" + PAGE_CACHE_KB);
+            }
+            byId = connection.prepareStatement(SQL_BY_ID);
+            adjust = connection.prepareStatement(SQL_ADJUST);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int openPerCall(Session session) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + rollbackFile.getAbsolutePath())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+            }
+            if (session.random.nextInt(100) < readPercent) {
+                try (PreparedStatement byId = connection.prepareStatement(SQL_BY_ID)) {
+                    return read(byId, session.random);
+                }
+            }
+            try (PreparedStatement adjust = connection.prepareStatement(SQL_ADJUST)) {
+                return write(adjust, session.random);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int openPerCallFourThreads(Session session) throws SQLException {
+        return openPerCall(session);
+    }
+
+    @Benchmark
+    public int shared(Session session) throws SQLException {
+        if (session.random.nextInt(100) < readPercent) {
+            return read(session.byId, session.random);
+        }
+        return write(session.adjust, session.random);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int sharedFourThreads(Session session) throws SQLException {
+        return shared(session);
+    }
+
+    private int read(PreparedStatement byId, Random random) throws SQLException {
+        byId.setInt(1, 1 + random.nextInt(rows));
+        try (ResultSet result = byId.executeQuery()) {
+            return result.next() ? result.getInt(5) : -1;
+        }
+    }
+
+    private int write(PreparedStatement adjust, Random random) throws SQLException {
+        adjust.setInt(1, random.nextBoolean() ? 1 : -1);
+        adjust.setInt(2, 1 + random.nextInt(rows));
+        return adjust.executeUpdate();
+    }
+
+    private void populate(File file, String journalMode) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = " + journalMode);
+                statement.execute("CREATE TABLE products (" +
+                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "name TEXT NOT NULL, " +
+                        "category TEXT NOT NULL, " +
+                        "price REAL NOT NULL, " +
+                        "quantity INTEGER NOT NULL, " +
+                        "reorder_level INTEGER NOT NULL DEFAULT 5, " +
+                        "price_cents INTEGER)");
+            }
+            connection.setAutoCommit(false);
+            Random data = new Random(1);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products " +
+                    "(name, category, price, price_cents, quantity) VALUES (?1, ?2, ?3 / 100.0, ?3, ?4)")) {
+                for (int i = 1; i <= rows; i++) {
+                    insert.setString(1, "Product " + i);
+                    insert.setString(2, CATEGORIES[data.nextInt(CATEGORIES.length)]);
+                    insert.setLong(3, 100 + data.nextInt(100000));
+                    insert.setInt(4, 1000 + data.nextInt(1000));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.inventoryapp.benchmark;
+
+import com.example.inventoryapp.model.Product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DatabaseBenchmark Class
+ * The queries DatabaseHelper issues, run through sqlite-jdbc on the desktop JVM
+ *
+ * DatabaseHelper itself needs the Android framework, so this benchmark sets
+ * up the same schema (version 7 of SchemaMigrations) and runs the same SQL.
+ * Keep the statements here in step when the helper's queries change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DatabaseBenchmark {
+    private static final String PRICE_CENTS = "COALESCE(price_cents, CAST(ROUND(price * 100) AS INTEGER))";
+    private static final String PRODUCT_COLUMNS =
+            "id, name, category, " + PRICE_CENTS + ", quantity, reorder_level";
+    private static final String NOW = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Dairy", "Bakery", "Frozen", "Household"};
+    private static final String[] WORDS = {"green", "tea", "coffee", "milk", "bread", "rice", "soap", "chips"};
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private File file;
+    private Connection connection;
+    private PreparedStatement insert;
+    private PreparedStatement update;
+    private PreparedStatement delete;
+    private PreparedStatement byId;
+    private PreparedStatement page;
+    private PreparedStatement search;
+    private PreparedStatement adjust;
+    private PreparedStatement quantityAt;
+    private final Random random = new Random(11);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        file = File.createTempFile("inventory-bench", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode = WAL");
+            statement.execute("PRAGMA synchronous = NORMAL");
+            createSchema(statement);
+        }
+
+        insert = connection.prepareStatement("INSERT INTO products (name, category, price, price_cents, quantity) " +
+                "VALUES (?1, ?2, ?3 / 100.0, ?3, ?4)");
+        connection.setAutoCommit(false);
+        Random data = new Random(3);
+        for (int i = 0; i < rows; i++) {
+            bindInsert(data, i);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        update = connection.prepareStatement("UPDATE products SET quantity = ? WHERE id = ?");
+        delete = connection.prepareStatement("DELETE FROM products WHERE id = ?");
+        byId = connection.prepareStatement("SELECT " + PRODUCT_COLUMNS + " FROM products WHERE id = ?");
+        page = connection.prepareStatement("SELECT " + PRODUCT_COLUMNS + " FROM products WHERE id > ? ORDER BY id LIMIT 50");
+        adjust = connection.prepareStatement("UPDATE products SET quantity = quantity + ?1 WHERE id = ?2");
+        quantityAt = connection.prepareStatement("SELECT " +
+                "COALESCE((SELECT quantity FROM stock_snapshot_items WHERE snapshot_id = s.id AND product_id = ?1), 0) + " +
+                "COALESCE((SELECT SUM(delta) FROM stock_movements WHERE product_id = ?1 AND id > s.last_movement_id " +
+                "AND created_at <= ?2), 0) " +
+                "FROM (SELECT id, last_movement_id FROM stock_snapshots WHERE taken_at <= ?2 " +
+                "ORDER BY taken_at DESC, id DESC LIMIT 1) s");
+        snapshotWithTail();
+        search = connection.prepareStatement("SELECT products_fts.docid, matchinfo(products_fts, 'pcx') " +
+                "FROM products_fts WHERE products_fts MATCH ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+        file.delete();
+    }
+
+    /**
+     * addProduct, getProductById, updateProduct and deleteProduct for one row
+     */
+    @Benchmark
+    public int crudCycle() throws SQLException {
+        bindInsert(random, rows);
+        insert.executeUpdate();
+        long id;
+        try (Statement statement = connection.createStatement();
+             ResultSet keys = statement.executeQuery("SELECT last_insert_rowid()")) {
+            keys.next();
+            id = keys.getLong(1);
+        }
+
+        byId.setLong(1, id);
+        int found;
+        try (ResultSet result = byId.executeQuery()) {
+            found = result.next() ? toProduct(result).getQuantity() : -1;
+        }
+
+        update.setInt(1, found + 1);
+        update.setLong(2, id);
+        update.executeUpdate();
+
+        delete.setLong(1, id);
+        return delete.executeUpdate();
+    }
+
+    /**
+     * 100 stock adjustments in one transaction, each appending a ledger movement
+     */
+    @Benchmark
+    public int[] adjustQuantityBatch() throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            for (int i = 0; i < 100; i++) {
+                adjust.setInt(1, random.nextBoolean() ? 1 : -1);
+                adjust.setInt(2, 1 + random.nextInt(rows));
+                adjust.addBatch();
+            }
+            int[] counts = adjust.executeBatch();
+            connection.commit();
+            return counts;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Past quantity from the nearest snapshot plus the movements after it
+     */
+    @Benchmark
+    public int pointInTimeQuantity() throws SQLException {
+        quantityAt.setInt(1, 1 + random.nextInt(rows));
+        quantityAt.setLong(2, System.currentTimeMillis());
+        try (ResultSet result = quantityAt.executeQuery()) {
+            return result.next() ? result.getInt(1) : -1;
+        }
+    }
+
+    @Benchmark
+    public List<Product> getAllProducts() throws SQLException {
+        List<Product> products = new ArrayList<>(rows);
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT " + PRODUCT_COLUMNS + " FROM products")) {
+            while (result.next()) {
+                products.add(toProduct(result));
+            }
+        }
+        return products;
+    }
+
+    @Benchmark
+    public List<Product> getProductsPage() throws SQLException {
+        List<Product> products = new ArrayList<>(50);
+        page.setInt(1, random.nextInt(rows));
+        try (ResultSet result = page.executeQuery()) {
+            while (result.next()) {
+                products.add(toProduct(result));
+            }
+        }
+        return products;
+    }
+
+    @Benchmark
+    public int searchProducts() throws SQLException {
+        search.setString(1, WORDS[random.nextInt(WORDS.length)].substring(0, 3) + "*");
+        int matches = 0;
+        try (ResultSet result = search.executeQuery()) {
+            while (result.next()) {
+                matches += result.getBytes(2).length > 0 ? 1 : 0;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Take a snapshot, then record movements after it so queries replay a tail
+     */
+    private void snapshotWithTail() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO stock_snapshots (taken_at, last_movement_id) " +
+                    "SELECT " + NOW + ", COALESCE(MAX(id), 0) FROM stock_movements");
+            statement.execute("INSERT INTO stock_snapshot_items (snapshot_id, product_id, quantity) " +
+                    "SELECT (SELECT MAX(id) FROM stock_snapshots), id, quantity FROM products WHERE quantity <> 0");
+        }
+        for (int i = 0; i < 20; i++) {
+            adjustQuantityBatch();
+        }
+    }
+
+    private void bindInsert(Random data, int i) throws SQLException {
+        insert.setString(1, WORDS[data.nextInt(WORDS.length)] + " " + WORDS[data.nextInt(WORDS.length)] + " " + i);
+        insert.setString(2, CATEGORIES[data.nextInt(CATEGORIES.length)]);
+        insert.setLong(3, 100 + data.nextInt(100000));
+        insert.setInt(4, data.nextInt(200));
+    }
+
+    private static Product toProduct(ResultSet result) throws SQLException {
+        return new Product(result.getInt(1), result.getString(2), result.getString(3),
+                result.getLong(4), result.getInt(5), result.getInt(6));
+    }
+
+    /**
+     * Products table, indexes, summary, ledger and search index as SchemaMigrations leaves them
+     */
+    private static void createSchema(Statement statement) throws SQLException {
+        statement.execute("CREATE TABLE products (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "name TEXT NOT NULL, " +
+                "category TEXT NOT NULL, " +
+                "price REAL NOT NULL, " +
+                "quantity INTEGER NOT NULL, " +
+                "reorder_level INTEGER NOT NULL DEFAULT 5, " +
+                "price_cents INTEGER)");
+        statement.execute("CREATE INDEX idx_products_quantity ON products (quantity)");
+        statement.execute("CREATE INDEX idx_products_category ON products (category)");
+        statement.execute("CREATE INDEX idx_products_low_stock ON products (quantity, reorder_level)" +
+                " WHERE quantity < reorder_level");
+
+        statement.execute("CREATE TABLE inventory_summary (" +
+                "id INTEGER PRIMARY KEY CHECK (id = 1), " +
+                "sku_count INTEGER NOT NULL, " +
+                "low_stock_count INTEGER NOT NULL, " +
+                "total_units INTEGER NOT NULL, " +
+                "total_value_cents INTEGER NOT NULL)");
+        statement.execute("INSERT INTO inventory_summary VALUES (1, 0, 0, 0, 0)");
+        statement.execute("CREATE TRIGGER products_summary_insert AFTER INSERT ON products BEGIN " +
+                summaryDelta("+", "NEW.") + " END");
+        statement.execute("CREATE TRIGGER products_summary_delete AFTER DELETE ON products BEGIN " +
+                summaryDelta("-", "OLD.") + " END");
+        statement.execute("CREATE TRIGGER products_summary_update AFTER UPDATE OF " +
+                "price, price_cents, quantity, reorder_level ON products BEGIN " +
+                summaryDelta("-", "OLD.") + " " + summaryDelta("+", "NEW.") + " END");
+
+        statement.execute("CREATE TABLE stock_movements (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "product_id INTEGER NOT NULL, " +
+                "delta INTEGER NOT NULL, " +
+                "created_at INTEGER NOT NULL)");
+        statement.execute("CREATE INDEX idx_stock_movements_product ON stock_movements (product_id, created_at)");
+        statement.execute("CREATE TABLE stock_snapshots (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "taken_at INTEGER NOT NULL, " +
+                "last_movement_id INTEGER NOT NULL)");
+        statement.execute("CREATE INDEX idx_stock_snapshots_taken_at ON stock_snapshots (taken_at)");
+        statement.execute("CREATE TABLE stock_snapshot_items (" +
+                "snapshot_id INTEGER NOT NULL, " +
+                "product_id INTEGER NOT NULL, " +
+                "quantity INTEGER NOT NULL, " +
+                "PRIMARY KEY (snapshot_id, product_id)) WITHOUT ROWID");
+        statement.execute("CREATE TRIGGER stock_movements_insert AFTER INSERT ON products WHEN NEW.quantity <> 0 BEGIN " +
+                "INSERT INTO stock_movements (product_id, delta, created_at) VALUES (NEW.id, NEW.quantity, " + NOW + "); END");
+        statement.execute("CREATE TRIGGER stock_movements_update AFTER UPDATE OF quantity ON products " +
+                "WHEN NEW.quantity <> OLD.quantity BEGIN " +
+                "INSERT INTO stock_movements (product_id, delta, created_at) " +
+                "VALUES (NEW.id, NEW.quantity - OLD.quantity, " + NOW + "); END");
+        statement.execute("CREATE TRIGGER stock_movements_delete AFTER DELETE ON products WHEN OLD.quantity <> 0 BEGIN " +
+                "INSERT INTO stock_movements (product_id, delta, created_at) VALUES (OLD.id, -OLD.quantity, " + NOW + "); END");
+
+        statement.execute("CREATE VIRTUAL TABLE products_fts USING fts4(content=\"products\", name, category)");
+        statement.execute("CREATE TRIGGER products_fts_before_delete BEFORE DELETE ON products" +
+                " BEGIN DELETE FROM products_fts WHERE docid = OLD.id; END");
+        statement.execute("CREATE TRIGGER products_fts_after_insert AFTER INSERT ON products" +
+                " BEGIN INSERT INTO products_fts (docid, name, category) VALUES (NEW.id, NEW.name, NEW.category); END");
+    }
+
+    private static String summaryDelta(String sign, String row) {
+        return "UPDATE inventory_summary SET " +
+                "sku_count = sku_count " + sign + " 1, " +
+                "low_stock_count = low_stock_count " + sign + " (" + row + "quantity < " + row + "reorder_level), " +
+                "total_units = total_units " + sign + " " + row + "quantity, " +
+                "total_value_cents = total_value_cents " + sign + " (COALESCE(" + row + "price_cents, " +
+                "CAST(ROUND(" + row + "price * 100) AS INTEGER)) * " + row + "quantity) " +
+                "WHERE id = 1;";
+    }
+}
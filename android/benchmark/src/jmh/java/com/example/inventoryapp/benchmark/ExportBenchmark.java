@@ -0,0 +1,221 @@
+package com.example.inventoryapp.benchmark;
+
+import com.example.inventoryapp.database.ProductExportFormat;
+import com.example.inventoryapp.model.Product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ExportBenchmark Class
+ * Full export of 1M products to CSV and JSON Lines, plain and gzipped, under a small heap
+ *
+ * Follows ProductExporter: keyset windows of 1000 rows, rows formatted by
+ * the app's ProductExportFormat into one reused buffer, one buffered writer
+ * on the file channel and a new gzip member every 20000 rows. The fork runs
+ * with a 64 MB heap, well below what 1M Product objects need, so a path
+ * that holds the table in memory fails with OutOfMemoryError. Peak heap and
+ * output size are printed after each iteration. ProductExporter itself,
+ * including resuming from a checkpoint, is tested by ProductExporterTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx64m"})
+public class ExportBenchmark {
+    private static final int WINDOW_SIZE = 1000;
+    private static final int CHECKPOINT_ROWS = 20000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Dairy", "Bakery", "Frozen", "Household"};
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"csv", "jsonl"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private File database;
+    private File output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        database = File.createTempFile("export-bench", ".db");
+        output = File.createTempFile("export-bench", "." + format + (gzip ? ".gz" : ""));
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database.getAbsolutePath())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = WAL");
+                statement.execute("CREATE TABLE products (" +
+                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "name TEXT NOT NULL, " +
+                        "category TEXT NOT NULL, " +
+                        "price REAL NOT NULL, " +
+                        "quantity INTEGER NOT NULL, " +
+                        "reorder_level INTEGER NOT NULL DEFAULT 5, " +
+                        "price_cents INTEGER)");
+            }
+            connection.setAutoCommit(false);
+            Random random = new Random(23);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products " +
+                    "(name, category, price, price_cents, quantity) VALUES (?1, ?2, ?3 / 100.0, ?3, ?4)")) {
+                for (int i = 1; i <= rows; i++) {
+                    insert.setString(1, "Product " + i + (i % 50 == 0 ? ", \"special\"" : ""));
+                    insert.setString(2, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                    insert.setLong(3, 100 + random.nextInt(100000));
+                    insert.setInt(4, random.nextInt(500));
+                    insert.addBatch();
+                    if (i % 10000 == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new File(database.getPath() + "-wal").delete();
+        new File(database.getPath() + "-shm").delete();
+        database.delete();
+        output.delete();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%n  peak heap %d MB, output %d MB%n",
+                peak / (1024 * 1024), output.length() / (1024 * 1024));
+    }
+
+    @Benchmark
+    public int export() throws IOException, SQLException {
+        boolean csv = "csv".equals(format);
+        int exported = 0;
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database.getAbsolutePath());
+             PreparedStatement window = connection.prepareStatement("SELECT id, name, category, " +
+                     "COALESCE(price_cents, CAST(ROUND(price * 100) AS INTEGER)), quantity, reorder_level " +
+                     "FROM products WHERE id > ? ORDER BY id LIMIT ?");
+             RandomAccessFile raf = new RandomAccessFile(output, "rw");
+             FileChannel channel = raf.getChannel()) {
+            channel.truncate(0);
+            OutputStream channelOut = new FilterOutputStream(Channels.newOutputStream(channel)) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+            Writer writer = open(channelOut);
+            if (csv) {
+                writer.write(ProductExportFormat.CSV_HEADER);
+            }
+
+            StringBuilder line = new StringBuilder(256);
+            int watermark = 0;
+            int sinceCheckpoint = 0;
+            while (true) {
+                window.setInt(1, watermark);
+                window.setInt(2, WINDOW_SIZE);
+                int windowRows = 0;
+                try (ResultSet result = window.executeQuery()) {
+                    while (result.next()) {
+                        Product product = new Product(result.getInt(1), result.getString(2), result.getString(3),
+                                result.getLong(4), result.getInt(5), result.getInt(6));
+                        line.setLength(0);
+                        if (csv) {
+                            ProductExportFormat.appendCsv(line, product);
+                        } else {
+                            ProductExportFormat.appendJson(line, product);
+                        }
+                        writer.append(line);
+                        watermark = product.getId();
+                        windowRows++;
+                    }
+                }
+                if (windowRows == 0) {
+                    break;
+                }
+                exported += windowRows;
+                sinceCheckpoint += windowRows;
+                if (sinceCheckpoint >= CHECKPOINT_ROWS) {
+                    if (gzip) {
+                        writer.close();
+                        writer = open(channelOut);
+                    } else {
+                        writer.flush();
+                    }
+                    channel.force(false);
+                    sinceCheckpoint = 0;
+                }
+            }
+            writer.close();
+        }
+        return exported;
+    }
+
+    private Writer open(OutputStream channelOut) throws IOException {
+        OutputStream member = gzip ? new GZIPOutputStream(channelOut, BUFFER_SIZE) : channelOut;
+        return new BufferedWriter(new OutputStreamWriter(member, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.inventoryapp.benchmark;
+
+import com.example.inventoryapp.adapter.LabelBuilder;
+import com.example.inventoryapp.model.Money;
+import com.example.inventoryapp.model.Product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LabelBenchmark Class
+ * Cost of building the three text labels ProductAdapter sets on every bind
+ *
+ * bindLabels follows the adapter's path through reusable LabelBuilders;
+ * bindLabelsFormatted is the String.format version it replaced. The GC
+ * profiler set in build.gradle reports bytes per bind for both as
+ * gc.alloc.rate.norm; that, more than the time, is what a fling pays for.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LabelBenchmark {
+    private static final String CATEGORY_PREFIX = "Category: ";
+    private static final String PRICE_PREFIX = "Price: ₹";
+    private static final String QUANTITY_PREFIX = "Quantity: ";
+
+    private final LabelBuilder categoryLabel = new LabelBuilder(32);
+    private final LabelBuilder priceLabel = new LabelBuilder(24);
+    private final LabelBuilder quantityLabel = new LabelBuilder(24);
+
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        product = new Product(42, "Green Tea 250g", "Beverages", 34999, 17);
+    }
+
+    @Benchmark
+    public void bindLabels(Blackhole blackhole) {
+        categoryLabel.clear().append(CATEGORY_PREFIX).append(product.getCategory());
+        priceLabel.clear().append(PRICE_PREFIX).appendCents(product.getPriceCents());
+        quantityLabel.clear().append(QUANTITY_PREFIX).append(product.getQuantity());
+        blackhole.consume(categoryLabel.chars());
+        blackhole.consume(priceLabel.length());
+        blackhole.consume(quantityLabel.length());
+    }
+
+    @Benchmark
+    public void bindLabelsFormatted(Blackhole blackhole) {
+        blackhole.consume("Category: " + product.getCategory());
+        blackhole.consume(String.format(Locale.US, "Price: ₹%.2f", Money.toUnits(product.getPriceCents())));
+        blackhole.consume("Quantity: " + product.getQuantity());
+    }
+
+    @Benchmark
+    public long parsePrice() {
+        return Money.parseCents("349.99");
+    }
+
+    @Benchmark
+    public String formatPrice() {
+        return Money.format(product.getPriceCents());
+    }
+}
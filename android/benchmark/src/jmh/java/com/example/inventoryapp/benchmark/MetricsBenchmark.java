@@ -0,0 +1,83 @@
+package com.example.inventoryapp.benchmark;
+
+import com.example.inventoryapp.metrics.LatencyHistogram;
+import com.example.inventoryapp.metrics.MetricsRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MetricsBenchmark Class
+ * Cost of the instrumentation DatabaseHelper adds to every operation
+ *
+ * timedWork minus untimedWork is the per-call overhead: two nanoTime reads
+ * and one histogram record. Compare it with the per-query times reported by
+ * DatabaseBenchmark, which are in microseconds. The contended cases run the
+ * writer and three readers on one histogram, as the repository threads do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+    // Stand-in for a cheap cache-hit read
+    private static final int WORK_TOKENS = 50;
+
+    private final LatencyHistogram histogram = MetricsRegistry.getInstance().histogram("bench.op");
+    private final AtomicLong rows = MetricsRegistry.getInstance().counter("bench.rows");
+    private long value = 1;
+
+    @Benchmark
+    public void untimedWork() {
+        Blackhole.consumeCPU(WORK_TOKENS);
+    }
+
+    @Benchmark
+    public void timedWork() {
+        long startNanos = System.nanoTime();
+        try {
+            Blackhole.consumeCPU(WORK_TOKENS);
+            rows.addAndGet(1);
+        } finally {
+            histogram.recordSince(startNanos);
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        // Spread values over many buckets
+        value = value * 6364136223846793005L + 1442695040888963407L;
+        histogram.record(value >>> 40);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        histogram.record(System.nanoTime() & 0xFFFFF);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void timedWorkContended() {
+        long startNanos = System.nanoTime();
+        try {
+            Blackhole.consumeCPU(WORK_TOKENS);
+            rows.addAndGet(1);
+        } finally {
+            histogram.recordSince(startNanos);
+        }
+    }
+
+    @Benchmark
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+}
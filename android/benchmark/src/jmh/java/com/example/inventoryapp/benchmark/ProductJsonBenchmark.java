@@ -0,0 +1,191 @@
+package com.example.inventoryapp.benchmark;
+
+import com.example.inventoryapp.model.Money;
+import com.example.inventoryapp.model.Product;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductJsonBenchmark Class
+ * Streaming versus tree parsing of a large GET /api/products payload
+ *
+ * The streaming case follows JsonProductImporter: Gson's JsonReader has the
+ * same API as android.util.JsonReader, and products are handed on in
+ * batches of DatabaseHelper.DEFAULT_BATCH_SIZE. The tree case parses the
+ * whole array first and then maps it. Peak heap per iteration is printed
+ * at the end of each iteration; run with -prof gc for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ProductJsonBenchmark {
+    private static final int BATCH_SIZE = 500;
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Dairy", "Bakery", "Frozen", "Household"};
+
+    @Param({"200"})
+    public int fixtureMegabytes;
+
+    private File fixture;
+    private long startNanos;
+
+    @Setup(Level.Trial)
+    public void writeFixture() throws IOException {
+        fixture = new File(System.getProperty("java.io.tmpdir"), "products-" + fixtureMegabytes + "mb.json");
+        long target = fixtureMegabytes * 1024L * 1024L;
+        if (fixture.length() >= target) {
+            return;
+        }
+
+        Random random = new Random(7);
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(fixture.toPath(), StandardCharsets.UTF_8))) {
+            out.write('[');
+            long written = 1;
+            for (int id = 1; written < target; id++) {
+                String row = (id > 1 ? "," : "") +
+                        "{\"id\":" + id +
+                        ",\"name\":\"Product " + id + "\"" +
+                        ",\"category\":\"" + CATEGORIES[random.nextInt(CATEGORIES.length)] + "\"" +
+                        ",\"price\":" + (1 + random.nextInt(5000)) + "." + (10 + random.nextInt(90)) +
+                        ",\"quantity\":" + random.nextInt(500) +
+                        ",\"created_at\":\"2024-01-01T00:00:00.000Z\"}";
+                out.write(row);
+                written += row.length();
+            }
+            out.write(']');
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+        startNanos = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPeakHeap() {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%n  peak heap %d MB, %.1f MB/s%n",
+                peak / (1024 * 1024), fixture.length() / (1024.0 * 1024.0) / seconds);
+    }
+
+    @Benchmark
+    public int streaming(Blackhole blackhole) throws IOException {
+        int count = 0;
+        List<Product> batch = new ArrayList<>(BATCH_SIZE);
+        try (JsonReader reader = new JsonReader(open())) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                batch.add(readProduct(reader));
+                if (batch.size() == BATCH_SIZE) {
+                    blackhole.consume(batch);
+                    count += batch.size();
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            reader.endArray();
+        }
+        blackhole.consume(batch);
+        return count + batch.size();
+    }
+
+    @Benchmark
+    public int tree(Blackhole blackhole) throws IOException {
+        JsonArray array;
+        try (Reader in = open()) {
+            array = JsonParser.parseReader(in).getAsJsonArray();
+        }
+
+        List<Product> products = new ArrayList<>(array.size());
+        for (JsonElement element : array) {
+            JsonObject object = element.getAsJsonObject();
+            products.add(new Product(
+                    object.get("name").getAsString(),
+                    object.get("category").getAsString(),
+                    Money.parseCents(object.get("price").getAsString()),
+                    object.get("quantity").getAsInt()));
+        }
+        blackhole.consume(products);
+        return products.size();
+    }
+
+    private Reader open() throws IOException {
+        return new BufferedReader(Files.newBufferedReader(fixture.toPath(), StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private static Product readProduct(JsonReader reader) throws IOException {
+        String name = null;
+        String category = null;
+        long priceCents = 0;
+        int quantity = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+            } else if ("name".equals(field)) {
+                name = reader.nextString();
+            } else if ("category".equals(field)) {
+                category = reader.nextString();
+            } else if ("price".equals(field)) {
+                priceCents = Money.parseCents(reader.nextString());
+            } else if ("quantity".equals(field)) {
+                quantity = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Product(name, category, priceCents, quantity);
+    }
+}
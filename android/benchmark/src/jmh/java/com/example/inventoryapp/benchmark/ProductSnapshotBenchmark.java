@@ -0,0 +1,98 @@
+package com.example.inventoryapp.benchmark;
+
+import com.example.inventoryapp.model.Product;
+import com.example.inventoryapp.model.ProductSnapshot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductSnapshotBenchmark Class
+ * Whole-inventory scans over the columnar ProductSnapshot versus a List of Product
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductSnapshotBenchmark {
+    private static final int CATEGORIES = 40;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private List<Product> products;
+    private ProductSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        products = new ArrayList<>(size);
+        ProductSnapshot.Builder builder = new ProductSnapshot.Builder(size);
+        for (int i = 1; i <= size; i++) {
+            Product product = new Product(i, "Product " + i, "Category " + random.nextInt(CATEGORIES),
+                    100 + random.nextInt(100000), random.nextInt(200), Product.DEFAULT_REORDER_LEVEL);
+            products.add(product);
+            builder.add(product);
+        }
+        snapshot = builder.build();
+    }
+
+    @Benchmark
+    public long totalValueList() {
+        long total = 0;
+        for (Product product : products) {
+            total += product.getPriceCents() * product.getQuantity();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long totalValueSnapshot() {
+        return snapshot.totalValueCents();
+    }
+
+    @Benchmark
+    public int lowStockList() {
+        int count = 0;
+        for (Product product : products) {
+            if (product.isLowStock()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int lowStockSnapshot() {
+        return snapshot.countLowStock();
+    }
+
+    @Benchmark
+    public Map<String, Long> valueByCategoryList() {
+        Map<String, Long> totals = new HashMap<>();
+        for (Product product : products) {
+            Long total = totals.get(product.getCategory());
+            long value = product.getPriceCents() * product.getQuantity();
+            totals.put(product.getCategory(), total == null ? value : total + value);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public long[] valueByCategorySnapshot() {
+        return snapshot.valueCentsByCategory();
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.inventoryapp.benchmark;
+
+import com.example.inventoryapp.reports.InventoryReport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sqlite.SQLiteConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportBenchmark Class
+ * End-of-day report over 1M products, scaled across worker threads
+ *
+ * Mirrors ReportEngine: the reorder list is read through the low stock
+ * index, then the ID span is cut into leaves scanned on a ForkJoinPool a
+ * bounded number ahead of the consumer, every worker on its own read-only
+ * connection, and the Parts are merged with the app's InventoryReport code.
+ * Line items go to a Blackhole in ID order where the app writes them out.
+ * Only the SQLite access differs, through sqlite-jdbc instead of the
+ * Android framework. Keep the queries and leaf rules in step with ReportEngine.
+ *
+ * singleQuery is the one-thread, one-query baseline the engine replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReportBenchmark {
+    private static final int MIN_LEAF_SPAN = 4096;
+    private static final int MAX_LEAF_SPAN = 16384;
+    private static final int LEAVES_PER_THREAD = 4;
+    private static final int LEAVES_IN_FLIGHT_PER_THREAD = 2;
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Dairy", "Bakery", "Frozen", "Household",
+            "Produce", "Meat", "Pantry", "Personal Care"};
+
+    private static final String SQL_PRODUCTS = "SELECT p.id, p.name, " +
+            "COALESCE(p.category_id, (SELECT c.id FROM categories c WHERE c.name = p.category), -1), p.category, " +
+            "COALESCE(p.price_cents, CAST(ROUND(p.price * 100) AS INTEGER)), p.quantity, p.reorder_level, " +
+            "COALESCE((SELECT -SUM(m.delta) FROM stock_movements m WHERE m.product_id = p.id " +
+            "AND m.created_at >= ?3 AND m.delta < 0), 0) " +
+            "FROM products p";
+    private static final String SQL_RANGE = SQL_PRODUCTS + " WHERE p.id BETWEEN ?1 AND ?2 ORDER BY p.id";
+    private static final String SQL_REORDER = "SELECT id, name, category, quantity, reorder_level " +
+            "FROM products WHERE quantity < reorder_level ORDER BY id";
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private File file;
+    private long slowMoverSince;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        file = File.createTempFile("report-bench", ".db");
+        long now = System.currentTimeMillis();
+        slowMoverSince = now - 30 * DAY_MS;
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = WAL");
+                statement.execute("CREATE TABLE categories (id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "name TEXT NOT NULL UNIQUE)");
+                statement.execute("CREATE TABLE products (" +
+                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "name TEXT NOT NULL, " +
+                        "category TEXT NOT NULL, " +
+                        "price REAL NOT NULL, " +
+                        "quantity INTEGER NOT NULL, " +
+                        "reorder_level INTEGER NOT NULL DEFAULT 5, " +
+                        "price_cents INTEGER, " +
+                        "category_id INTEGER REFERENCES categories (id))");
+                statement.execute("CREATE TABLE stock_movements (" +
+                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "product_id INTEGER NOT NULL, " +
+                        "delta INTEGER NOT NULL, " +
+                        "created_at INTEGER NOT NULL)");
+                for (String category : CATEGORIES) {
+                    statement.execute("INSERT INTO categories (name) VALUES ('" + category + "')");
+                }
+            }
+
+            connection.setAutoCommit(false);
+            Random random = new Random(17);
+            try (PreparedStatement product = connection.prepareStatement("INSERT INTO products " +
+                    "(id, name, category, price, price_cents, quantity, category_id) VALUES (?, ?, ?, ? / 100.0, ?, ?, ?)");
+                 PreparedStatement movement = connection.prepareStatement("INSERT INTO stock_movements " +
+                         "(product_id, delta, created_at) VALUES (?, ?, ?)")) {
+                for (int id = 1; id <= rows; id++) {
+                    int category = random.nextInt(CATEGORIES.length);
+                    long priceCents = 100 + random.nextInt(100000);
+                    product.setInt(1, id);
+                    product.setString(2, "Product " + id);
+                    product.setString(3, CATEGORIES[category]);
+                    product.setLong(4, priceCents);
+                    product.setLong(5, priceCents);
+                    product.setInt(6, random.nextInt(200));
+                    product.setInt(7, category + 1);
+                    product.addBatch();
+
+                    // About three movements per product over the last 60 days, mostly sales
+                    for (int i = random.nextInt(7); i > 0; i--) {
+                        movement.setInt(1, id);
+                        movement.setInt(2, random.nextInt(4) == 0 ? 1 + random.nextInt(50) : -1 - random.nextInt(5));
+                        movement.setLong(3, now - (long) (random.nextDouble() * 60 * DAY_MS));
+                        movement.addBatch();
+                    }
+                    if (id % 10000 == 0) {
+                        product.executeBatch();
+                        movement.executeBatch();
+                    }
+                }
+                product.executeBatch();
+                movement.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX idx_stock_movements_product ON stock_movements (product_id, created_at)");
+                statement.execute("CREATE INDEX idx_products_low_stock ON products (quantity, reorder_level)" +
+                        " WHERE quantity < reorder_level");
+            }
+            connection.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+        file.delete();
+    }
+
+    @Benchmark
+    public InventoryReport forkJoin(Blackhole blackhole) throws SQLException {
+        long generatedAt = System.currentTimeMillis();
+        long minId;
+        long maxId;
+        int reorderLines = 0;
+        try (Connection connection = openReadOnly()) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(SQL_REORDER)) {
+                while (result.next()) {
+                    blackhole.consume(new InventoryReport.ReorderLine(result.getInt(1), result.getString(2),
+                            result.getString(3), result.getInt(4), result.getInt(5)));
+                    reorderLines++;
+                }
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT MIN(id), MAX(id) FROM products")) {
+                result.next();
+                minId = result.getLong(1);
+                maxId = result.getLong(2);
+            }
+        }
+
+        long span = maxId - minId + 1;
+        long leafSpan = Math.min(MAX_LEAF_SPAN, Math.max(MIN_LEAF_SPAN, span / ((long) threads * LEAVES_PER_THREAD)));
+        int window = threads * LEAVES_IN_FLIGHT_PER_THREAD;
+        Scan scan = new Scan();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            InventoryReport.Part total = new InventoryReport.Part(0);
+            ArrayDeque<ForkJoinTask<Leaf>> inFlight = new ArrayDeque<>(window);
+            long nextId = minId;
+            while (nextId <= maxId || !inFlight.isEmpty()) {
+                while (nextId <= maxId && inFlight.size() < window) {
+                    long toId = Math.min(maxId, nextId + leafSpan - 1);
+                    inFlight.add(pool.submit(new LeafTask(scan, nextId, toId)));
+                    nextId = toId + 1;
+                }
+                Leaf leaf = inFlight.poll().join();
+                for (InventoryReport.SlowMover mover : leaf.slowMovers) {
+                    blackhole.consume(mover);
+                }
+                total.merge(leaf.part);
+            }
+            return total.build(generatedAt, slowMoverSince, reorderLines);
+        } finally {
+            pool.shutdown();
+            scan.close();
+        }
+    }
+
+    @Benchmark
+    public InventoryReport singleQuery(Blackhole blackhole) throws SQLException {
+        Leaf leaf = new Leaf();
+        int reorderLines = 0;
+        try (Connection connection = openReadOnly();
+             PreparedStatement statement = connection.prepareStatement(SQL_PRODUCTS)) {
+            statement.setLong(3, slowMoverSince);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    addRow(leaf, result);
+                    if (result.getInt(6) < result.getInt(7)) {
+                        blackhole.consume(new InventoryReport.ReorderLine(result.getInt(1), result.getString(2),
+                                result.getString(4), result.getInt(6), result.getInt(7)));
+                        reorderLines++;
+                    }
+                }
+            }
+        }
+        for (InventoryReport.SlowMover mover : leaf.slowMovers) {
+            blackhole.consume(mover);
+        }
+        return leaf.part.build(System.currentTimeMillis(), slowMoverSince, reorderLines);
+    }
+
+    private Connection openReadOnly() throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        return config.createConnection("jdbc:sqlite:" + file.getAbsolutePath());
+    }
+
+    private static void addRow(Leaf leaf, ResultSet result) throws SQLException {
+        long priceCents = result.getLong(5);
+        int quantity = result.getInt(6);
+        long unitsOut = result.getLong(8);
+        if (leaf.part.add(result.getInt(3), result.getString(4), priceCents, quantity, result.getInt(7), unitsOut)) {
+            leaf.slowMovers.add(new InventoryReport.SlowMover(result.getInt(1), result.getString(2),
+                    result.getString(4), quantity, priceCents * quantity, unitsOut));
+        }
+    }
+
+    /**
+     * Per-invocation state: one connection per worker thread
+     */
+    private final class Scan {
+        final List<Connection> opened = Collections.synchronizedList(new ArrayList<Connection>());
+        final ThreadLocal<PreparedStatement> statements = new ThreadLocal<PreparedStatement>() {
+            @Override
+            protected PreparedStatement initialValue() {
+                try {
+                    Connection connection = openReadOnly();
+                    opened.add(connection);
+                    PreparedStatement statement = connection.prepareStatement(SQL_RANGE);
+                    statement.setLong(3, slowMoverSince);
+                    return statement;
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        void close() throws SQLException {
+            synchronized (opened) {
+                for (Connection connection : opened) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Totals and slow movers of one leaf, as ReportEngine's
+     */
+    private static final class Leaf {
+        final InventoryReport.Part part = new InventoryReport.Part(0);
+        final List<InventoryReport.SlowMover> slowMovers = new ArrayList<>();
+    }
+
+    private static final class LeafTask extends RecursiveTask<Leaf> {
+        private final Scan scan;
+        private final long fromId;
+        private final long toId;
+
+        LeafTask(Scan scan, long fromId, long toId) {
+            this.scan = scan;
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected Leaf compute() {
+            Leaf leaf = new Leaf();
+            try {
+                PreparedStatement statement = scan.statements.get();
+                statement.setLong(1, fromId);
+                statement.setLong(2, toId);
+                try (ResultSet result = statement.executeQuery()) {
+                    while (result.next()) {
+                        addRow(leaf, result);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return leaf;
+        }
+    }
+}
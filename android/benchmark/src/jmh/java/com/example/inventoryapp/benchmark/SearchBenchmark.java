@@ -0,0 +1,187 @@
+package com.example.inventoryapp.benchmark;
+
+import com.example.inventoryapp.database.FtsQuery;
+import com.example.inventoryapp.model.Product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchBenchmark Class
+ * Product search through name LIKE '%term%' against the FTS4 index, at 10k, 100k and 1M rows
+ *
+ * like is the query searchProducts ran before version 4 of the schema: a
+ * full table scan returning every matching row. fts is the current path,
+ * as in DatabaseHelper.searchProductIds: a prefix MATCH built by FtsQuery,
+ * rows ranked by their matchinfo score, then the first page of 50 products
+ * the list shows. like returns every match, as the old list loaded them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+    private static final String PRODUCT_COLUMNS =
+            "id, name, category, COALESCE(price_cents, CAST(ROUND(price * 100) AS INTEGER)), quantity, reorder_level";
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Dairy", "Bakery", "Frozen", "Household"};
+    private static final String[] WORDS = {"green", "tea", "coffee", "milk", "bread", "rice", "soap", "chips",
+            "orange", "juice", "butter", "cheese", "pasta", "sauce", "salt", "sugar"};
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"tea", "green tea"})
+    public String term;
+
+    private File file;
+    private Connection connection;
+    private PreparedStatement like;
+    private PreparedStatement match;
+    private PreparedStatement page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        file = File.createTempFile("search-bench", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode = WAL");
+            statement.execute("PRAGMA synchronous = NORMAL");
+            statement.execute("CREATE TABLE products (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    "name TEXT NOT NULL, " +
+                    "category TEXT NOT NULL, " +
+                    "price REAL NOT NULL, " +
+                    "quantity INTEGER NOT NULL, " +
+                    "reorder_level INTEGER NOT NULL DEFAULT 5, " +
+                    "price_cents INTEGER)");
+            statement.execute("CREATE VIRTUAL TABLE products_fts USING fts4(content=\"products\", name, category)");
+        }
+
+        connection.setAutoCommit(false);
+        Random data = new Random(9);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products " +
+                "(name, category, price, price_cents, quantity) VALUES (?1, ?2, ?3 / 100.0, ?3, ?4)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setString(1, WORDS[data.nextInt(WORDS.length)] + " " + WORDS[data.nextInt(WORDS.length)] + " " + i);
+                insert.setString(2, CATEGORIES[data.nextInt(CATEGORIES.length)]);
+                insert.setLong(3, 100 + data.nextInt(100000));
+                insert.setInt(4, data.nextInt(200));
+                insert.addBatch();
+                if (i % 10000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            // Same result as the insert trigger populating the index row by row
+            statement.execute("INSERT INTO products_fts (products_fts) VALUES ('rebuild')");
+            statement.execute("INSERT INTO products_fts (products_fts) VALUES ('optimize')");
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        like = connection.prepareStatement("SELECT " + PRODUCT_COLUMNS + " FROM products WHERE name LIKE ?");
+        match = connection.prepareStatement("SELECT products_fts.docid, matchinfo(products_fts, 'pcx') " +
+                "FROM products_fts WHERE products_fts MATCH ?");
+        StringBuilder placeholders = new StringBuilder("?");
+        for (int i = 1; i < PAGE_SIZE; i++) {
+            placeholders.append(", ?");
+        }
+        page = connection.prepareStatement("SELECT " + PRODUCT_COLUMNS + " FROM products WHERE id IN (" +
+                placeholders + ")");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+        file.delete();
+    }
+
+    @Benchmark
+    public List<Product> like() throws SQLException {
+        like.setString(1, "%" + term + "%");
+        List<Product> products = new ArrayList<>();
+        try (ResultSet result = like.executeQuery()) {
+            while (result.next()) {
+                products.add(toProduct(result));
+            }
+        }
+        return products;
+    }
+
+    @Benchmark
+    public List<Product> fts() throws SQLException {
+        match.setString(1, FtsQuery.toMatchExpression(term));
+        List<Hit> hits = new ArrayList<>();
+        try (ResultSet result = match.executeQuery()) {
+            while (result.next()) {
+                hits.add(new Hit(result.getInt(1), FtsQuery.score(result.getBytes(2))));
+            }
+        }
+        Collections.sort(hits, BY_SCORE);
+
+        int pageRows = Math.min(PAGE_SIZE, hits.size());
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.setInt(i + 1, i < pageRows ? hits.get(i).id : 0);
+        }
+        List<Product> products = new ArrayList<>(pageRows);
+        try (ResultSet result = page.executeQuery()) {
+            while (result.next()) {
+                products.add(toProduct(result));
+            }
+        }
+        return products;
+    }
+
+    /**
+     * One match with its relevance, as DatabaseHelper's Ranked
+     */
+    private static final class Hit {
+        final int id;
+        final double score;
+
+        Hit(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    // Highest score first; the sort is stable, so ties keep index order
+    private static final Comparator<Hit> BY_SCORE = new Comparator<Hit>() {
+        @Override
+        public int compare(Hit a, Hit b) {
+            return Double.compare(b.score, a.score);
+        }
+    };
+
+    private static Product toProduct(ResultSet result) throws SQLException {
+        return new Product(result.getInt(1), result.getString(2), result.getString(3),
+                result.getLong(4), result.getInt(5), result.getInt(6));
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.inventoryapp.benchmark;
+
+import com.example.inventoryapp.database.SkuCache;
+import com.example.inventoryapp.model.Product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SkuLookupBenchmark Class
+ * Barcode scan path over 1M products, reported as latency percentiles
+ *
+ * Runs in sample mode, so JMH prints p50, p99 and p99.9 for every method.
+ * bySku is a scan of an unseen barcode: one probe of the partial unique SKU
+ * index through a statement compiled once, as DatabaseHelper.getProductBySku
+ * does on a miss. bySkuHot draws 90% of scans from 200 SKUs and goes
+ * through SkuCache first, so repeat scans skip the index. nameSearch is the
+ * LIKE scan staff had to use before SKUs existed. scanAdjust is the single
+ * guarded UPDATE behind adjustQuantityBySku, committed on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SkuLookupBenchmark {
+    private static final String PRICE_CENTS = "COALESCE(price_cents, CAST(ROUND(price * 100) AS INTEGER))";
+    private static final String PRODUCT_COLUMNS =
+            "id, name, category, " + PRICE_CENTS + ", quantity, reorder_level, sku";
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Dairy", "Bakery", "Frozen", "Household"};
+    private static final int HOT_SKUS = 200;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private File file;
+    private Connection connection;
+    private PreparedStatement idForSku;
+    private PreparedStatement bySku;
+    private PreparedStatement byId;
+    private PreparedStatement nameSearch;
+    private PreparedStatement adjust;
+    private final SkuCache skuCache = new SkuCache(SkuCache.DEFAULT_MAX_ENTRIES);
+    private final Random random = new Random(25);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        file = File.createTempFile("sku-bench", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode = WAL");
+            statement.execute("PRAGMA synchronous = NORMAL");
+            statement.execute("CREATE TABLE products (" +
+                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                    "name TEXT NOT NULL, " +
+                    "category TEXT NOT NULL, " +
+                    "price REAL NOT NULL, " +
+                    "quantity INTEGER NOT NULL, " +
+                    "reorder_level INTEGER NOT NULL DEFAULT 5, " +
+                    "price_cents INTEGER, " +
+                    "sku TEXT)");
+        }
+
+        connection.setAutoCommit(false);
+        Random data = new Random(7);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products " +
+                "(name, category, price, price_cents, quantity, sku) VALUES (?1, ?2, ?3 / 100.0, ?3, ?4, ?5)")) {
+            for (int id = 1; id <= rows; id++) {
+                insert.setString(1, "Product " + id);
+                insert.setString(2, CATEGORIES[data.nextInt(CATEGORIES.length)]);
+                insert.setLong(3, 100 + data.nextInt(100000));
+                // Large enough that scanAdjust never hits the guard
+                insert.setInt(4, 1000000);
+                insert.setString(5, sku(id));
+                insert.addBatch();
+                if (id % 10000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            // Built after the load, as the version 10 migration does on an existing table
+            statement.execute("CREATE UNIQUE INDEX idx_products_sku ON products (sku) WHERE sku IS NOT NULL");
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        idForSku = connection.prepareStatement("SELECT id FROM products WHERE sku = ?");
+        bySku = connection.prepareStatement("SELECT " + PRODUCT_COLUMNS + " FROM products WHERE sku = ?");
+        byId = connection.prepareStatement("SELECT " + PRODUCT_COLUMNS + " FROM products WHERE id = ?");
+        nameSearch = connection.prepareStatement("SELECT " + PRODUCT_COLUMNS + " FROM products WHERE name LIKE ?");
+        adjust = connection.prepareStatement("UPDATE products SET quantity = quantity + ?1 " +
+                "WHERE id = ?2 AND sku = ?3 AND quantity + ?1 >= 0");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        new File(file.getPath() + "-wal").delete();
+        new File(file.getPath() + "-shm").delete();
+        file.delete();
+    }
+
+    /**
+     * 13-digit barcode for an ID; multiplying by a number coprime to 10 keeps them unique
+     */
+    private static String sku(long id) {
+        String digits = Long.toString((id * 2654435761L) % 10000000000000L);
+        StringBuilder sku = new StringBuilder(13);
+        for (int i = digits.length(); i < 13; i++) {
+            sku.append('0');
+        }
+        return sku.append(digits).toString();
+    }
+
+    private String hotOrColdSku() {
+        int id = random.nextInt(10) < 9 ? 1 + random.nextInt(HOT_SKUS) : 1 + random.nextInt(rows);
+        return sku(id);
+    }
+
+    @Benchmark
+    public Product bySku() throws SQLException {
+        bySku.setString(1, sku(1 + random.nextInt(rows)));
+        return readOne(bySku);
+    }
+
+    @Benchmark
+    public Product bySkuHot() throws SQLException {
+        String sku = hotOrColdSku();
+        Integer id = skuCache.get(sku);
+        if (id == null) {
+            idForSku.setString(1, sku);
+            try (ResultSet result = idForSku.executeQuery()) {
+                if (!result.next()) {
+                    return null;
+                }
+                id = result.getInt(1);
+            }
+            skuCache.put(sku, id);
+        }
+        byId.setInt(1, id);
+        return readOne(byId);
+    }
+
+    @Benchmark
+    public Product nameSearch() throws SQLException {
+        nameSearch.setString(1, "%Product " + (1 + random.nextInt(rows)));
+        return readOne(nameSearch);
+    }
+
+    @Benchmark
+    public int scanAdjust() throws SQLException {
+        int id = 1 + random.nextInt(HOT_SKUS);
+        adjust.setInt(1, -1);
+        adjust.setInt(2, id);
+        adjust.setString(3, sku(id));
+        return adjust.executeUpdate();
+    }
+
+    private static Product readOne(PreparedStatement statement) throws SQLException {
+        try (ResultSet result = statement.executeQuery()) {
+            if (!result.next()) {
+                return null;
+            }
+            Product product = new Product(result.getInt(1), result.getString(2), result.getString(3),
+                    result.getLong(4), result.getInt(5), result.getInt(6));
+            product.setSku(result.getString(7));
+            return product;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.inventoryapp.benchmark;
+
+import com.example.inventoryapp.database.CatalogSnapshotFile;
+import com.example.inventoryapp.model.Product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StartupBenchmark Class
+ * Work the product list does before its first frame: SQLite versus the catalogue snapshot
+ *
+ * Both paths start from a closed file and end with the ID list and the first
+ * two pages of products in memory, as ProductPagingSource needs them.
+ * The OS page cache stays warm between invocations, so this measures open,
+ * parse and decode cost rather than flash reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StartupBenchmark {
+    private static final int PAGE_SIZE = 50;
+    private static final int SCHEMA_VERSION = 9;
+    private static final String PRODUCT_COLUMNS = "id, name, category, " +
+            "COALESCE(price_cents, CAST(ROUND(price * 100) AS INTEGER)), quantity, reorder_level";
+    private static final String[] CATEGORIES = {"Beverages", "Snacks", "Dairy", "Bakery", "Frozen", "Household"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private File databaseFile;
+    private File snapshotFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        databaseFile = File.createTempFile("startup-bench", ".db");
+        snapshotFile = File.createTempFile("startup-bench", ".snapshot");
+
+        Random random = new Random(5);
+        CatalogSnapshotFile.Writer writer = new CatalogSnapshotFile.Writer(snapshotFile, SCHEMA_VERSION, rows);
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath())) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = WAL");
+                statement.execute("CREATE TABLE products (" +
+                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                        "name TEXT NOT NULL, " +
+                        "category TEXT NOT NULL, " +
+                        "price REAL NOT NULL, " +
+                        "quantity INTEGER NOT NULL, " +
+                        "reorder_level INTEGER NOT NULL DEFAULT 5, " +
+                        "price_cents INTEGER)");
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products " +
+                    "(id, name, category, price, price_cents, quantity) VALUES (?, ?, ?, ? / 100.0, ?, ?)")) {
+                for (int id = 1; id <= rows; id++) {
+                    Product product = new Product(id, "Product " + id + " " + Long.toHexString(random.nextLong()),
+                            CATEGORIES[random.nextInt(CATEGORIES.length)], 100 + random.nextInt(100000),
+                            random.nextInt(200), Product.DEFAULT_REORDER_LEVEL);
+                    insert.setInt(1, id);
+                    insert.setString(2, product.getName());
+                    insert.setString(3, product.getCategory());
+                    insert.setLong(4, product.getPriceCents());
+                    insert.setLong(5, product.getPriceCents());
+                    insert.setInt(6, product.getQuantity());
+                    insert.addBatch();
+                    writer.add(product);
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+        writer.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new File(databaseFile.getPath() + "-wal").delete();
+        new File(databaseFile.getPath() + "-shm").delete();
+        databaseFile.delete();
+        snapshotFile.delete();
+    }
+
+    @Benchmark
+    public List<Product> firstFrameSqlite(Blackhole blackhole) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath())) {
+            int[] ids = new int[rows];
+            int count = 0;
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT id FROM products ORDER BY id")) {
+                while (result.next() && count < ids.length) {
+                    ids[count++] = result.getInt(1);
+                }
+            }
+            blackhole.consume(ids);
+
+            List<Product> products = new ArrayList<>(PAGE_SIZE * 2);
+            try (PreparedStatement page = connection.prepareStatement("SELECT " + PRODUCT_COLUMNS +
+                    " FROM products WHERE id > ? ORDER BY id LIMIT ?")) {
+                int afterId = 0;
+                for (int i = 0; i < 2; i++) {
+                    page.setInt(1, afterId);
+                    page.setInt(2, PAGE_SIZE);
+                    try (ResultSet result = page.executeQuery()) {
+                        while (result.next()) {
+                            Product product = new Product(result.getInt(1), result.getString(2), result.getString(3),
+                                    result.getLong(4), result.getInt(5), result.getInt(6));
+                            products.add(product);
+                            afterId = product.getId();
+                        }
+                    }
+                }
+            }
+            return products;
+        }
+    }
+
+    @Benchmark
+    public List<Product> firstFrameSnapshot(Blackhole blackhole) throws IOException {
+        CatalogSnapshotFile snapshot = CatalogSnapshotFile.open(snapshotFile, SCHEMA_VERSION);
+        blackhole.consume(snapshot.getIds());
+        List<Product> products = new ArrayList<>(PAGE_SIZE * 2);
+        products.addAll(snapshot.getRange(0, PAGE_SIZE));
+        products.addAll(snapshot.getRange(PAGE_SIZE, PAGE_SIZE));
+        return products;
+    }
+}
@@ -1,68 +0,0 @@
-package com.example.inventoryapp;
-
-/**
- * Product Model Class
- * Represents a single product in the inventory
- */
-public class Product {
-    private int id;
-    private String name;
-    private String category;
-    private double price;
-    private int quantity;
-
-    // Constructor
-    public Product(int id, String name, String category, double price, int quantity) {
-        this.id = id;
-        this.name = name;
-        this.category = category;
-        this.price = price;
-        this.quantity = quantity;
-    }
-
-    // Getters and Setters
-    public int getId() {
-        return id;
-    }
-
-    public void setId(int id) {
-        this.id = id;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public String getCategory() {
-        return category;
-    }
-
-    public void setCategory(String category) {
-        this.category = category;
-    }
-
-    public double getPrice() {
-        return price;
-    }
-
-    public void setPrice(double price) {
-        this.price = price;
-    }
-
-    public int getQuantity() {
-        return quantity;
-    }
-
-    public void setQuantity(int quantity) {
-        this.quantity = quantity;
-    }
-
-    // Check if product is low on stock
-    public boolean isLowStock() {
-        return quantity < 5;
-    }
-}
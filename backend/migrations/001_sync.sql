@@ -0,0 +1,29 @@
+-- Columns and triggers used by the /api/sync endpoints in server.js
+
+ALTER TABLE products
+  ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  ADD COLUMN IF NOT EXISTS deleted BOOLEAN NOT NULL DEFAULT false,
+  ADD COLUMN IF NOT EXISTS client_ref TEXT,
+  ADD COLUMN IF NOT EXISTS last_client TEXT,
+  ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+
+CREATE SEQUENCE IF NOT EXISTS products_change_seq;
+
+UPDATE products SET change_seq = nextval('products_change_seq') WHERE change_seq IS NULL;
+ALTER TABLE products ALTER COLUMN change_seq SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_products_client_ref ON products (client_ref);
+CREATE INDEX IF NOT EXISTS idx_products_change_seq ON products (change_seq);
+
+-- Stamp every insert and update, so pulls only return what changed
+CREATE OR REPLACE FUNCTION products_stamp_change() RETURNS trigger AS $$
+BEGIN
+  NEW.change_seq := nextval('products_change_seq');
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS products_stamp_change ON products;
+CREATE TRIGGER products_stamp_change
+  BEFORE INSERT OR UPDATE ON products
+  FOR EACH ROW EXECUTE FUNCTION products_stamp_change();
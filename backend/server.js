@@ -1,11 +1,13 @@
 const express = require('express');
 const cors = require('cors');
+const zlib = require('zlib');
 const { createClient } = require('@supabase/supabase-js');
 require('dotenv').config();
 
 const app = express();
 app.use(cors());
-app.use(express.json());
+// Also inflates gzip request bodies from the sync client
+app.use(express.json({ limit: '5mb' }));
 
 // Supabase Client
 const supabase = createClient(
@@ -19,6 +21,7 @@ app.get('/api/products', async (req, res) => {
     const { data, error } = await supabase
       .from('products')
       .select('*')
+      .eq('deleted', false)
       .order('created_at', { ascending: false });
     
     if (error) throw error;
@@ -38,7 +41,8 @@ app.post('/api/products', async (req, res) => {
         category: req.body.category,
         price: req.body.price,
         quantity: req.body.quantity,
-        created_at: new Date()
+        created_at: new Date(),
+        updated_at: new Date()
       }])
       .select();
     
@@ -59,7 +63,8 @@ app.put('/api/products/:id', async (req, res) => {
         category: req.body.category,
         price: req.body.price,
         quantity: req.body.quantity,
-        updated_at: new Date()
+        updated_at: new Date(),
+        last_client: null
       })
       .eq('id', req.params.id)
       .select();
@@ -72,11 +77,12 @@ app.put('/api/products/:id', async (req, res) => {
 });
 
 // DELETE - Remove product
+// Soft delete, so sync clients pull the deletion
 app.delete('/api/products/:id', async (req, res) => {
   try {
     const { error } = await supabase
       .from('products')
-      .delete()
+      .update({ deleted: true, updated_at: new Date(), last_client: null })
       .eq('id', req.params.id);
     
     if (error) throw error;
@@ -92,6 +98,7 @@ app.get('/api/products/search/:keyword', async (req, res) => {
     const { data, error } = await supabase
       .from('products')
       .select('*')
+      .eq('deleted', false)
       .ilike('name', `%${req.params.keyword}%`);
     
     if (error) throw error;
@@ -101,6 +108,150 @@ app.get('/api/products/search/:keyword', async (req, res) => {
   }
 });
 
+// ---- Sync API (Android offline store) ----
+// Needs migrations/001_sync.sql. Every insert or update stamps a row with the
+// next change_seq; clients pull rows above their watermark. Conflicts are
+// last-writer-wins on updated_at, and the server wins ties.
+
+const SYNC_MAX_BATCH = 500;
+
+// Send JSON, gzip-compressed when the client accepts it
+function sendJson(req, res, body) {
+  const json = JSON.stringify(body);
+  if (/\bgzip\b/.test(req.headers['accept-encoding'] || '')) {
+    res.set('Content-Encoding', 'gzip');
+    res.type('application/json').send(zlib.gzipSync(json));
+  } else {
+    res.type('application/json').send(json);
+  }
+}
+
+function toSyncChange(row) {
+  return {
+    id: row.id,
+    name: row.name,
+    category: row.category,
+    priceCents: Math.round(Number(row.price) * 100),
+    quantity: row.quantity,
+    updatedAt: new Date(row.updated_at).getTime(),
+    deleted: row.deleted
+  };
+}
+
+// Pull changes after a watermark
+// Rows last written by the asking client are skipped, but still advance the watermark
+app.get('/api/sync/changes', async (req, res) => {
+  try {
+    const since = parseInt(req.query.since, 10) || 0;
+    const limit = Math.min(parseInt(req.query.limit, 10) || 200, SYNC_MAX_BATCH);
+    const clientId = req.query.clientId || null;
+
+    const { data, error } = await supabase
+      .from('products')
+      .select('*')
+      .gt('change_seq', since)
+      .order('change_seq', { ascending: true })
+      .limit(limit);
+
+    if (error) throw error;
+    const rows = data || [];
+    const changes = rows
+      .filter(row => !clientId || row.last_client !== clientId)
+      .map(toSyncChange);
+    sendJson(req, res, {
+      changes,
+      watermark: rows.length > 0 ? rows[rows.length - 1].change_seq : since,
+      hasMore: rows.length === limit
+    });
+  } catch (error) {
+    res.status(500).json({ error: error.message });
+  }
+});
+
+// Push a batch of local changes and deletions
+// Retries are safe: new products are matched on clientId + localId.
+// Changes and deletions that lose to a newer server row get that row back in
+// "current"; the client may already have pulled past it, so it would not come
+// back through /api/sync/changes.
+app.post('/api/sync/push', async (req, res) => {
+  try {
+    const clientId = req.body.clientId;
+    const changes = req.body.changes || [];
+    const deletes = req.body.deletes || [];
+    if (!clientId || changes.length + deletes.length > SYNC_MAX_BATCH) {
+      return res.status(400).json({ error: 'Invalid sync batch' });
+    }
+
+    const results = [];
+    const current = [];
+    for (const change of changes) {
+      const clientRef = `${clientId}:${change.localId}`;
+      let query = supabase.from('products').select('*');
+      query = change.remoteId ? query.eq('id', change.remoteId) : query.eq('client_ref', clientRef);
+      const { data: existing, error: findError } = await query.maybeSingle();
+      if (findError) throw findError;
+
+      const row = {
+        name: change.name,
+        category: change.category,
+        price: change.priceCents / 100,
+        quantity: change.quantity,
+        updated_at: new Date(change.updatedAt),
+        deleted: false,
+        last_client: clientId
+      };
+
+      if (!existing) {
+        const { data, error } = await supabase
+          .from('products')
+          .insert([{ ...row, client_ref: clientRef, created_at: new Date() }])
+          .select('id');
+        if (error) throw error;
+        results.push({ localId: change.localId, remoteId: data[0].id });
+        continue;
+      }
+
+      // Older or equal timestamps lose; the client applies the server's version
+      if (new Date(existing.updated_at).getTime() < change.updatedAt) {
+        const { error } = await supabase.from('products').update(row).eq('id', existing.id);
+        if (error) throw error;
+      } else {
+        current.push(toSyncChange(existing));
+      }
+      results.push({ localId: change.localId, remoteId: existing.id });
+    }
+
+    for (const del of deletes) {
+      const { data: deleted, error } = await supabase
+        .from('products')
+        .update({ deleted: true, updated_at: new Date(del.deletedAt), last_client: clientId })
+        .eq('id', del.remoteId)
+        .lt('updated_at', new Date(del.deletedAt).toISOString())
+        .select('id');
+      if (error) throw error;
+      if (deleted.length > 0) {
+        continue;
+      }
+
+      // Edited on the server after the client deleted it, so the product stays
+      const { data: kept, error: findError } = await supabase
+        .from('products')
+        .select('*')
+        .eq('id', del.remoteId)
+        .eq('deleted', false)
+        .maybeSingle();
+      if (findError) throw findError;
+      if (kept) {
+        current.push(toSyncChange(kept));
+      }
+    }
+
+    sendJson(req, res, { results, current });
+  } catch (error) {
+    res.status(500).json({ error: error.message });
+  }
+});
+
 const PORT = process.env.PORT || 5000;
 app.listen(PORT, () => {
   console.log(`✅ Server running on port ${PORT}`);